@@ -1,5 +1,7 @@
 package smartwake.config;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -13,12 +15,78 @@ public class ApplicationProperties {
 
     private final Liquibase liquibase = new Liquibase();
 
+    private final Dispatcher dispatcher = new Dispatcher();
+
+    private final Admission admission = new Admission();
+
+    private final CatchUp catchUp = new CatchUp();
+
+    private final Snooze snooze = new Snooze();
+
+    private final Partition partition = new Partition();
+
+    private final Events events = new Events();
+
+    private final Sync sync = new Sync();
+
+    private final Transfer transfer = new Transfer();
+
+    private final Security security = new Security();
+
+    private final Cache cache = new Cache();
+
+    private final WarmUp warmUp = new WarmUp();
+
     // jhipster-needle-application-properties-property
 
     public Liquibase getLiquibase() {
         return liquibase;
     }
 
+    public Dispatcher getDispatcher() {
+        return dispatcher;
+    }
+
+    public Admission getAdmission() {
+        return admission;
+    }
+
+    public CatchUp getCatchUp() {
+        return catchUp;
+    }
+
+    public Snooze getSnooze() {
+        return snooze;
+    }
+
+    public Partition getPartition() {
+        return partition;
+    }
+
+    public Events getEvents() {
+        return events;
+    }
+
+    public Sync getSync() {
+        return sync;
+    }
+
+    public Transfer getTransfer() {
+        return transfer;
+    }
+
+    public Security getSecurity() {
+        return security;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public WarmUp getWarmUp() {
+        return warmUp;
+    }
+
     // jhipster-needle-application-properties-property-getter
 
     public static class Liquibase {
@@ -33,5 +101,753 @@ public class ApplicationProperties {
             this.asyncStart = asyncStart;
         }
     }
+
+    public static class Dispatcher {
+
+        private boolean enabled = true;
+
+        private long tickMillis = 100;
+
+        private int wheelSize = 512;
+
+        private int wheelLevels = 4;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getTickMillis() {
+            return tickMillis;
+        }
+
+        public void setTickMillis(long tickMillis) {
+            this.tickMillis = tickMillis;
+        }
+
+        public int getWheelSize() {
+            return wheelSize;
+        }
+
+        public void setWheelSize(int wheelSize) {
+            this.wheelSize = wheelSize;
+        }
+
+        public int getWheelLevels() {
+            return wheelLevels;
+        }
+
+        public void setWheelLevels(int wheelLevels) {
+            this.wheelLevels = wheelLevels;
+        }
+    }
+    public static class Admission {
+
+        private boolean enabled = true;
+
+        // about what permitsPerSecond drains within maxLatenessMillis: a full queue means new events would be later
+        private int queueCapacity = 6_000;
+
+        private double permitsPerSecond = 200;
+
+        private int burst = 50;
+
+        private int spreadMillis = 1000;
+
+        private long maxLatenessMillis = 30_000;
+
+        private long drainMillis = 50;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public double getPermitsPerSecond() {
+            return permitsPerSecond;
+        }
+
+        public void setPermitsPerSecond(double permitsPerSecond) {
+            this.permitsPerSecond = permitsPerSecond;
+        }
+
+        public int getBurst() {
+            return burst;
+        }
+
+        public void setBurst(int burst) {
+            this.burst = burst;
+        }
+
+        public int getSpreadMillis() {
+            return spreadMillis;
+        }
+
+        public void setSpreadMillis(int spreadMillis) {
+            this.spreadMillis = spreadMillis;
+        }
+
+        public long getMaxLatenessMillis() {
+            return maxLatenessMillis;
+        }
+
+        public void setMaxLatenessMillis(long maxLatenessMillis) {
+            this.maxLatenessMillis = maxLatenessMillis;
+        }
+
+        public long getDrainMillis() {
+            return drainMillis;
+        }
+
+        public void setDrainMillis(long drainMillis) {
+            this.drainMillis = drainMillis;
+        }
+    }
+    public static class CatchUp {
+
+        private boolean enabled = true;
+
+        private int batchSize = 200;
+
+        private long batchPauseMillis = 20;
+
+        private long tooLateMillis = 15 * 60 * 1000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public long getBatchPauseMillis() {
+            return batchPauseMillis;
+        }
+
+        public void setBatchPauseMillis(long batchPauseMillis) {
+            this.batchPauseMillis = batchPauseMillis;
+        }
+
+        public long getTooLateMillis() {
+            return tooLateMillis;
+        }
+
+        public void setTooLateMillis(long tooLateMillis) {
+            this.tooLateMillis = tooLateMillis;
+        }
+    }
+    public static class Snooze {
+
+        private int defaultDurationMinutes = 9;
+
+        private long tickMillis = 100;
+
+        private long flushMillis = 1000;
+
+        private int flushBatchSize = 500;
+
+        public int getDefaultDurationMinutes() {
+            return defaultDurationMinutes;
+        }
+
+        public void setDefaultDurationMinutes(int defaultDurationMinutes) {
+            this.defaultDurationMinutes = defaultDurationMinutes;
+        }
+
+        public long getTickMillis() {
+            return tickMillis;
+        }
+
+        public void setTickMillis(long tickMillis) {
+            this.tickMillis = tickMillis;
+        }
+
+        public long getFlushMillis() {
+            return flushMillis;
+        }
+
+        public void setFlushMillis(long flushMillis) {
+            this.flushMillis = flushMillis;
+        }
+
+        public int getFlushBatchSize() {
+            return flushBatchSize;
+        }
+
+        public void setFlushBatchSize(int flushBatchSize) {
+            this.flushBatchSize = flushBatchSize;
+        }
+    }
+    public static class Partition {
+
+        private boolean enabled = false;
+
+        private String nodeId;
+
+        private int bucketCount = 64;
+
+        private long leaseMillis = 15_000;
+
+        private long heartbeatMillis = 5_000;
+
+        private long refreshMillis = 1_000;
+
+        private long lookaheadMillis = 60_000;
+
+        private String address;
+
+        private long forwardTimeoutMillis = 2_000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getNodeId() {
+            return nodeId;
+        }
+
+        public void setNodeId(String nodeId) {
+            this.nodeId = nodeId;
+        }
+
+        public int getBucketCount() {
+            return bucketCount;
+        }
+
+        public void setBucketCount(int bucketCount) {
+            this.bucketCount = bucketCount;
+        }
+
+        public long getLeaseMillis() {
+            return leaseMillis;
+        }
+
+        public void setLeaseMillis(long leaseMillis) {
+            this.leaseMillis = leaseMillis;
+        }
+
+        public long getHeartbeatMillis() {
+            return heartbeatMillis;
+        }
+
+        public void setHeartbeatMillis(long heartbeatMillis) {
+            this.heartbeatMillis = heartbeatMillis;
+        }
+
+        public long getRefreshMillis() {
+            return refreshMillis;
+        }
+
+        public void setRefreshMillis(long refreshMillis) {
+            this.refreshMillis = refreshMillis;
+        }
+
+        public long getLookaheadMillis() {
+            return lookaheadMillis;
+        }
+
+        public void setLookaheadMillis(long lookaheadMillis) {
+            this.lookaheadMillis = lookaheadMillis;
+        }
+
+        public String getAddress() {
+            return address;
+        }
+
+        public void setAddress(String address) {
+            this.address = address;
+        }
+
+        public long getForwardTimeoutMillis() {
+            return forwardTimeoutMillis;
+        }
+
+        public void setForwardTimeoutMillis(long forwardTimeoutMillis) {
+            this.forwardTimeoutMillis = forwardTimeoutMillis;
+        }
+    }
+    public static class Events {
+
+        private long timeoutMillis = 3_600_000;
+
+        private long heartbeatMillis = 30_000;
+
+        private int queueCapacity = 16;
+
+        private int maxConnectionsPerUser = 4;
+
+        private long broadcastMillis = 1_000;
+
+        private int broadcastBatchSize = 500;
+
+        private long broadcastRetentionMillis = 600_000;
+
+        public long getTimeoutMillis() {
+            return timeoutMillis;
+        }
+
+        public void setTimeoutMillis(long timeoutMillis) {
+            this.timeoutMillis = timeoutMillis;
+        }
+
+        public long getHeartbeatMillis() {
+            return heartbeatMillis;
+        }
+
+        public void setHeartbeatMillis(long heartbeatMillis) {
+            this.heartbeatMillis = heartbeatMillis;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public int getMaxConnectionsPerUser() {
+            return maxConnectionsPerUser;
+        }
+
+        public void setMaxConnectionsPerUser(int maxConnectionsPerUser) {
+            this.maxConnectionsPerUser = maxConnectionsPerUser;
+        }
+
+        public long getBroadcastMillis() {
+            return broadcastMillis;
+        }
+
+        public void setBroadcastMillis(long broadcastMillis) {
+            this.broadcastMillis = broadcastMillis;
+        }
+
+        public int getBroadcastBatchSize() {
+            return broadcastBatchSize;
+        }
+
+        public void setBroadcastBatchSize(int broadcastBatchSize) {
+            this.broadcastBatchSize = broadcastBatchSize;
+        }
+
+        public long getBroadcastRetentionMillis() {
+            return broadcastRetentionMillis;
+        }
+
+        public void setBroadcastRetentionMillis(long broadcastRetentionMillis) {
+            this.broadcastRetentionMillis = broadcastRetentionMillis;
+        }
+    }
+    public static class Sync {
+
+        private int tombstoneRetentionDays = 30;
+
+        private long purgeMillis = 3_600_000;
+
+        public int getTombstoneRetentionDays() {
+            return tombstoneRetentionDays;
+        }
+
+        public void setTombstoneRetentionDays(int tombstoneRetentionDays) {
+            this.tombstoneRetentionDays = tombstoneRetentionDays;
+        }
+
+        public long getPurgeMillis() {
+            return purgeMillis;
+        }
+
+        public void setPurgeMillis(long purgeMillis) {
+            this.purgeMillis = purgeMillis;
+        }
+    }
+    public static class Transfer {
+
+        private int importBatchSize = 1000;
+
+        public int getImportBatchSize() {
+            return importBatchSize;
+        }
+
+        public void setImportBatchSize(int importBatchSize) {
+            this.importBatchSize = importBatchSize;
+        }
+    }
+    public static class Security {
+
+        private int jwtCacheSize = 10_000;
+
+        private int passwordStrength = 10;
+
+        private int passwordHashingThreads = 2;
+
+        private int passwordHashingQueueCapacity = 64;
+
+        private long refreshTokenValiditySeconds = 2_592_000;
+
+        private long refreshTokenPurgeMillis = 3_600_000;
+
+        private int revocationExpectedEntries = 100_000;
+
+        private double revocationFalsePositiveProbability = 0.01;
+
+        private long revocationRefreshMillis = 5000;
+
+        private long revocationPurgeMillis = 3_600_000;
+
+        private int loginFailuresPerLogin = 5;
+
+        private int loginFailuresPerAddress = 0;
+
+        private long loginThrottleWindowSeconds = 300;
+
+        private int loginThrottleStripes = 64;
+
+        private long loginThrottleEvictMillis = 300_000;
+
+        public int getJwtCacheSize() {
+            return jwtCacheSize;
+        }
+
+        public void setJwtCacheSize(int jwtCacheSize) {
+            this.jwtCacheSize = jwtCacheSize;
+        }
+
+        public int getPasswordStrength() {
+            return passwordStrength;
+        }
+
+        public void setPasswordStrength(int passwordStrength) {
+            this.passwordStrength = passwordStrength;
+        }
+
+        public int getPasswordHashingThreads() {
+            return passwordHashingThreads;
+        }
+
+        public void setPasswordHashingThreads(int passwordHashingThreads) {
+            this.passwordHashingThreads = passwordHashingThreads;
+        }
+
+        public int getPasswordHashingQueueCapacity() {
+            return passwordHashingQueueCapacity;
+        }
+
+        public void setPasswordHashingQueueCapacity(int passwordHashingQueueCapacity) {
+            this.passwordHashingQueueCapacity = passwordHashingQueueCapacity;
+        }
+
+        public long getRefreshTokenValiditySeconds() {
+            return refreshTokenValiditySeconds;
+        }
+
+        public void setRefreshTokenValiditySeconds(long refreshTokenValiditySeconds) {
+            this.refreshTokenValiditySeconds = refreshTokenValiditySeconds;
+        }
+
+        public long getRefreshTokenPurgeMillis() {
+            return refreshTokenPurgeMillis;
+        }
+
+        public void setRefreshTokenPurgeMillis(long refreshTokenPurgeMillis) {
+            this.refreshTokenPurgeMillis = refreshTokenPurgeMillis;
+        }
+
+        public int getRevocationExpectedEntries() {
+            return revocationExpectedEntries;
+        }
+
+        public void setRevocationExpectedEntries(int revocationExpectedEntries) {
+            this.revocationExpectedEntries = revocationExpectedEntries;
+        }
+
+        public double getRevocationFalsePositiveProbability() {
+            return revocationFalsePositiveProbability;
+        }
+
+        public void setRevocationFalsePositiveProbability(double revocationFalsePositiveProbability) {
+            this.revocationFalsePositiveProbability = revocationFalsePositiveProbability;
+        }
+
+        public long getRevocationRefreshMillis() {
+            return revocationRefreshMillis;
+        }
+
+        public void setRevocationRefreshMillis(long revocationRefreshMillis) {
+            this.revocationRefreshMillis = revocationRefreshMillis;
+        }
+
+        public long getRevocationPurgeMillis() {
+            return revocationPurgeMillis;
+        }
+
+        public void setRevocationPurgeMillis(long revocationPurgeMillis) {
+            this.revocationPurgeMillis = revocationPurgeMillis;
+        }
+
+        public int getLoginFailuresPerLogin() {
+            return loginFailuresPerLogin;
+        }
+
+        public void setLoginFailuresPerLogin(int loginFailuresPerLogin) {
+            this.loginFailuresPerLogin = loginFailuresPerLogin;
+        }
+
+        public int getLoginFailuresPerAddress() {
+            return loginFailuresPerAddress;
+        }
+
+        public void setLoginFailuresPerAddress(int loginFailuresPerAddress) {
+            this.loginFailuresPerAddress = loginFailuresPerAddress;
+        }
+
+        public long getLoginThrottleWindowSeconds() {
+            return loginThrottleWindowSeconds;
+        }
+
+        public void setLoginThrottleWindowSeconds(long loginThrottleWindowSeconds) {
+            this.loginThrottleWindowSeconds = loginThrottleWindowSeconds;
+        }
+
+        public int getLoginThrottleStripes() {
+            return loginThrottleStripes;
+        }
+
+        public void setLoginThrottleStripes(int loginThrottleStripes) {
+            this.loginThrottleStripes = loginThrottleStripes;
+        }
+
+        public long getLoginThrottleEvictMillis() {
+            return loginThrottleEvictMillis;
+        }
+
+        public void setLoginThrottleEvictMillis(long loginThrottleEvictMillis) {
+            this.loginThrottleEvictMillis = loginThrottleEvictMillis;
+        }
+    }
+    public static class Cache {
+
+        private final Map<String, Region> regions = new LinkedHashMap<>();
+
+        private final Invalidation invalidation = new Invalidation();
+
+        public Map<String, Region> getRegions() {
+            return regions;
+        }
+
+        public Invalidation getInvalidation() {
+            return invalidation;
+        }
+
+        /**
+         * Overrides of the {@code jhipster.cache.ehcache} settings for a single cache region.
+         */
+        public static class Region {
+
+            private Long heapEntries;
+
+            private long offHeapMegabytes = 0;
+
+            private Long timeToLiveSeconds;
+
+            private String evictionAdvisor;
+
+            public Long getHeapEntries() {
+                return heapEntries;
+            }
+
+            public void setHeapEntries(Long heapEntries) {
+                this.heapEntries = heapEntries;
+            }
+
+            public long getOffHeapMegabytes() {
+                return offHeapMegabytes;
+            }
+
+            public void setOffHeapMegabytes(long offHeapMegabytes) {
+                this.offHeapMegabytes = offHeapMegabytes;
+            }
+
+            public Long getTimeToLiveSeconds() {
+                return timeToLiveSeconds;
+            }
+
+            public void setTimeToLiveSeconds(Long timeToLiveSeconds) {
+                this.timeToLiveSeconds = timeToLiveSeconds;
+            }
+
+            public String getEvictionAdvisor() {
+                return evictionAdvisor;
+            }
+
+            public void setEvictionAdvisor(String evictionAdvisor) {
+                this.evictionAdvisor = evictionAdvisor;
+            }
+        }
+
+        /**
+         * Invalidation of the cache entries changed through other nodes.
+         */
+        public static class Invalidation {
+
+            private boolean enabled = false;
+
+            private long pollMillis = 1_000;
+
+            private int batchSize = 500;
+
+            private long gapTimeoutMillis = 60_000;
+
+            private long retentionMillis = 3_600_000;
+
+            private long purgeMillis = 600_000;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public long getPollMillis() {
+                return pollMillis;
+            }
+
+            public void setPollMillis(long pollMillis) {
+                this.pollMillis = pollMillis;
+            }
+
+            public int getBatchSize() {
+                return batchSize;
+            }
+
+            public void setBatchSize(int batchSize) {
+                this.batchSize = batchSize;
+            }
+
+            public long getGapTimeoutMillis() {
+                return gapTimeoutMillis;
+            }
+
+            public void setGapTimeoutMillis(long gapTimeoutMillis) {
+                this.gapTimeoutMillis = gapTimeoutMillis;
+            }
+
+            public long getRetentionMillis() {
+                return retentionMillis;
+            }
+
+            public void setRetentionMillis(long retentionMillis) {
+                this.retentionMillis = retentionMillis;
+            }
+
+            public long getPurgeMillis() {
+                return purgeMillis;
+            }
+
+            public void setPurgeMillis(long purgeMillis) {
+                this.purgeMillis = purgeMillis;
+            }
+        }
+    }
+    public static class WarmUp {
+
+        private boolean enabled = true;
+
+        private int maxUsers = 10_000;
+
+        private int alarmsAheadHours = 24;
+
+        private int maxAlarms = 100_000;
+
+        private int batchSize = 500;
+
+        private int threads = 4;
+
+        private long budgetMillis = 30_000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxUsers() {
+            return maxUsers;
+        }
+
+        public void setMaxUsers(int maxUsers) {
+            this.maxUsers = maxUsers;
+        }
+
+        public int getAlarmsAheadHours() {
+            return alarmsAheadHours;
+        }
+
+        public void setAlarmsAheadHours(int alarmsAheadHours) {
+            this.alarmsAheadHours = alarmsAheadHours;
+        }
+
+        public int getMaxAlarms() {
+            return maxAlarms;
+        }
+
+        public void setMaxAlarms(int maxAlarms) {
+            this.maxAlarms = maxAlarms;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+
+        public long getBudgetMillis() {
+            return budgetMillis;
+        }
+
+        public void setBudgetMillis(long budgetMillis) {
+            this.budgetMillis = budgetMillis;
+        }
+    }
     // jhipster-needle-application-properties-property-class
 }
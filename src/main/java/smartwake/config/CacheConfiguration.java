@@ -1,9 +1,13 @@
 package smartwake.config;
 
 import java.time.Duration;
+import java.util.Map;
+import org.ehcache.config.EvictionAdvisor;
 import org.ehcache.config.builders.*;
+import org.ehcache.config.units.MemoryUnit;
 import org.ehcache.jsr107.Eh107Configuration;
 import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
 import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
@@ -12,6 +16,8 @@ import org.springframework.boot.info.GitProperties;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.interceptor.KeyGenerator;
 import org.springframework.context.annotation.*;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
 import tech.jhipster.config.JHipsterProperties;
 import tech.jhipster.config.cache.PrefixedKeyGenerator;
 
@@ -21,20 +27,12 @@ public class CacheConfiguration {
 
     private GitProperties gitProperties;
     private BuildProperties buildProperties;
-    private final javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration;
+    private final JHipsterProperties.Cache.Ehcache ehcache;
+    private final Map<String, ApplicationProperties.Cache.Region> regions;
 
-    public CacheConfiguration(JHipsterProperties jHipsterProperties) {
-        JHipsterProperties.Cache.Ehcache ehcache = jHipsterProperties.getCache().getEhcache();
-
-        jcacheConfiguration = Eh107Configuration.fromEhcacheCacheConfiguration(
-            CacheConfigurationBuilder.newCacheConfigurationBuilder(
-                Object.class,
-                Object.class,
-                ResourcePoolsBuilder.heap(ehcache.getMaxEntries())
-            )
-                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ehcache.getTimeToLiveSeconds())))
-                .build()
-        );
+    public CacheConfiguration(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
+        this.ehcache = jHipsterProperties.getCache().getEhcache();
+        this.regions = applicationProperties.getCache().getRegions();
     }
 
     @Bean
@@ -53,6 +51,7 @@ public class CacheConfiguration {
             createCache(cm, smartwake.domain.UserLogin.class.getName());
             createCache(cm, smartwake.domain.UserLogin.class.getName() + ".usernames");
             createCache(cm, smartwake.domain.Alarm.class.getName());
+            createCache(cm, smartwake.service.AlarmVersionService.ALARM_VERSIONS_CACHE);
             // jhipster-needle-ehcache-add-entry
         };
     }
@@ -62,8 +61,42 @@ public class CacheConfiguration {
         if (cache != null) {
             cache.clear();
         } else {
-            cm.createCache(cacheName, jcacheConfiguration);
+            cm.createCache(cacheName, jcacheConfiguration(cacheName));
+        }
+        cm.enableStatistics(cacheName, true);
+    }
+
+    /**
+     * Configuration of a cache region: the {@code jhipster.cache.ehcache} entry count and time to live, unless
+     * overridden for the region under {@code application.cache.regions}.
+     * <p>
+     * A region given off-heap megabytes keeps its heap entries as a small tier in front of an off-heap tier, outside
+     * of the garbage-collected heap: entries evicted from the heap tier are kept off-heap, serialized, and evicted
+     * for good only from there.
+     */
+    javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration(String cacheName) {
+        ApplicationProperties.Cache.Region region = regions.getOrDefault(cacheName, new ApplicationProperties.Cache.Region());
+        long heapEntries = region.getHeapEntries() != null ? region.getHeapEntries() : ehcache.getMaxEntries();
+        long timeToLiveSeconds = region.getTimeToLiveSeconds() != null ? region.getTimeToLiveSeconds() : ehcache.getTimeToLiveSeconds();
+        ResourcePoolsBuilder resourcePools = ResourcePoolsBuilder.heap(heapEntries);
+        if (region.getOffHeapMegabytes() > 0) {
+            resourcePools = resourcePools.offheap(region.getOffHeapMegabytes(), MemoryUnit.MB);
         }
+        CacheConfigurationBuilder<Object, Object> builder = CacheConfigurationBuilder.newCacheConfigurationBuilder(
+            Object.class,
+            Object.class,
+            resourcePools
+        ).withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(timeToLiveSeconds)));
+        if (StringUtils.hasText(region.getEvictionAdvisor())) {
+            builder = builder.withEvictionAdvisor(evictionAdvisor(region.getEvictionAdvisor()));
+        }
+        return Eh107Configuration.fromEhcacheCacheConfiguration(builder.build());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static EvictionAdvisor<Object, Object> evictionAdvisor(String className) {
+        Class<?> advisorClass = ClassUtils.resolveClassName(className, CacheConfiguration.class.getClassLoader());
+        return BeanUtils.instantiateClass(advisorClass, EvictionAdvisor.class);
     }
 
     @Autowired(required = false)
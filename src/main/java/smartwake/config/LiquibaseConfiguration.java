@@ -15,6 +15,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.Profiles;
+import smartwake.service.SchemaMigrationMonitor;
 import tech.jhipster.config.JHipsterConstants;
 import tech.jhipster.config.liquibase.SpringLiquibaseUtil;
 
@@ -38,13 +39,14 @@ public class LiquibaseConfiguration {
         LiquibaseProperties liquibaseProperties,
         @LiquibaseDataSource ObjectProvider<DataSource> liquibaseDataSource,
         ObjectProvider<DataSource> dataSource,
-        DataSourceProperties dataSourceProperties
+        DataSourceProperties dataSourceProperties,
+        SchemaMigrationMonitor schemaMigrationMonitor
     ) {
         SpringLiquibase liquibase;
         if (Boolean.TRUE.equals(asyncStart)) {
             liquibase = SpringLiquibaseUtil.createAsyncSpringLiquibase(
                 this.env,
-                executor,
+                schemaMigrationMonitor.track(executor),
                 liquibaseDataSource.getIfAvailable(),
                 liquibaseProperties,
                 dataSource.getIfUnique(),
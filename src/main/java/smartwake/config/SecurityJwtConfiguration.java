@@ -12,6 +12,8 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
@@ -19,6 +21,8 @@ import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
 import smartwake.management.SecurityMetersService;
+import smartwake.security.TokenRevocationStore;
+import smartwake.security.VerifiedJwtCache;
 
 @Configuration
 public class SecurityJwtConfiguration {
@@ -29,30 +33,51 @@ public class SecurityJwtConfiguration {
     private String jwtKey;
 
     @Bean
-    public JwtDecoder jwtDecoder(SecurityMetersService metersService) {
+    public JwtDecoder jwtDecoder(
+        SecurityMetersService metersService,
+        TokenRevocationStore tokenRevocationStore,
+        ApplicationProperties applicationProperties
+    ) {
         NimbusJwtDecoder jwtDecoder = NimbusJwtDecoder.withSecretKey(getSecretKey()).macAlgorithm(JWT_ALGORITHM).build();
+        VerifiedJwtCache verifiedJwts = new VerifiedJwtCache(applicationProperties.getSecurity().getJwtCacheSize());
         return token -> {
-            try {
-                return jwtDecoder.decode(token);
-            } catch (Exception e) {
-                if (e.getMessage().contains("Invalid signature")) {
-                    metersService.trackTokenInvalidSignature();
-                } else if (e.getMessage().contains("Jwt expired at")) {
-                    metersService.trackTokenExpired();
-                } else if (
-                    e.getMessage().contains("Invalid JWT serialization") ||
-                    e.getMessage().contains("Malformed token") ||
-                    e.getMessage().contains("Invalid unsecured/JWS/JWE")
-                ) {
-                    metersService.trackTokenMalformed();
-                } else {
-                    log.error("Unknown JWT error {}", e.getMessage());
-                }
-                throw e;
+            Jwt jwt = verifiedJwts.get(token);
+            if (jwt != null) {
+                metersService.trackTokenCacheHit();
+            } else {
+                metersService.trackTokenCacheMiss();
+                jwt = decode(jwtDecoder, token, metersService);
+                verifiedJwts.put(jwt);
             }
+            if (tokenRevocationStore.isRevoked(jwt)) {
+                metersService.trackTokenRevoked();
+                throw new BadJwtException("Jwt revoked");
+            }
+            return jwt;
         };
     }
 
+    private Jwt decode(NimbusJwtDecoder jwtDecoder, String token, SecurityMetersService metersService) {
+        try {
+            return jwtDecoder.decode(token);
+        } catch (Exception e) {
+            if (e.getMessage().contains("Invalid signature")) {
+                metersService.trackTokenInvalidSignature();
+            } else if (e.getMessage().contains("Jwt expired at")) {
+                metersService.trackTokenExpired();
+            } else if (
+                e.getMessage().contains("Invalid JWT serialization") ||
+                e.getMessage().contains("Malformed token") ||
+                e.getMessage().contains("Invalid unsecured/JWS/JWE")
+            ) {
+                metersService.trackTokenMalformed();
+            } else {
+                log.error("Unknown JWT error {}", e.getMessage());
+            }
+            throw e;
+        }
+    }
+
     @Bean
     public JwtEncoder jwtEncoder() {
         return new NimbusJwtEncoder(new ImmutableSecret<>(getSecretKey()));
@@ -1,12 +1,18 @@
 package smartwake.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
 import java.io.Serializable;
 import java.time.LocalDate;
 import java.time.ZonedDateTime;
+import java.util.SortedSet;
+import java.util.TreeSet;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
+import smartwake.domain.enumeration.RingState;
 
 /**
  * A Alarm.
@@ -20,7 +26,7 @@ public class Alarm implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.UUID)
     @Column(name = "id")
     private String id;
 
@@ -39,8 +45,27 @@ public class Alarm implements Serializable {
     @Column(name = "label")
     private String label;
 
-    @Column(name = "repeat_days")
-    private LocalDate repeatDays;
+    /**
+     * Weekdays the alarm repeats on, with bit 0 for Monday up to bit 6 for Sunday, or {@code 0} for a one-shot alarm.
+     */
+    @Min(value = 0)
+    @Max(value = 127)
+    @Column(name = "repeat_mask")
+    private Integer repeatMask;
+
+    /**
+     * Dates on which a recurring alarm does not fire, in its {@code timeZone}.
+     */
+    @Convert(converter = LocalDateSetConverter.class)
+    @Column(name = "skip_dates", length = 1024)
+    private SortedSet<LocalDate> skipDates = new TreeSet<>();
+
+    /**
+     * Zone id the alarm recurs in, {@code alarmTime}'s zone if {@code null}.
+     */
+    @Size(max = 64)
+    @Column(name = "time_zone", length = 64)
+    private String timeZone;
 
     @Column(name = "snooze_enabled")
     private Boolean snoozeEnabled;
@@ -48,6 +73,37 @@ public class Alarm implements Serializable {
     @Column(name = "snooze_duration")
     private Integer snoozeDuration;
 
+    /**
+     * Next firing time of the alarm, in UTC epoch milliseconds, or {@code null} if it will not fire again.
+     * Computed on every save and after every firing.
+     */
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "next_fire_at")
+    private Long nextFireAt;
+
+    /**
+     * State of the last firing of the alarm. Written lazily, in batches, by the ring state machine.
+     */
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Enumerated(EnumType.STRING)
+    @Column(name = "ring_state", length = 16)
+    private RingState ringState;
+
+    /**
+     * When a snoozed alarm rings again, in UTC epoch milliseconds.
+     */
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "snoozed_until")
+    private Long snoozedUntil;
+
+    /**
+     * Position of the last change of the alarm made by a user, in the change sequence of its {@link UserLogin}.
+     * Used by clients to fetch only the alarms changed since their previous sync.
+     */
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "change_seq")
+    private Long changeSeq;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnoreProperties(value = { "usernames" }, allowSetters = true)
     private UserLogin userLogin;
@@ -132,17 +188,43 @@ public class Alarm implements Serializable {
         this.label = label;
     }
 
-    public LocalDate getRepeatDays() {
-        return this.repeatDays;
+    public Integer getRepeatMask() {
+        return this.repeatMask;
+    }
+
+    public Alarm repeatMask(Integer repeatMask) {
+        this.setRepeatMask(repeatMask);
+        return this;
+    }
+
+    public void setRepeatMask(Integer repeatMask) {
+        this.repeatMask = repeatMask;
+    }
+
+    public SortedSet<LocalDate> getSkipDates() {
+        return this.skipDates;
+    }
+
+    public Alarm skipDates(SortedSet<LocalDate> skipDates) {
+        this.setSkipDates(skipDates);
+        return this;
+    }
+
+    public void setSkipDates(SortedSet<LocalDate> skipDates) {
+        this.skipDates = skipDates;
+    }
+
+    public String getTimeZone() {
+        return this.timeZone;
     }
 
-    public Alarm repeatDays(LocalDate repeatDays) {
-        this.setRepeatDays(repeatDays);
+    public Alarm timeZone(String timeZone) {
+        this.setTimeZone(timeZone);
         return this;
     }
 
-    public void setRepeatDays(LocalDate repeatDays) {
-        this.repeatDays = repeatDays;
+    public void setTimeZone(String timeZone) {
+        this.timeZone = timeZone;
     }
 
     public Boolean getSnoozeEnabled() {
@@ -171,6 +253,58 @@ public class Alarm implements Serializable {
         this.snoozeDuration = snoozeDuration;
     }
 
+    public Long getNextFireAt() {
+        return this.nextFireAt;
+    }
+
+    public Alarm nextFireAt(Long nextFireAt) {
+        this.setNextFireAt(nextFireAt);
+        return this;
+    }
+
+    public void setNextFireAt(Long nextFireAt) {
+        this.nextFireAt = nextFireAt;
+    }
+
+    public RingState getRingState() {
+        return this.ringState;
+    }
+
+    public Alarm ringState(RingState ringState) {
+        this.setRingState(ringState);
+        return this;
+    }
+
+    public void setRingState(RingState ringState) {
+        this.ringState = ringState;
+    }
+
+    public Long getSnoozedUntil() {
+        return this.snoozedUntil;
+    }
+
+    public Alarm snoozedUntil(Long snoozedUntil) {
+        this.setSnoozedUntil(snoozedUntil);
+        return this;
+    }
+
+    public void setSnoozedUntil(Long snoozedUntil) {
+        this.snoozedUntil = snoozedUntil;
+    }
+
+    public Long getChangeSeq() {
+        return this.changeSeq;
+    }
+
+    public Alarm changeSeq(Long changeSeq) {
+        this.setChangeSeq(changeSeq);
+        return this;
+    }
+
+    public void setChangeSeq(Long changeSeq) {
+        this.changeSeq = changeSeq;
+    }
+
     public UserLogin getUserLogin() {
         return this.userLogin;
     }
@@ -184,6 +318,22 @@ public class Alarm implements Serializable {
         return this;
     }
 
+    /**
+     * {@code hashCode()} of the id, from which the partition bucket of the alarm is derived. Stored so that the
+     * alarms of a bucket can be selected by the database; written from the id, never set.
+     */
+    @JsonIgnore
+    @Access(AccessType.PROPERTY)
+    @Column(name = "partition_hash")
+    public Integer getPartitionHash() {
+        return this.id != null ? this.id.hashCode() : null;
+    }
+
+    @SuppressWarnings("unused")
+    private void setPartitionHash(Integer partitionHash) {
+        // derived from the id
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
@@ -213,9 +363,15 @@ public class Alarm implements Serializable {
             ", enabled='" + getEnabled() + "'" +
             ", sound='" + getSound() + "'" +
             ", label='" + getLabel() + "'" +
-            ", repeatDays='" + getRepeatDays() + "'" +
+            ", repeatMask=" + getRepeatMask() +
+            ", skipDates='" + getSkipDates() + "'" +
+            ", timeZone='" + getTimeZone() + "'" +
             ", snoozeEnabled='" + getSnoozeEnabled() + "'" +
             ", snoozeDuration=" + getSnoozeDuration() +
+            ", nextFireAt=" + getNextFireAt() +
+            ", ringState='" + getRingState() + "'" +
+            ", snoozedUntil=" + getSnoozedUntil() +
+            ", changeSeq=" + getChangeSeq() +
             "}";
     }
 }
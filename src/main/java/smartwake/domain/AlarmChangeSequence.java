@@ -0,0 +1,100 @@
+package smartwake.domain;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+
+/**
+ * The change sequence of the alarms of a {@link UserLogin}.
+ * <p>
+ * Every change a user makes to their alarms takes the next value of their sequence. The row is locked from the
+ * moment a value is taken until the transaction ends, so values become visible in increasing order.
+ */
+@Entity
+@Table(name = "alarm_change_sequence")
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class AlarmChangeSequence implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "user_login_id")
+    private Long userLoginId;
+
+    /**
+     * Last value taken from the sequence.
+     */
+    @Column(name = "last_seq", nullable = false)
+    private Long lastSeq;
+
+    /**
+     * Highest value of the tombstones purged so far; clients that synced before it must list their alarms again.
+     */
+    @Column(name = "purged_seq", nullable = false)
+    private Long purgedSeq;
+
+    public Long getUserLoginId() {
+        return this.userLoginId;
+    }
+
+    public AlarmChangeSequence userLoginId(Long userLoginId) {
+        this.setUserLoginId(userLoginId);
+        return this;
+    }
+
+    public void setUserLoginId(Long userLoginId) {
+        this.userLoginId = userLoginId;
+    }
+
+    public Long getLastSeq() {
+        return this.lastSeq;
+    }
+
+    public AlarmChangeSequence lastSeq(Long lastSeq) {
+        this.setLastSeq(lastSeq);
+        return this;
+    }
+
+    public void setLastSeq(Long lastSeq) {
+        this.lastSeq = lastSeq;
+    }
+
+    public Long getPurgedSeq() {
+        return this.purgedSeq;
+    }
+
+    public AlarmChangeSequence purgedSeq(Long purgedSeq) {
+        this.setPurgedSeq(purgedSeq);
+        return this;
+    }
+
+    public void setPurgedSeq(Long purgedSeq) {
+        this.purgedSeq = purgedSeq;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof AlarmChangeSequence)) {
+            return false;
+        }
+        return getUserLoginId() != null && getUserLoginId().equals(((AlarmChangeSequence) o).getUserLoginId());
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "AlarmChangeSequence{" +
+            "userLoginId=" + getUserLoginId() +
+            ", lastSeq=" + getLastSeq() +
+            ", purgedSeq=" + getPurgedSeq() +
+            "}";
+    }
+}
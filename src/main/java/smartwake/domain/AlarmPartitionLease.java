@@ -0,0 +1,98 @@
+package smartwake.domain;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.io.Serializable;
+
+/**
+ * Lease of a bucket of alarms by a node.
+ * <p>
+ * A node fires the alarms of a bucket only while it holds an unexpired lease on it.
+ */
+@Entity
+@Table(name = "alarm_partition_lease")
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class AlarmPartitionLease implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "bucket")
+    private Integer bucket;
+
+    @Size(max = 64)
+    @Column(name = "owner", length = 64)
+    private String owner;
+
+    /**
+     * Expiry of the lease, in UTC epoch milliseconds.
+     */
+    @Column(name = "expires_at")
+    private Long expiresAt;
+
+    public Integer getBucket() {
+        return this.bucket;
+    }
+
+    public AlarmPartitionLease bucket(Integer bucket) {
+        this.setBucket(bucket);
+        return this;
+    }
+
+    public void setBucket(Integer bucket) {
+        this.bucket = bucket;
+    }
+
+    public String getOwner() {
+        return this.owner;
+    }
+
+    public AlarmPartitionLease owner(String owner) {
+        this.setOwner(owner);
+        return this;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public Long getExpiresAt() {
+        return this.expiresAt;
+    }
+
+    public AlarmPartitionLease expiresAt(Long expiresAt) {
+        this.setExpiresAt(expiresAt);
+        return this;
+    }
+
+    public void setExpiresAt(Long expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof AlarmPartitionLease)) {
+            return false;
+        }
+        return getBucket() != null && getBucket().equals(((AlarmPartitionLease) o).getBucket());
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "AlarmPartitionLease{" +
+            "bucket=" + getBucket() +
+            ", owner='" + getOwner() + "'" +
+            ", expiresAt=" + getExpiresAt() +
+            "}";
+    }
+}
@@ -0,0 +1,100 @@
+package smartwake.domain;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.io.Serializable;
+
+/**
+ * A node taking part in the alarm partitioning, kept alive by its heartbeats.
+ */
+@Entity
+@Table(name = "alarm_partition_member")
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class AlarmPartitionMember implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Size(max = 64)
+    @Column(name = "node_id", length = 64)
+    private String nodeId;
+
+    /**
+     * Expiry of the membership, in UTC epoch milliseconds.
+     */
+    @Column(name = "expires_at")
+    private Long expiresAt;
+
+    /**
+     * Base URL at which the other nodes reach this one, or {@code null} if it is not configured.
+     */
+    @Size(max = 255)
+    @Column(name = "address", length = 255)
+    private String address;
+
+    public String getNodeId() {
+        return this.nodeId;
+    }
+
+    public AlarmPartitionMember nodeId(String nodeId) {
+        this.setNodeId(nodeId);
+        return this;
+    }
+
+    public void setNodeId(String nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    public Long getExpiresAt() {
+        return this.expiresAt;
+    }
+
+    public AlarmPartitionMember expiresAt(Long expiresAt) {
+        this.setExpiresAt(expiresAt);
+        return this;
+    }
+
+    public void setExpiresAt(Long expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public String getAddress() {
+        return this.address;
+    }
+
+    public AlarmPartitionMember address(String address) {
+        this.setAddress(address);
+        return this;
+    }
+
+    public void setAddress(String address) {
+        this.address = address;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof AlarmPartitionMember)) {
+            return false;
+        }
+        return getNodeId() != null && getNodeId().equals(((AlarmPartitionMember) o).getNodeId());
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "AlarmPartitionMember{" +
+            "nodeId='" + getNodeId() + "'" +
+            ", expiresAt=" + getExpiresAt() +
+            ", address='" + getAddress() + "'" +
+            "}";
+    }
+}
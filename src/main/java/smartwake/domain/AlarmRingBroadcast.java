@@ -0,0 +1,185 @@
+package smartwake.domain;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.io.Serializable;
+import smartwake.domain.enumeration.RingState;
+
+/**
+ * Ring event of an alarm, written by the node that rings it and read by the others, for the event streams of its
+ * owner connected to them.
+ * <p>
+ * Broadcasts are only ever appended, read in id order, and purged once every node has had time to read them.
+ */
+@Entity
+@Table(name = "alarm_ring_broadcast")
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class AlarmRingBroadcast implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @NotNull
+    @Size(max = 255)
+    @Column(name = "alarm_id", length = 255, nullable = false)
+    private String alarmId;
+
+    /**
+     * Login of the owner of the alarm.
+     */
+    @Size(max = 255)
+    @Column(name = "owner", length = 255)
+    private String owner;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "state", length = 16, nullable = false)
+    private RingState state;
+
+    /**
+     * When the alarm changed state, in UTC epoch milliseconds.
+     */
+    @NotNull
+    @Column(name = "occurred_at", nullable = false)
+    private Long occurredAt;
+
+    /**
+     * When a snoozed alarm rings again, in UTC epoch milliseconds.
+     */
+    @Column(name = "snoozed_until")
+    private Long snoozedUntil;
+
+    /**
+     * Id of the node that rings the alarm, which has already published the event.
+     */
+    @NotNull
+    @Size(max = 64)
+    @Column(name = "origin", length = 64, nullable = false)
+    private String origin;
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public AlarmRingBroadcast id(Long id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getAlarmId() {
+        return this.alarmId;
+    }
+
+    public AlarmRingBroadcast alarmId(String alarmId) {
+        this.setAlarmId(alarmId);
+        return this;
+    }
+
+    public void setAlarmId(String alarmId) {
+        this.alarmId = alarmId;
+    }
+
+    public String getOwner() {
+        return this.owner;
+    }
+
+    public AlarmRingBroadcast owner(String owner) {
+        this.setOwner(owner);
+        return this;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public RingState getState() {
+        return this.state;
+    }
+
+    public AlarmRingBroadcast state(RingState state) {
+        this.setState(state);
+        return this;
+    }
+
+    public void setState(RingState state) {
+        this.state = state;
+    }
+
+    public Long getOccurredAt() {
+        return this.occurredAt;
+    }
+
+    public AlarmRingBroadcast occurredAt(Long occurredAt) {
+        this.setOccurredAt(occurredAt);
+        return this;
+    }
+
+    public void setOccurredAt(Long occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+
+    public Long getSnoozedUntil() {
+        return this.snoozedUntil;
+    }
+
+    public AlarmRingBroadcast snoozedUntil(Long snoozedUntil) {
+        this.setSnoozedUntil(snoozedUntil);
+        return this;
+    }
+
+    public void setSnoozedUntil(Long snoozedUntil) {
+        this.snoozedUntil = snoozedUntil;
+    }
+
+    public String getOrigin() {
+        return this.origin;
+    }
+
+    public AlarmRingBroadcast origin(String origin) {
+        this.setOrigin(origin);
+        return this;
+    }
+
+    public void setOrigin(String origin) {
+        this.origin = origin;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof AlarmRingBroadcast)) {
+            return false;
+        }
+        return getId() != null && getId().equals(((AlarmRingBroadcast) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "AlarmRingBroadcast{" +
+            "id=" + getId() +
+            ", alarmId='" + getAlarmId() + "'" +
+            ", owner='" + getOwner() + "'" +
+            ", state='" + getState() + "'" +
+            ", occurredAt=" + getOccurredAt() +
+            ", snoozedUntil=" + getSnoozedUntil() +
+            ", origin='" + getOrigin() + "'" +
+            "}";
+    }
+}
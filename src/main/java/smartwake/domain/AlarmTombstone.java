@@ -0,0 +1,130 @@
+package smartwake.domain;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+
+/**
+ * Records that an {@link Alarm} was deleted, or given to another user, so that clients syncing the alarms of its
+ * former {@link UserLogin} remove it. Tombstones are purged after a retention period.
+ */
+@Entity
+@Table(name = "alarm_tombstone")
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class AlarmTombstone implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "id")
+    private String id;
+
+    @Column(name = "alarm_id", nullable = false)
+    private String alarmId;
+
+    @Column(name = "user_login_id", nullable = false)
+    private Long userLoginId;
+
+    @Column(name = "change_seq", nullable = false)
+    private Long changeSeq;
+
+    /**
+     * When the alarm was removed, in UTC epoch milliseconds.
+     */
+    @Column(name = "deleted_at", nullable = false)
+    private Long deletedAt;
+
+    public String getId() {
+        return this.id;
+    }
+
+    public AlarmTombstone id(String id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getAlarmId() {
+        return this.alarmId;
+    }
+
+    public AlarmTombstone alarmId(String alarmId) {
+        this.setAlarmId(alarmId);
+        return this;
+    }
+
+    public void setAlarmId(String alarmId) {
+        this.alarmId = alarmId;
+    }
+
+    public Long getUserLoginId() {
+        return this.userLoginId;
+    }
+
+    public AlarmTombstone userLoginId(Long userLoginId) {
+        this.setUserLoginId(userLoginId);
+        return this;
+    }
+
+    public void setUserLoginId(Long userLoginId) {
+        this.userLoginId = userLoginId;
+    }
+
+    public Long getChangeSeq() {
+        return this.changeSeq;
+    }
+
+    public AlarmTombstone changeSeq(Long changeSeq) {
+        this.setChangeSeq(changeSeq);
+        return this;
+    }
+
+    public void setChangeSeq(Long changeSeq) {
+        this.changeSeq = changeSeq;
+    }
+
+    public Long getDeletedAt() {
+        return this.deletedAt;
+    }
+
+    public AlarmTombstone deletedAt(Long deletedAt) {
+        this.setDeletedAt(deletedAt);
+        return this;
+    }
+
+    public void setDeletedAt(Long deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof AlarmTombstone)) {
+            return false;
+        }
+        return getId() != null && getId().equals(((AlarmTombstone) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "AlarmTombstone{" +
+            "id='" + getId() + "'" +
+            ", alarmId='" + getAlarmId() + "'" +
+            ", userLoginId=" + getUserLoginId() +
+            ", changeSeq=" + getChangeSeq() +
+            ", deletedAt=" + getDeletedAt() +
+            "}";
+    }
+}
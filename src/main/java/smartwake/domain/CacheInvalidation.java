@@ -0,0 +1,144 @@
+package smartwake.domain;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.io.Serializable;
+
+/**
+ * Eviction of a cache entry, or of a whole cache region, made by one node and applied by the others.
+ * <p>
+ * Invalidations are only ever appended, read in id order, and purged once every node has had time to read them.
+ */
+@Entity
+@Table(name = "cache_invalidation")
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class CacheInvalidation implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @NotNull
+    @Size(max = 255)
+    @Column(name = "cache_name", length = 255, nullable = false)
+    private String cacheName;
+
+    /**
+     * Key of the evicted entry, or {@code null} if the whole region is cleared.
+     */
+    @Size(max = 255)
+    @Column(name = "cache_key", length = 255)
+    private String cacheKey;
+
+    /**
+     * Id of the node that made the invalidation, which has already applied it.
+     */
+    @NotNull
+    @Size(max = 36)
+    @Column(name = "origin", length = 36, nullable = false)
+    private String origin;
+
+    /**
+     * When the invalidation was made, in UTC epoch milliseconds.
+     */
+    @NotNull
+    @Column(name = "created_at", nullable = false)
+    private Long createdAt;
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public CacheInvalidation id(Long id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getCacheName() {
+        return this.cacheName;
+    }
+
+    public CacheInvalidation cacheName(String cacheName) {
+        this.setCacheName(cacheName);
+        return this;
+    }
+
+    public void setCacheName(String cacheName) {
+        this.cacheName = cacheName;
+    }
+
+    public String getCacheKey() {
+        return this.cacheKey;
+    }
+
+    public CacheInvalidation cacheKey(String cacheKey) {
+        this.setCacheKey(cacheKey);
+        return this;
+    }
+
+    public void setCacheKey(String cacheKey) {
+        this.cacheKey = cacheKey;
+    }
+
+    public String getOrigin() {
+        return this.origin;
+    }
+
+    public CacheInvalidation origin(String origin) {
+        this.setOrigin(origin);
+        return this;
+    }
+
+    public void setOrigin(String origin) {
+        this.origin = origin;
+    }
+
+    public Long getCreatedAt() {
+        return this.createdAt;
+    }
+
+    public CacheInvalidation createdAt(Long createdAt) {
+        this.setCreatedAt(createdAt);
+        return this;
+    }
+
+    public void setCreatedAt(Long createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CacheInvalidation)) {
+            return false;
+        }
+        return getId() != null && getId().equals(((CacheInvalidation) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CacheInvalidation{" +
+            "id=" + getId() +
+            ", cacheName='" + getCacheName() + "'" +
+            ", cacheKey='" + getCacheKey() + "'" +
+            ", origin='" + getOrigin() + "'" +
+            ", createdAt=" + getCreatedAt() +
+            "}";
+    }
+}
@@ -0,0 +1,35 @@
+package smartwake.domain;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Stores a set of dates as a single comma-separated column of ISO-8601 dates.
+ */
+@Converter
+public class LocalDateSetConverter implements AttributeConverter<SortedSet<LocalDate>, String> {
+
+    private static final String SEPARATOR = ",";
+
+    @Override
+    public String convertToDatabaseColumn(SortedSet<LocalDate> dates) {
+        if (dates == null || dates.isEmpty()) {
+            return null;
+        }
+        return dates.stream().map(LocalDate::toString).collect(Collectors.joining(SEPARATOR));
+    }
+
+    @Override
+    public SortedSet<LocalDate> convertToEntityAttribute(String column) {
+        SortedSet<LocalDate> dates = new TreeSet<>();
+        if (column != null && !column.isBlank()) {
+            Arrays.stream(column.split(SEPARATOR)).map(String::trim).map(LocalDate::parse).forEach(dates::add);
+        }
+        return dates;
+    }
+}
@@ -0,0 +1,185 @@
+package smartwake.domain;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.io.Serializable;
+
+/**
+ * Refresh token of a {@link User}, exchanged for a new access token without the password.
+ * <p>
+ * Only the hash of the token is stored. Each token is used once and replaced by a new one of the same family, so a
+ * token presented again after its use reveals a leak, and revokes its whole family.
+ */
+@Entity
+@Table(name = "refresh_token")
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class RefreshToken implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * SHA-256 hash of the token, in unpadded base64url.
+     */
+    @Id
+    @Size(max = 43)
+    @Column(name = "token_hash", length = 43)
+    private String tokenHash;
+
+    @NotNull
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    /**
+     * Id shared by a token and all the tokens that replaced it.
+     */
+    @NotNull
+    @Size(max = 36)
+    @Column(name = "family_id", length = 36, nullable = false)
+    private String familyId;
+
+    @NotNull
+    @Column(name = "remember_me", nullable = false)
+    private Boolean rememberMe;
+
+    /**
+     * Expiry of the token, in UTC epoch milliseconds.
+     */
+    @NotNull
+    @Column(name = "expires_at", nullable = false)
+    private Long expiresAt;
+
+    /**
+     * End of the session opened by the login of the family, in UTC epoch milliseconds: no token of the family
+     * expires after it.
+     */
+    @NotNull
+    @Column(name = "family_expires_at", nullable = false)
+    private Long familyExpiresAt;
+
+    /**
+     * When the token was exchanged, in UTC epoch milliseconds, or {@code null} if it was not yet.
+     */
+    @Column(name = "used_at")
+    private Long usedAt;
+
+    public String getTokenHash() {
+        return this.tokenHash;
+    }
+
+    public RefreshToken tokenHash(String tokenHash) {
+        this.setTokenHash(tokenHash);
+        return this;
+    }
+
+    public void setTokenHash(String tokenHash) {
+        this.tokenHash = tokenHash;
+    }
+
+    public User getUser() {
+        return this.user;
+    }
+
+    public RefreshToken user(User user) {
+        this.setUser(user);
+        return this;
+    }
+
+    public void setUser(User user) {
+        this.user = user;
+    }
+
+    public String getFamilyId() {
+        return this.familyId;
+    }
+
+    public RefreshToken familyId(String familyId) {
+        this.setFamilyId(familyId);
+        return this;
+    }
+
+    public void setFamilyId(String familyId) {
+        this.familyId = familyId;
+    }
+
+    public Boolean getRememberMe() {
+        return this.rememberMe;
+    }
+
+    public RefreshToken rememberMe(Boolean rememberMe) {
+        this.setRememberMe(rememberMe);
+        return this;
+    }
+
+    public void setRememberMe(Boolean rememberMe) {
+        this.rememberMe = rememberMe;
+    }
+
+    public Long getExpiresAt() {
+        return this.expiresAt;
+    }
+
+    public RefreshToken expiresAt(Long expiresAt) {
+        this.setExpiresAt(expiresAt);
+        return this;
+    }
+
+    public void setExpiresAt(Long expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public Long getFamilyExpiresAt() {
+        return this.familyExpiresAt;
+    }
+
+    public RefreshToken familyExpiresAt(Long familyExpiresAt) {
+        this.setFamilyExpiresAt(familyExpiresAt);
+        return this;
+    }
+
+    public void setFamilyExpiresAt(Long familyExpiresAt) {
+        this.familyExpiresAt = familyExpiresAt;
+    }
+
+    public Long getUsedAt() {
+        return this.usedAt;
+    }
+
+    public RefreshToken usedAt(Long usedAt) {
+        this.setUsedAt(usedAt);
+        return this;
+    }
+
+    public void setUsedAt(Long usedAt) {
+        this.usedAt = usedAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RefreshToken)) {
+            return false;
+        }
+        return getTokenHash() != null && getTokenHash().equals(((RefreshToken) o).getTokenHash());
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "RefreshToken{" +
+            "familyId='" + getFamilyId() + "'" +
+            ", rememberMe='" + getRememberMe() + "'" +
+            ", expiresAt=" + getExpiresAt() +
+            ", familyExpiresAt=" + getFamilyExpiresAt() +
+            ", usedAt=" + getUsedAt() +
+            "}";
+    }
+}
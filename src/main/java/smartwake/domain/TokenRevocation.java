@@ -0,0 +1,128 @@
+package smartwake.domain;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.io.Serializable;
+
+/**
+ * Revocation of an access token, or of all the access tokens issued to a user up to a point in time.
+ * <p>
+ * A revocation is kept until the tokens it revokes have expired, then purged.
+ */
+@Entity
+@Table(name = "token_revocation")
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class TokenRevocation implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * {@code token:} followed by the id of the revoked token, or {@code user:} followed by the login of the user.
+     */
+    @Id
+    @Size(max = 100)
+    @Column(name = "revocation_key", length = 100)
+    private String revocationKey;
+
+    /**
+     * Subject of the revoked tokens.
+     */
+    @NotNull
+    @Size(max = 100)
+    @Column(name = "subject", length = 100, nullable = false)
+    private String subject;
+
+    /**
+     * When the tokens were revoked, in UTC epoch milliseconds.
+     */
+    @NotNull
+    @Column(name = "revoked_at", nullable = false)
+    private Long revokedAt;
+
+    /**
+     * When the revoked tokens have all expired, in UTC epoch milliseconds.
+     */
+    @NotNull
+    @Column(name = "expires_at", nullable = false)
+    private Long expiresAt;
+
+    public String getRevocationKey() {
+        return this.revocationKey;
+    }
+
+    public TokenRevocation revocationKey(String revocationKey) {
+        this.setRevocationKey(revocationKey);
+        return this;
+    }
+
+    public void setRevocationKey(String revocationKey) {
+        this.revocationKey = revocationKey;
+    }
+
+    public String getSubject() {
+        return this.subject;
+    }
+
+    public TokenRevocation subject(String subject) {
+        this.setSubject(subject);
+        return this;
+    }
+
+    public void setSubject(String subject) {
+        this.subject = subject;
+    }
+
+    public Long getRevokedAt() {
+        return this.revokedAt;
+    }
+
+    public TokenRevocation revokedAt(Long revokedAt) {
+        this.setRevokedAt(revokedAt);
+        return this;
+    }
+
+    public void setRevokedAt(Long revokedAt) {
+        this.revokedAt = revokedAt;
+    }
+
+    public Long getExpiresAt() {
+        return this.expiresAt;
+    }
+
+    public TokenRevocation expiresAt(Long expiresAt) {
+        this.setExpiresAt(expiresAt);
+        return this;
+    }
+
+    public void setExpiresAt(Long expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TokenRevocation)) {
+            return false;
+        }
+        return getRevocationKey() != null && getRevocationKey().equals(((TokenRevocation) o).getRevocationKey());
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "TokenRevocation{" +
+            "revocationKey='" + getRevocationKey() + "'" +
+            ", subject='" + getSubject() + "'" +
+            ", revokedAt=" + getRevokedAt() +
+            ", expiresAt=" + getExpiresAt() +
+            "}";
+    }
+}
@@ -0,0 +1,13 @@
+package smartwake.domain.enumeration;
+
+/**
+ * The RingState enumeration.
+ * <p>
+ * A fired alarm is {@code RINGING}; it can be snoozed, which makes it ring again after its snooze duration, or
+ * dismissed.
+ */
+public enum RingState {
+    RINGING,
+    SNOOZED,
+    DISMISSED,
+}
@@ -0,0 +1,4 @@
+/**
+ * Domain enumerations.
+ */
+package smartwake.domain.enumeration;
@@ -0,0 +1,77 @@
+package smartwake.repository;
+
+import java.util.Optional;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import smartwake.domain.AlarmChangeSequence;
+
+/**
+ * Spring Data JPA repository for the AlarmChangeSequence entity.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface AlarmChangeSequenceRepository extends JpaRepository<AlarmChangeSequence, Long> {
+    /**
+     * Take {@code count} values from the change sequence of a user, creating the sequence if the user has none yet,
+     * and lock it until the transaction ends.
+     * <p>
+     * This is a single statement, so that the first changes of a user made concurrently do not both insert the
+     * sequence: one of them inserts it, and the other one increments it once the first one commits.
+     *
+     * @param userLoginId the id of the {@link smartwake.domain.UserLogin}.
+     * @param count the number of values to take.
+     * @return the number of rows inserted or updated, as counted by the database.
+     */
+    @Modifying
+    @Query(
+        value = "insert into alarm_change_sequence (user_login_id, last_seq, purged_seq) values (:userLoginId, :count, 0)" +
+        " on duplicate key update last_seq = last_seq + :count",
+        nativeQuery = true
+    )
+    int increment(@Param("userLoginId") Long userLoginId, @Param("count") long count);
+
+    @Query("select sequence.lastSeq from AlarmChangeSequence sequence where sequence.userLoginId = :userLoginId")
+    Long findLastSeq(@Param("userLoginId") Long userLoginId);
+
+    /**
+     * Read the change sequence of a user from the database, even if it is already in the persistence context, where
+     * it is not updated by {@link #increment}.
+     *
+     * @param username the username of the {@link smartwake.domain.UserLogin}.
+     * @return the state of the sequence, if the user has one.
+     */
+    @Query(
+        "select sequence.userLoginId as userLoginId, sequence.lastSeq as lastSeq, sequence.purgedSeq as purgedSeq" +
+        " from AlarmChangeSequence sequence, UserLogin userLogin" +
+        " where sequence.userLoginId = userLogin.id and userLogin.username = :username"
+    )
+    Optional<SequenceState> findStateByUsername(@Param("username") String username);
+
+    /**
+     * Raise the purged value of every sequence to the highest value of its tombstones removed before the given time.
+     *
+     * @param before the removal time below which tombstones are purged, in UTC epoch milliseconds.
+     * @return the number of sequences updated.
+     */
+    @Modifying
+    @Query(
+        "update AlarmChangeSequence sequence set sequence.purgedSeq = (" +
+        "select max(tombstone.changeSeq) from AlarmTombstone tombstone" +
+        " where tombstone.userLoginId = sequence.userLoginId and tombstone.deletedAt < :before)" +
+        " where exists (select tombstone.id from AlarmTombstone tombstone" +
+        " where tombstone.userLoginId = sequence.userLoginId and tombstone.deletedAt < :before)"
+    )
+    int raisePurgedSeq(@Param("before") Long before);
+
+    /**
+     * Projection of the state of an {@link AlarmChangeSequence}.
+     */
+    interface SequenceState {
+        Long getUserLoginId();
+
+        Long getLastSeq();
+
+        Long getPurgedSeq();
+    }
+}
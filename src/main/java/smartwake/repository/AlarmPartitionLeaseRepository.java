@@ -0,0 +1,64 @@
+package smartwake.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import smartwake.domain.AlarmPartitionLease;
+
+/**
+ * Spring Data JPA repository for the AlarmPartitionLease entity.
+ * <p>
+ * Leases are only changed through conditional updates, so that two nodes can never both hold the same bucket.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface AlarmPartitionLeaseRepository extends JpaRepository<AlarmPartitionLease, Integer> {
+    @Query("select lease.bucket from AlarmPartitionLease lease")
+    List<Integer> findAllBuckets();
+
+    @Query("select lease.bucket from AlarmPartitionLease lease where lease.owner = :owner and lease.expiresAt >= :now")
+    List<Integer> findOwnedBuckets(@Param("owner") String owner, @Param("now") Long now);
+
+    @Query(
+        "select member.address from AlarmPartitionLease lease, AlarmPartitionMember member" +
+        " where lease.bucket = :bucket and lease.expiresAt >= :now and member.nodeId = lease.owner and member.address is not null"
+    )
+    Optional<String> findOwnerAddress(@Param("bucket") Integer bucket, @Param("now") Long now);
+
+    @Query(
+        "select lease.bucket from AlarmPartitionLease lease" +
+        " where lease.bucket < :bucketCount and (lease.owner is null or lease.expiresAt < :now)"
+    )
+    List<Integer> findClaimableBuckets(@Param("bucketCount") Integer bucketCount, @Param("now") Long now);
+
+    /**
+     * Claim a bucket if it is free, expired, or already held by the owner.
+     *
+     * @return {@code 1} if the bucket was claimed, {@code 0} otherwise.
+     */
+    @Modifying
+    @Query(
+        "update AlarmPartitionLease lease set lease.owner = :owner, lease.expiresAt = :expiresAt" +
+        " where lease.bucket = :bucket and (lease.owner is null or lease.owner = :owner or lease.expiresAt < :now)"
+    )
+    int claim(@Param("bucket") Integer bucket, @Param("owner") String owner, @Param("expiresAt") Long expiresAt, @Param("now") Long now);
+
+    @Modifying
+    @Query(
+        "update AlarmPartitionLease lease set lease.expiresAt = :expiresAt" +
+        " where lease.owner = :owner and lease.expiresAt >= :now and lease.bucket in :buckets"
+    )
+    int renew(
+        @Param("owner") String owner,
+        @Param("buckets") Collection<Integer> buckets,
+        @Param("expiresAt") Long expiresAt,
+        @Param("now") Long now
+    );
+
+    @Modifying
+    @Query("update AlarmPartitionLease lease set lease.owner = null, lease.expiresAt = null where lease.owner = :owner and lease.bucket in :buckets")
+    int release(@Param("owner") String owner, @Param("buckets") Collection<Integer> buckets);
+}
@@ -0,0 +1,25 @@
+package smartwake.repository;
+
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import smartwake.domain.AlarmPartitionMember;
+
+/**
+ * Spring Data JPA repository for the AlarmPartitionMember entity.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface AlarmPartitionMemberRepository extends JpaRepository<AlarmPartitionMember, String> {
+    long countByExpiresAtGreaterThanEqual(Long now);
+
+    @Modifying
+    @Query(
+        "update AlarmPartitionMember member set member.expiresAt = :expiresAt, member.address = :address where member.nodeId = :nodeId"
+    )
+    int renew(@Param("nodeId") String nodeId, @Param("address") String address, @Param("expiresAt") Long expiresAt);
+
+    @Modifying
+    @Query("delete from AlarmPartitionMember member where member.expiresAt < :before")
+    int deleteExpired(@Param("before") Long before);
+}
@@ -1,12 +1,283 @@
 package smartwake.repository;
 
+import jakarta.persistence.QueryHint;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import smartwake.domain.Alarm;
+import smartwake.domain.enumeration.RingState;
 
 /**
  * Spring Data JPA repository for the Alarm entity.
  */
 @SuppressWarnings("unused")
 @Repository
-public interface AlarmRepository extends JpaRepository<Alarm, String> {}
+public interface AlarmRepository extends JpaRepository<Alarm, String> {
+    int EXPORT_FETCH_SIZE = 1000;
+
+    Stream<AlarmTrigger> streamByEnabledIsTrueAndNextFireAtGreaterThan(Long epochMilli);
+
+    Stream<AlarmTrigger> streamByEnabledIsTrueAndNextFireAtBetween(Long fromEpochMilli, Long toEpochMilli);
+
+    /**
+     * Stream the enabled alarms of some partition buckets that are due after the given instant.
+     * <p>
+     * The bucket of an alarm is computed by the database from its stored {@code partitionHash}, as
+     * {@code Math.floorMod(partitionHash, bucketCount)}. The alarms without a hash yet are returned too, for the
+     * caller to filter.
+     *
+     * @param epochMilli the lower bound, in UTC epoch milliseconds.
+     * @param bucketCount the number of buckets.
+     * @param buckets the buckets.
+     * @return the alarms of the buckets.
+     */
+    @Query(
+        "select alarm.id as id, alarm.nextFireAt as nextFireAt from Alarm alarm" +
+        " where alarm.enabled = true and alarm.nextFireAt > :epochMilli" +
+        " and (alarm.partitionHash is null" +
+        " or mod(mod(alarm.partitionHash, :bucketCount) + :bucketCount, :bucketCount) in :buckets)"
+    )
+    Stream<AlarmTrigger> streamOfBucketsByNextFireAtGreaterThan(
+        @Param("epochMilli") Long epochMilli,
+        @Param("bucketCount") Integer bucketCount,
+        @Param("buckets") Collection<Integer> buckets
+    );
+
+    /**
+     * Stream the enabled alarms of some partition buckets that are due within the given interval, bounds included.
+     * <p>
+     * The buckets are computed as in {@link #streamOfBucketsByNextFireAtGreaterThan(Long, Integer, Collection)}, on
+     * the rows of the {@code (enabled, next_fire_at)} index range.
+     *
+     * @param fromEpochMilli the lower bound, in UTC epoch milliseconds.
+     * @param toEpochMilli the upper bound, in UTC epoch milliseconds.
+     * @param bucketCount the number of buckets.
+     * @param buckets the buckets.
+     * @return the alarms of the buckets.
+     */
+    @Query(
+        "select alarm.id as id, alarm.nextFireAt as nextFireAt from Alarm alarm" +
+        " where alarm.enabled = true and alarm.nextFireAt between :fromEpochMilli and :toEpochMilli" +
+        " and (alarm.partitionHash is null" +
+        " or mod(mod(alarm.partitionHash, :bucketCount) + :bucketCount, :bucketCount) in :buckets)"
+    )
+    Stream<AlarmTrigger> streamOfBucketsByNextFireAtBetween(
+        @Param("fromEpochMilli") Long fromEpochMilli,
+        @Param("toEpochMilli") Long toEpochMilli,
+        @Param("bucketCount") Integer bucketCount,
+        @Param("buckets") Collection<Integer> buckets
+    );
+
+    /**
+     * Find the alarms without a partition hash after the given id, in id order: the hash is not indexed, so the
+     * alarms are walked along the primary key rather than searched from its start again on every page.
+     *
+     * @param afterId the last id of the previous page, or {@code ""} for the first one.
+     * @param limit the page size.
+     * @return the ids of the alarms.
+     */
+    @Query("select alarm.id from Alarm alarm where alarm.id > :afterId and alarm.partitionHash is null order by alarm.id")
+    List<String> findIdsWithoutPartitionHashAfter(@Param("afterId") String afterId, Limit limit);
+
+    /**
+     * Stream the next enabled alarms due at or before the given instant, earliest first.
+     * <p>
+     * This is an index range scan on {@code (enabled, next_fire_at)}.
+     *
+     * @param epochMilli the upper bound, in UTC epoch milliseconds.
+     * @param limit the maximum number of alarms to return.
+     * @return the due alarms.
+     */
+    Stream<AlarmTrigger> streamByEnabledIsTrueAndNextFireAtLessThanEqualOrderByNextFireAtAsc(Long epochMilli, Limit limit);
+
+    /**
+     * Find the next page of enabled alarms that were due at or before the given instant, in {@code (nextFireAt, id)}
+     * order.
+     * <p>
+     * This is a keyset scan: each page starts strictly after the last alarm of the previous page, so pages stay
+     * cheap however deep the scan goes, and alarms updated by previous pages are not visited twice.
+     *
+     * @param upTo the upper bound, in UTC epoch milliseconds.
+     * @param afterFireAt the {@code nextFireAt} of the last alarm of the previous page.
+     * @param afterId the id of the last alarm of the previous page.
+     * @param limit the page size.
+     * @return the page of missed alarms.
+     */
+    @Query(
+        "select alarm.id as id, alarm.nextFireAt as nextFireAt from Alarm alarm" +
+        " where alarm.enabled = true and alarm.nextFireAt <= :upTo" +
+        " and (alarm.nextFireAt > :afterFireAt or (alarm.nextFireAt = :afterFireAt and alarm.id > :afterId))" +
+        " order by alarm.nextFireAt asc, alarm.id asc"
+    )
+    List<AlarmTrigger> findMissedAfter(
+        @Param("upTo") Long upTo,
+        @Param("afterFireAt") Long afterFireAt,
+        @Param("afterId") String afterId,
+        Limit limit
+    );
+
+    /**
+     * Find the first page of the alarms of a user in {@code (alarmTime, id)} order, alarms without a time first.
+     *
+     * @param username the username of the {@link smartwake.domain.UserLogin} owning the alarms.
+     * @param afterId the id of the last alarm without a time of the previous page, or an empty string.
+     * @param limit the page size.
+     * @return the page of alarm summaries.
+     */
+    @Query(
+        "select alarm.id as id, alarm.time as time, alarm.alarmTime as alarmTime, alarm.enabled as enabled," +
+        " alarm.sound as sound, alarm.label as label, alarm.repeatMask as repeatMask, alarm.timeZone as timeZone," +
+        " alarm.snoozeEnabled as snoozeEnabled, alarm.snoozeDuration as snoozeDuration, alarm.nextFireAt as nextFireAt," +
+        " alarm.ringState as ringState, userLogin.id as userLoginId" +
+        " from Alarm alarm join alarm.userLogin userLogin where userLogin.username = :username" +
+        " and (alarm.alarmTime is not null or alarm.id > :afterId)" +
+        " order by alarm.alarmTime asc nulls first, alarm.id asc"
+    )
+    List<AlarmSummary> findAllOfOwnerFromStart(@Param("username") String username, @Param("afterId") String afterId, Limit limit);
+
+    /**
+     * Find the next page of the alarms of a user in {@code (alarmTime, id)} order.
+     * <p>
+     * This is a keyset scan on the {@code (user_login_id, alarm_time, id)} index: each page starts strictly after
+     * the last alarm of the previous page, so no page costs more than the first one, and no count is needed.
+     *
+     * @param username the username of the {@link smartwake.domain.UserLogin} owning the alarms.
+     * @param afterAlarmTime the {@code alarmTime} of the last alarm of the previous page.
+     * @param afterId the id of the last alarm of the previous page.
+     * @param limit the page size.
+     * @return the page of alarm summaries.
+     */
+    @Query(
+        "select alarm.id as id, alarm.time as time, alarm.alarmTime as alarmTime, alarm.enabled as enabled," +
+        " alarm.sound as sound, alarm.label as label, alarm.repeatMask as repeatMask, alarm.timeZone as timeZone," +
+        " alarm.snoozeEnabled as snoozeEnabled, alarm.snoozeDuration as snoozeDuration, alarm.nextFireAt as nextFireAt," +
+        " alarm.ringState as ringState, userLogin.id as userLoginId" +
+        " from Alarm alarm join alarm.userLogin userLogin where userLogin.username = :username" +
+        " and (alarm.alarmTime > :afterAlarmTime or (alarm.alarmTime = :afterAlarmTime and alarm.id > :afterId))" +
+        " order by alarm.alarmTime asc, alarm.id asc"
+    )
+    List<AlarmSummary> findAllOfOwnerAfter(
+        @Param("username") String username,
+        @Param("afterAlarmTime") ZonedDateTime afterAlarmTime,
+        @Param("afterId") String afterId,
+        Limit limit
+    );
+
+    /**
+     * Stream every alarm, for an export.
+     * <p>
+     * Rows are fetched from a forward-only cursor, {@value #EXPORT_FETCH_SIZE} at a time, and bypass the second-level
+     * cache; callers detach each alarm once written so that memory use does not grow with the table.
+     *
+     * @return the alarms, in no particular order.
+     */
+    @QueryHints(
+        {
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        }
+    )
+    @Query("select alarm from Alarm alarm")
+    Stream<Alarm> streamAllForExport();
+
+    /**
+     * Find the alarms of a user changed after the given position of their change sequence, in sequence order.
+     *
+     * @param userLoginId the id of the {@link smartwake.domain.UserLogin} owning the alarms.
+     * @param changeSeq the position of the last change already known.
+     * @param limit the maximum number of alarms to return.
+     * @return the changed alarms.
+     */
+    @Query(
+        "select alarm from Alarm alarm where alarm.userLogin.id = :userLoginId and alarm.changeSeq > :changeSeq" +
+        " order by alarm.changeSeq asc"
+    )
+    List<Alarm> findChangedAfter(@Param("userLoginId") Long userLoginId, @Param("changeSeq") Long changeSeq, Limit limit);
+
+    /**
+     * Write the ring state of an alarm, leaving its other columns as they are: the alarm may have been changed since
+     * its ring state was.
+     *
+     * @param id the id of the alarm.
+     * @param ringState the ring state.
+     * @param snoozedUntil when the alarm rings again, in UTC epoch milliseconds, or {@code null}.
+     * @return the number of alarms updated, {@code 0} if the alarm was deleted.
+     */
+    @Modifying
+    @Query("update Alarm alarm set alarm.ringState = :ringState, alarm.snoozedUntil = :snoozedUntil where alarm.id = :id")
+    int updateRingState(@Param("id") String id, @Param("ringState") RingState ringState, @Param("snoozedUntil") Long snoozedUntil);
+
+    @Query("select distinct alarm.userLogin.id from Alarm alarm where alarm.id in :ids")
+    List<Long> findOwnerIds(@Param("ids") Collection<String> ids);
+
+    @Query(
+        "select alarm.id as id, alarm.ringState as ringState, alarm.snoozedUntil as snoozedUntil," +
+        " alarm.snoozeEnabled as snoozeEnabled, alarm.snoozeDuration as snoozeDuration, userLogin.username as owner" +
+        " from Alarm alarm left join alarm.userLogin userLogin where alarm.ringState in :ringStates"
+    )
+    Stream<AlarmRing> streamByRingStateIn(@Param("ringStates") Collection<RingState> ringStates);
+
+    /**
+     * Projection of the columns needed to schedule an {@link Alarm}.
+     */
+    interface AlarmTrigger {
+        String getId();
+
+        Long getNextFireAt();
+    }
+
+    /**
+     * Projection of the columns needed to list the alarms of a user.
+     */
+    interface AlarmSummary {
+        String getId();
+
+        ZonedDateTime getTime();
+
+        ZonedDateTime getAlarmTime();
+
+        Boolean getEnabled();
+
+        String getSound();
+
+        String getLabel();
+
+        Integer getRepeatMask();
+
+        String getTimeZone();
+
+        Boolean getSnoozeEnabled();
+
+        Integer getSnoozeDuration();
+
+        Long getNextFireAt();
+
+        RingState getRingState();
+
+        Long getUserLoginId();
+    }
+
+    /**
+     * Projection of the columns needed to restore the ring state of an {@link Alarm}.
+     */
+    interface AlarmRing {
+        String getId();
+
+        RingState getRingState();
+
+        Long getSnoozedUntil();
+
+        Boolean getSnoozeEnabled();
+
+        Integer getSnoozeDuration();
+
+        String getOwner();
+    }
+}
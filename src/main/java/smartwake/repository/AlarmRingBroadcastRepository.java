@@ -0,0 +1,24 @@
+package smartwake.repository;
+
+import java.util.List;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import smartwake.domain.AlarmRingBroadcast;
+
+/**
+ * Spring Data JPA repository for the AlarmRingBroadcast entity.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface AlarmRingBroadcastRepository extends JpaRepository<AlarmRingBroadcast, Long> {
+    List<AlarmRingBroadcast> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @Query("select max(broadcast.id) from AlarmRingBroadcast broadcast")
+    Long findMaxId();
+
+    @Modifying
+    @Query("delete from AlarmRingBroadcast broadcast where broadcast.occurredAt < :before")
+    int deleteByOccurredAtBefore(@Param("before") Long before);
+}
@@ -0,0 +1,21 @@
+package smartwake.repository;
+
+import java.util.List;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import smartwake.domain.AlarmTombstone;
+
+/**
+ * Spring Data JPA repository for the AlarmTombstone entity.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface AlarmTombstoneRepository extends JpaRepository<AlarmTombstone, String> {
+    List<AlarmTombstone> findByUserLoginIdAndChangeSeqGreaterThanOrderByChangeSeqAsc(Long userLoginId, Long changeSeq, Limit limit);
+
+    @Modifying
+    @Query("delete from AlarmTombstone tombstone where tombstone.deletedAt < :before")
+    int deleteByDeletedAtBefore(@Param("before") Long before);
+}
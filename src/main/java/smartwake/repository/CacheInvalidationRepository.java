@@ -0,0 +1,24 @@
+package smartwake.repository;
+
+import java.util.List;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import smartwake.domain.CacheInvalidation;
+
+/**
+ * Spring Data JPA repository for the CacheInvalidation entity.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface CacheInvalidationRepository extends JpaRepository<CacheInvalidation, Long> {
+    List<CacheInvalidation> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @Query("select max(invalidation.id) from CacheInvalidation invalidation")
+    Long findMaxId();
+
+    @Modifying
+    @Query("delete from CacheInvalidation invalidation where invalidation.createdAt < :before")
+    int deleteByCreatedAtBefore(@Param("before") Long before);
+}
@@ -0,0 +1,48 @@
+package smartwake.repository;
+
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import smartwake.domain.RefreshToken;
+
+/**
+ * Spring Data JPA repository for the RefreshToken entity.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, String> {
+    @Query("select token from RefreshToken token join fetch token.user user left join fetch user.authorities where token.tokenHash = :tokenHash")
+    Optional<RefreshToken> findOneWithUserByTokenHash(@Param("tokenHash") String tokenHash);
+
+    /**
+     * Find the logins of the users holding a valid refresh token, those who signed in or refreshed last first.
+     */
+    @Query(
+        "select token.user.login from RefreshToken token where token.expiresAt > :now group by token.user.login order by max(token.expiresAt) desc"
+    )
+    List<String> findRecentlyActiveLogins(@Param("now") Long now, Limit limit);
+
+    /**
+     * Mark a token as used, unless it already was.
+     *
+     * @return {@code 1} if the token was marked, {@code 0} if it was already used.
+     */
+    @Modifying
+    @Query("update RefreshToken token set token.usedAt = :usedAt where token.tokenHash = :tokenHash and token.usedAt is null")
+    int markUsed(@Param("tokenHash") String tokenHash, @Param("usedAt") Long usedAt);
+
+    @Modifying
+    @Query("delete from RefreshToken token where token.familyId = :familyId")
+    int deleteByFamilyId(@Param("familyId") String familyId);
+
+    @Modifying
+    @Query("delete from RefreshToken token where token.user.id = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("delete from RefreshToken token where token.expiresAt < :before")
+    int deleteByExpiresAtBefore(@Param("before") Long before);
+}
@@ -0,0 +1,20 @@
+package smartwake.repository;
+
+import java.util.List;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import smartwake.domain.TokenRevocation;
+
+/**
+ * Spring Data JPA repository for the TokenRevocation entity.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, String> {
+    List<TokenRevocation> findByRevokedAtGreaterThanEqual(Long revokedAt);
+
+    @Modifying
+    @Query("delete from TokenRevocation revocation where revocation.expiresAt < :before")
+    int deleteByExpiresAtBefore(@Param("before") Long before);
+}
@@ -0,0 +1,111 @@
+package smartwake.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * {@link PasswordEncoder} running a slow delegate, such as BCrypt, on a dedicated bounded pool.
+ * <p>
+ * Callers still wait for the result, but at most {@code threads} hashes run at once whatever the number of request
+ * threads, so a burst of logins queues here instead of taking the CPU from the rest of the API. Once
+ * {@code queueCapacity} callers are waiting, further ones fail fast with a {@link PasswordHashingRejectedException}.
+ * The time spent waiting and hashing is measured per operation, next to the queue depth and the rejections.
+ */
+public final class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    public static final String HASHING_METER_NAME = "security.password.hashing";
+    public static final String QUEUE_METER_NAME = "security.password.hashing.queue";
+    public static final String REJECTED_METER_NAME = "security.password.hashing.rejected";
+
+    private final PasswordEncoder delegate;
+
+    private final ThreadPoolExecutor executor;
+
+    private final Timer encodeTimer;
+
+    private final Timer matchesTimer;
+
+    private final Counter rejectedCounter;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        BlockingQueue<Runnable> queue = new ArrayBlockingQueue<>(queueCapacity);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, queue, runnable -> {
+            Thread thread = new Thread(runnable, "password-hashing-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.encodeTimer = hashingTimer("encode").register(meterRegistry);
+        this.matchesTimer = hashingTimer("matches").register(meterRegistry);
+        this.rejectedCounter = Counter.builder(REJECTED_METER_NAME)
+            .description("Number of password hashes rejected because the hashing queue was full")
+            .register(meterRegistry);
+        Gauge.builder(QUEUE_METER_NAME, queue, BlockingQueue::size)
+            .description("Number of password hashes waiting for a hashing thread")
+            .register(meterRegistry);
+    }
+
+    private static Timer.Builder hashingTimer(String operation) {
+        return Timer.builder(HASHING_METER_NAME)
+            .description("Time spent waiting for and computing password hashes")
+            .tag("operation", operation);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(encodeTimer, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T run(Timer timer, Callable<T> hashing) {
+        Timer.Sample sample = Timer.start();
+        Future<T> result;
+        try {
+            result = executor.submit(hashing);
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new PasswordHashingRejectedException();
+        }
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a password hash", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            sample.stop(timer);
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
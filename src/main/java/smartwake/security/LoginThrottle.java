@@ -0,0 +1,125 @@
+package smartwake.security;
+
+import java.util.Locale;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import smartwake.config.ApplicationProperties;
+
+/**
+ * Throttles password authentication by login and by client address, once either had too many failed attempts over
+ * a sliding window.
+ * <p>
+ * Attempts are checked before the user is looked up or the password hashed, so a throttled attempt costs a couple of
+ * in-memory lookups. An attempt that passes the check is counted as a failure at once, so that concurrent attempts
+ * cannot all pass the check before any of them failed; a successful authentication refunds it, and clears the
+ * failures of its login, but not those of its address.
+ * <p>
+ * Throttling by address is disabled unless {@code loginFailuresPerAddress} is set: behind a reverse proxy, the
+ * client address is only known once forwarded headers are resolved.
+ */
+@Component
+public class LoginThrottle {
+
+    /**
+     * What an attempt was throttled by.
+     */
+    public enum Scope {
+        LOGIN,
+        ADDRESS,
+    }
+
+    private final Logger log = LoggerFactory.getLogger(LoginThrottle.class);
+
+    private final ApplicationProperties.Security properties;
+
+    private final SlidingWindowCounter loginFailures;
+
+    private final SlidingWindowCounter addressFailures;
+
+    public LoginThrottle(ApplicationProperties applicationProperties) {
+        this.properties = applicationProperties.getSecurity();
+        long windowMillis = properties.getLoginThrottleWindowSeconds() * 1000;
+        this.loginFailures = new SlidingWindowCounter(windowMillis, properties.getLoginThrottleStripes());
+        this.addressFailures = new SlidingWindowCounter(windowMillis, properties.getLoginThrottleStripes());
+    }
+
+    /**
+     * An attempt that passed the check, counted as a failure of its login and of its address.
+     *
+     * @param login the normalized login of the attempt.
+     * @param address the client address of the attempt, {@code null} if attempts are not throttled by address.
+     * @param at when the attempt was counted.
+     */
+    public record Attempt(String login, String address, long at) {}
+
+    /**
+     * Check whether an attempt may proceed, and count it as a failure if it does.
+     *
+     * @param login the login, or email, of the attempt.
+     * @param address the client address of the attempt.
+     * @return the counted attempt.
+     * @throws LoginThrottledException if the address, or the login, had too many failed attempts.
+     */
+    public Attempt reserve(String login, String address) {
+        long now = System.currentTimeMillis();
+        String normalized = normalize(login);
+        String counted = byAddress() ? address : null;
+        if (counted != null && !addressFailures.incrementIfBelow(counted, now, properties.getLoginFailuresPerAddress())) {
+            throw new LoginThrottledException(Scope.ADDRESS);
+        }
+        if (!loginFailures.incrementIfBelow(normalized, now, properties.getLoginFailuresPerLogin())) {
+            if (counted != null) {
+                addressFailures.decrement(counted, now, now);
+            }
+            throw new LoginThrottledException(Scope.LOGIN);
+        }
+        return new Attempt(normalized, counted, now);
+    }
+
+    /**
+     * Take back an attempt that neither succeeded nor failed, such as one that could not be checked.
+     *
+     * @param attempt the attempt.
+     */
+    public void refund(Attempt attempt) {
+        long now = System.currentTimeMillis();
+        loginFailures.decrement(attempt.login(), attempt.at(), now);
+        if (attempt.address() != null) {
+            addressFailures.decrement(attempt.address(), attempt.at(), now);
+        }
+    }
+
+    /**
+     * Take back a successful attempt, and clear the failures of its login.
+     *
+     * @param attempt the attempt.
+     */
+    public void recordSuccess(Attempt attempt) {
+        loginFailures.reset(attempt.login());
+        if (attempt.address() != null) {
+            addressFailures.decrement(attempt.address(), attempt.at(), System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Logins and addresses without failures for two windows are forgotten regularly.
+     */
+    @Scheduled(fixedDelayString = "${application.security.login-throttle-evict-millis:300000}")
+    public void evictIdle() {
+        long now = System.currentTimeMillis();
+        int evicted = loginFailures.evictIdle(now) + addressFailures.evictIdle(now);
+        if (evicted > 0) {
+            log.debug("Evicted {} idle login throttles", evicted);
+        }
+    }
+
+    private boolean byAddress() {
+        return properties.getLoginFailuresPerAddress() > 0;
+    }
+
+    private static String normalize(String login) {
+        return login.toLowerCase(Locale.ENGLISH);
+    }
+}
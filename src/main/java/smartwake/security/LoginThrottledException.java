@@ -0,0 +1,24 @@
+package smartwake.security;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * This exception is thrown when a login, or a client address, had too many failed authentications recently.
+ */
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class LoginThrottledException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final LoginThrottle.Scope scope;
+
+    public LoginThrottledException(LoginThrottle.Scope scope) {
+        super("Too many failed authentications, try again later");
+        this.scope = scope;
+    }
+
+    public LoginThrottle.Scope getScope() {
+        return scope;
+    }
+}
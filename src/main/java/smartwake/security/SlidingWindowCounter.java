@@ -0,0 +1,134 @@
+package smartwake.security;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Counts events per key over a sliding window, with a fixed memory per key.
+ * <p>
+ * Each key keeps the count of the current fixed window and of the previous one; the count over the sliding window is
+ * estimated by weighting the previous count by the part of the previous window still covered. Keys are spread over
+ * independently locked stripes, and keys without events for two windows are evicted by {@link #evictIdle(long)}.
+ */
+final class SlidingWindowCounter {
+
+    private final long windowMillis;
+
+    private final Stripe[] stripes;
+
+    /**
+     * @param windowMillis the length of the sliding window.
+     * @param stripes the number of stripes, rounded up to a power of two.
+     */
+    SlidingWindowCounter(long windowMillis, int stripes) {
+        this.windowMillis = windowMillis;
+        int count = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            this.stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * Count an event of a key, unless the key already reached a limit over the window ending now. The check and the
+     * count are made under the same lock, so concurrent callers cannot all pass the check.
+     *
+     * @return {@code true} if the event was counted, {@code false} if the key reached the limit.
+     */
+    boolean incrementIfBelow(String key, long now, double limit) {
+        Stripe stripe = stripe(key);
+        synchronized (stripe) {
+            Window window = stripe.windows.get(key);
+            if (window != null && window.roll(now, windowMillis).estimate(now, windowMillis) >= limit) {
+                return false;
+            }
+            stripe.windows.computeIfAbsent(key, k -> new Window(now - now % windowMillis)).roll(now, windowMillis).current++;
+            return true;
+        }
+    }
+
+    /**
+     * Take back an event counted at a given time, from the window it was counted in if that window is still kept.
+     */
+    void decrement(String key, long countedAt, long now) {
+        Stripe stripe = stripe(key);
+        synchronized (stripe) {
+            Window window = stripe.windows.get(key);
+            if (window == null) {
+                return;
+            }
+            window.roll(now, windowMillis);
+            if (countedAt >= window.start) {
+                window.current = Math.max(0, window.current - 1);
+            } else if (countedAt >= window.start - windowMillis) {
+                window.previous = Math.max(0, window.previous - 1);
+            }
+        }
+    }
+
+    void reset(String key) {
+        Stripe stripe = stripe(key);
+        synchronized (stripe) {
+            stripe.windows.remove(key);
+        }
+    }
+
+    /**
+     * Remove the keys without events for two windows.
+     *
+     * @return the number of removed keys.
+     */
+    int evictIdle(long now) {
+        int evicted = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                Iterator<Window> windows = stripe.windows.values().iterator();
+                while (windows.hasNext()) {
+                    if (windows.next().start + 2 * windowMillis <= now) {
+                        windows.remove();
+                        evicted++;
+                    }
+                }
+            }
+        }
+        return evicted;
+    }
+
+    private Stripe stripe(String key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+
+    private static final class Stripe {
+
+        private final Map<String, Window> windows = new HashMap<>();
+    }
+
+    private static final class Window {
+
+        private long start;
+
+        private int previous;
+
+        private int current;
+
+        private Window(long start) {
+            this.start = start;
+        }
+
+        private Window roll(long now, long windowMillis) {
+            if (now >= start + windowMillis) {
+                previous = now < start + 2 * windowMillis ? current : 0;
+                current = 0;
+                start = now - now % windowMillis;
+            }
+            return this;
+        }
+
+        private double estimate(long now, long windowMillis) {
+            double previousWeight = 1 - (double) (now - start) / windowMillis;
+            return previous * previousWeight + current;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package smartwake.security;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import smartwake.config.ApplicationProperties;
+import smartwake.domain.TokenRevocation;
+import smartwake.repository.TokenRevocationRepository;
+
+/**
+ * Revoked access tokens, checked on every authenticated request without a database access.
+ * <p>
+ * Revocations are stored as {@link TokenRevocation}s, and held in memory by every node: a Bloom filter of the subjects
+ * of the revoked tokens clears the tokens of almost every other user with a single probe, and the exact revocations
+ * decide for the rest. Each node loads all revocations on its first refresh, reads the recent ones again regularly to
+ * pick up those made through other nodes, and rebuilds its filter once the expired ones are purged.
+ */
+@Component
+public class TokenRevocationStore {
+
+    private static final String TOKEN_PREFIX = "token:";
+
+    private static final String USER_PREFIX = "user:";
+
+    // revocations made through other nodes may commit a little after they were stamped
+    private static final long REFRESH_OVERLAP_MILLIS = 60_000;
+
+    private final Logger log = LoggerFactory.getLogger(TokenRevocationStore.class);
+
+    private final TokenRevocationRepository tokenRevocationRepository;
+
+    private final ApplicationProperties.Security properties;
+
+    private final long maxTokenValidityMillis;
+
+    private volatile Revocations revocations;
+
+    private volatile long lastRefresh;
+
+    private volatile boolean loaded;
+
+    public TokenRevocationStore(
+        TokenRevocationRepository tokenRevocationRepository,
+        ApplicationProperties applicationProperties,
+        @Value("${jhipster.security.authentication.jwt.token-validity-in-seconds:0}") long tokenValidityInSeconds,
+        @Value("${jhipster.security.authentication.jwt.token-validity-in-seconds-for-remember-me:0}") long tokenValidityInSecondsForRememberMe
+    ) {
+        this.tokenRevocationRepository = tokenRevocationRepository;
+        this.properties = applicationProperties.getSecurity();
+        this.maxTokenValidityMillis = Math.max(tokenValidityInSeconds, tokenValidityInSecondsForRememberMe) * 1000;
+        this.revocations = new Revocations(properties);
+    }
+
+    /**
+     * Load all the revocations, replacing those held in memory.
+     */
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        Revocations rebuilt = new Revocations(properties);
+        tokenRevocationRepository.findAll().forEach(rebuilt::add);
+        revocations = rebuilt;
+        lastRefresh = start;
+        loaded = true;
+        log.debug("Loaded {} token revocations", rebuilt.revokedAt.size());
+    }
+
+    /**
+     * Check whether a token was revoked.
+     *
+     * @param jwt the verified token.
+     * @return {@code true} if the token, or all the tokens of its subject issued up to its issue time, were revoked.
+     */
+    public boolean isRevoked(Jwt jwt) {
+        String subject = jwt.getSubject();
+        Revocations current = revocations;
+        if (subject == null || !current.subjects.mightContain(subject)) {
+            return false;
+        }
+        if (jwt.getId() != null && current.revokedAt.containsKey(TOKEN_PREFIX + jwt.getId())) {
+            return true;
+        }
+        Long userRevokedAt = current.revokedAt.get(USER_PREFIX + subject);
+        // issue times are in seconds, so a token issued in the second of the revocation is revoked with it
+        return userRevokedAt != null && jwt.getIssuedAt() != null && jwt.getIssuedAt().getEpochSecond() <= userRevokedAt / 1000;
+    }
+
+    /**
+     * Revoke a token, until it expires.
+     *
+     * @param jwt the token.
+     */
+    public void revokeToken(Jwt jwt) {
+        if (jwt.getId() == null || jwt.getSubject() == null) {
+            return;
+        }
+        long expiresAt = jwt.getExpiresAt() != null ? jwt.getExpiresAt().toEpochMilli() : System.currentTimeMillis() + maxTokenValidityMillis;
+        revoke(TOKEN_PREFIX + jwt.getId(), jwt.getSubject(), expiresAt);
+    }
+
+    /**
+     * Revoke all the tokens issued to a user so far.
+     *
+     * @param login the login of the user.
+     */
+    public void revokeUser(String login) {
+        revoke(USER_PREFIX + login, login, System.currentTimeMillis() + maxTokenValidityMillis);
+    }
+
+    private void revoke(String revocationKey, String subject, long expiresAt) {
+        TokenRevocation revocation = tokenRevocationRepository.save(
+            new TokenRevocation().revocationKey(revocationKey).subject(subject).revokedAt(System.currentTimeMillis()).expiresAt(expiresAt)
+        );
+        revocations.add(revocation);
+    }
+
+    /**
+     * Pick up the revocations made through other nodes.
+     * <p>
+     * The first refresh loads all the revocations instead: on startup, the schema may still be migrated in the
+     * background, so the store stays empty until the revocations can be read.
+     */
+    @Scheduled(fixedDelayString = "${application.security.revocation-refresh-millis:5000}")
+    public void refresh() {
+        if (!loaded) {
+            try {
+                rebuild();
+            } catch (DataAccessException e) {
+                log.debug("Could not load the token revocations yet: {}", e.getMessage());
+            }
+            return;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            Revocations current = revocations;
+            tokenRevocationRepository.findByRevokedAtGreaterThanEqual(lastRefresh - REFRESH_OVERLAP_MILLIS).forEach(current::add);
+            lastRefresh = start;
+        } catch (DataAccessException e) {
+            log.warn("Could not read the token revocations: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Revocations of tokens that have all expired are deleted regularly, and the Bloom filter rebuilt without them.
+     */
+    @Scheduled(fixedDelayString = "${application.security.revocation-purge-millis:3600000}")
+    @Transactional
+    public void purge() {
+        int purged = tokenRevocationRepository.deleteByExpiresAtBefore(Instant.now().toEpochMilli());
+        if (purged > 0) {
+            log.debug("Purged {} token revocations", purged);
+        }
+        rebuild();
+    }
+
+    private static final class Revocations {
+
+        private final BloomFilter subjects;
+
+        private final Map<String, Long> revokedAt = new ConcurrentHashMap<>();
+
+        private Revocations(ApplicationProperties.Security properties) {
+            this.subjects = new BloomFilter(properties.getRevocationExpectedEntries(), properties.getRevocationFalsePositiveProbability());
+        }
+
+        private void add(TokenRevocation revocation) {
+            revokedAt.merge(revocation.getRevocationKey(), revocation.getRevokedAt(), Math::max);
+            subjects.put(revocation.getSubject());
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package smartwake.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+/**
+ * Bounded cache of the tokens already verified by the {@link org.springframework.security.oauth2.jwt.JwtDecoder}.
+ * <p>
+ * Tokens are keyed by their SHA-256 hash, so the cache never holds a usable token. An entry is never returned past the
+ * expiry of its token, and tokens without an expiry are not cached. Once the cache is full, each put visits at most
+ * {@value #EVICTION_BATCH_SIZE} entries to drop the expired ones and, if it is still full, drops arbitrary entries: a
+ * dropped token is only verified again. Expired entries outside of that batch are dropped when they are read.
+ */
+public final class VerifiedJwtCache {
+
+    private static final int EVICTION_BATCH_SIZE = 32;
+
+    private final Map<String, Jwt> jwts = new ConcurrentHashMap<>();
+
+    private final int maxSize;
+
+    private final Clock clock;
+
+    public VerifiedJwtCache(int maxSize) {
+        this(maxSize, Clock.systemUTC());
+    }
+
+    public VerifiedJwtCache(int maxSize, Clock clock) {
+        this.maxSize = maxSize;
+        this.clock = clock;
+    }
+
+    /**
+     * Get the verified {@link Jwt} of a token.
+     *
+     * @param token the token.
+     * @return the verified {@link Jwt}, or {@code null} if the token was not verified or expired since.
+     */
+    public Jwt get(String token) {
+        if (maxSize <= 0) {
+            return null;
+        }
+        String key = hash(token);
+        Jwt jwt = jwts.get(key);
+        if (jwt == null) {
+            return null;
+        }
+        if (isExpired(jwt, clock.instant())) {
+            jwts.remove(key, jwt);
+            return null;
+        }
+        return jwt;
+    }
+
+    /**
+     * Cache the verified {@link Jwt} of a token until it expires.
+     *
+     * @param jwt the verified {@link Jwt}.
+     */
+    public void put(Jwt jwt) {
+        Instant now = clock.instant();
+        if (maxSize <= 0 || jwt.getExpiresAt() == null || isExpired(jwt, now)) {
+            return;
+        }
+        if (jwts.size() >= maxSize) {
+            Iterator<Jwt> cached = jwts.values().iterator();
+            for (int visited = 0; visited < EVICTION_BATCH_SIZE && cached.hasNext(); visited++) {
+                if (isExpired(cached.next(), now)) {
+                    cached.remove();
+                }
+            }
+            Iterator<String> keys = jwts.keySet().iterator();
+            while (jwts.size() >= maxSize && keys.hasNext()) {
+                keys.next();
+                keys.remove();
+            }
+        }
+        jwts.put(hash(jwt.getTokenValue()), jwt);
+    }
+
+    public int size() {
+        return jwts.size();
+    }
+
+    private static boolean isExpired(Jwt jwt, Instant now) {
+        return !now.isBefore(jwt.getExpiresAt());
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
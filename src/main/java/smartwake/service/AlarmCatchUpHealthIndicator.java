@@ -0,0 +1,33 @@
+package smartwake.service;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports the progress of the {@link AlarmCatchUpService} in the readiness group.
+ * <p>
+ * The application can serve requests while it catches up, so this indicator is always up.
+ */
+@Component
+public class AlarmCatchUpHealthIndicator implements HealthIndicator {
+
+    private final AlarmCatchUpService alarmCatchUpService;
+
+    public AlarmCatchUpHealthIndicator(AlarmCatchUpService alarmCatchUpService) {
+        this.alarmCatchUpService = alarmCatchUpService;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = Health.up()
+            .withDetail("state", alarmCatchUpService.getState())
+            .withDetail("batches", alarmCatchUpService.getBatchCount())
+            .withDetail("fired", alarmCatchUpService.getFiredCount())
+            .withDetail("skipped", alarmCatchUpService.getSkippedCount());
+        if (alarmCatchUpService.getUpTo() != null) {
+            builder.withDetail("upTo", alarmCatchUpService.getUpTo().toString());
+        }
+        return builder.build();
+    }
+}
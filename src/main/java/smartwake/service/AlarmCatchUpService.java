@@ -0,0 +1,178 @@
+package smartwake.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import smartwake.config.ApplicationProperties;
+import smartwake.repository.AlarmRepository;
+import smartwake.service.alarm.AlarmAdmissionController;
+import smartwake.service.alarm.AlarmFiredEvent;
+import smartwake.service.alarm.AlarmPartitionService;
+import smartwake.service.alarm.AlarmsLoadedEvent;
+
+/**
+ * Catches up on the alarms that were missed while the application was down, or while their bucket had no owner.
+ * <p>
+ * Each time the {@link smartwake.service.alarm.AlarmDispatcher} has loaded upcoming alarms, the missed ones are
+ * scanned in {@code (nextFireAt, id)} keyset order, one batch per transaction, so that a large backlog only ever
+ * holds a single connection for a short time. Alarms missed by less than {@code tooLateMillis} are fired late,
+ * the others are not fired at all; in both cases their recurrence is advanced past the current time.
+ * <p>
+ * The catch-up runs asynchronously and does not delay readiness; its progress is reported by the
+ * {@link AlarmCatchUpHealthIndicator}.
+ */
+@Service
+public class AlarmCatchUpService {
+
+    public enum State {
+        PENDING,
+        RUNNING,
+        DONE,
+        FAILED,
+    }
+
+    private final Logger log = LoggerFactory.getLogger(AlarmCatchUpService.class);
+
+    private final AlarmRepository alarmRepository;
+
+    private final AlarmService alarmService;
+
+    private final AlarmAdmissionController admissionController;
+
+    private final AlarmPartitionService partitionService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties.CatchUp properties;
+
+    private final AtomicLong batchCount = new AtomicLong();
+
+    private final AtomicLong firedCount = new AtomicLong();
+
+    private final AtomicLong skippedCount = new AtomicLong();
+
+    private volatile State state = State.PENDING;
+
+    private volatile Instant upTo;
+
+    public AlarmCatchUpService(
+        AlarmRepository alarmRepository,
+        AlarmService alarmService,
+        AlarmAdmissionController admissionController,
+        AlarmPartitionService partitionService,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this.alarmRepository = alarmRepository;
+        this.alarmService = alarmService;
+        this.admissionController = admissionController;
+        this.partitionService = partitionService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = applicationProperties.getCatchUp();
+    }
+
+    @Async
+    @EventListener
+    public void onAlarmsLoaded(AlarmsLoadedEvent event) {
+        catchUp(event.loadedAfter());
+    }
+
+    /**
+     * Catch up on every enabled alarm owned by this node with a {@code nextFireAt} at or before the given instant.
+     *
+     * @param upTo the instant up to which alarms were missed.
+     */
+    public synchronized void catchUp(Instant upTo) {
+        this.upTo = upTo;
+        if (!properties.isEnabled()) {
+            state = State.DONE;
+            return;
+        }
+        state = State.RUNNING;
+        log.debug("Catching up on alarms missed before {}", upTo);
+        try {
+            Batch batch = new Batch(Long.MIN_VALUE, "", List.of(), 0, 0);
+            do {
+                Batch previous = batch;
+                batch = transactionTemplate.execute(status -> processBatch(previous.lastFireAt(), previous.lastId()));
+                batchCount.incrementAndGet();
+                batch.due().forEach(admissionController::submit);
+                firedCount.addAndGet(batch.due().size());
+                skippedCount.addAndGet(batch.skipped());
+                if (batch.size() == properties.getBatchSize() && properties.getBatchPauseMillis() > 0) {
+                    Thread.sleep(properties.getBatchPauseMillis());
+                }
+            } while (batch.size() == properties.getBatchSize());
+            state = State.DONE;
+            log.info("Caught up on missed alarms: {} fired late, {} skipped", firedCount.get(), skippedCount.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            state = State.FAILED;
+        } catch (RuntimeException e) {
+            state = State.FAILED;
+            log.error("Could not catch up on missed alarms", e);
+        }
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public Instant getUpTo() {
+        return upTo;
+    }
+
+    public long getBatchCount() {
+        return batchCount.get();
+    }
+
+    public long getFiredCount() {
+        return firedCount.get();
+    }
+
+    public long getSkippedCount() {
+        return skippedCount.get();
+    }
+
+    private Batch processBatch(long afterFireAt, String afterId) {
+        List<AlarmRepository.AlarmTrigger> triggers = alarmRepository.findMissedAfter(
+            upTo.toEpochMilli(),
+            afterFireAt,
+            afterId,
+            Limit.of(properties.getBatchSize())
+        );
+        if (triggers.isEmpty()) {
+            return new Batch(afterFireAt, afterId, List.of(), 0, 0);
+        }
+        Instant now = Instant.now();
+        long tooLateBefore = now.toEpochMilli() - properties.getTooLateMillis();
+        List<AlarmFiredEvent> due = new ArrayList<>();
+        List<String> tooLate = new ArrayList<>();
+        for (AlarmRepository.AlarmTrigger trigger : triggers) {
+            if (!partitionService.owns(trigger.getId())) {
+                continue;
+            }
+            if (trigger.getNextFireAt() >= tooLateBefore) {
+                due.add(new AlarmFiredEvent(trigger.getId(), Instant.ofEpochMilli(trigger.getNextFireAt())));
+            } else {
+                tooLate.add(trigger.getId());
+            }
+        }
+        if (!tooLate.isEmpty()) {
+            alarmService.skipMissed(tooLate, now);
+        }
+        AlarmRepository.AlarmTrigger last = triggers.get(triggers.size() - 1);
+        return new Batch(last.getNextFireAt(), last.getId(), due, tooLate.size(), triggers.size());
+    }
+
+    private record Batch(long lastFireAt, String lastId, List<AlarmFiredEvent> due, int skipped, int size) {}
+}
@@ -0,0 +1,443 @@
+package smartwake.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import smartwake.domain.Alarm;
+import smartwake.domain.AlarmTombstone;
+import smartwake.domain.UserLogin;
+import smartwake.repository.AlarmRepository;
+import smartwake.service.alarm.AlarmDispatcher;
+import smartwake.service.alarm.AlarmFiredEvent;
+import smartwake.service.alarm.AlarmRingService;
+import smartwake.service.alarm.NextFireCalculator;
+import smartwake.service.dto.AlarmBulkOperationDTO;
+import smartwake.service.dto.AlarmBulkResultDTO;
+import smartwake.service.dto.AlarmDTO;
+import smartwake.service.dto.AlarmSummaryDTO;
+import smartwake.service.dto.UserLoginDTO;
+import smartwake.service.mapper.AlarmMapper;
+
+/**
+ * Service Implementation for managing {@link smartwake.domain.Alarm}.
+ * <p>
+ * Every write goes through this service, so that {@link Alarm#getNextFireAt()} and the {@link AlarmDispatcher}
+ * stay in sync with the database.
+ */
+@Service
+@Transactional
+public class AlarmService {
+
+    private final Logger log = LoggerFactory.getLogger(AlarmService.class);
+
+    private final AlarmRepository alarmRepository;
+
+    private final AlarmDispatcher alarmDispatcher;
+
+    private final AlarmRingService alarmRingService;
+
+    private final AlarmSyncService alarmSyncService;
+
+    private final AlarmVersionService alarmVersionService;
+
+    private final CacheInvalidationService cacheInvalidationService;
+
+    private final AlarmMapper alarmMapper;
+
+    private final Validator validator;
+
+    private final EntityManager entityManager;
+
+    public AlarmService(
+        AlarmRepository alarmRepository,
+        AlarmDispatcher alarmDispatcher,
+        AlarmRingService alarmRingService,
+        AlarmSyncService alarmSyncService,
+        AlarmVersionService alarmVersionService,
+        CacheInvalidationService cacheInvalidationService,
+        AlarmMapper alarmMapper,
+        Validator validator,
+        EntityManager entityManager
+    ) {
+        this.alarmRepository = alarmRepository;
+        this.alarmVersionService = alarmVersionService;
+        this.cacheInvalidationService = cacheInvalidationService;
+        this.alarmMapper = alarmMapper;
+        this.alarmDispatcher = alarmDispatcher;
+        this.alarmRingService = alarmRingService;
+        this.alarmSyncService = alarmSyncService;
+        this.validator = validator;
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Save a alarm.
+     *
+     * @param alarmDTO the entity to save.
+     * @return the persisted entity.
+     */
+    public AlarmDTO save(AlarmDTO alarmDTO) {
+        log.debug("Request to save Alarm : {}", alarmDTO);
+        return alarmMapper.toDto(persist(alarmMapper.toEntity(alarmDTO)));
+    }
+
+    /**
+     * Update a alarm.
+     * <p>
+     * The fields of the DTO are copied onto the stored alarm, whose ring state is not part of the DTO and is kept.
+     *
+     * @param alarmDTO the entity to save.
+     * @return the persisted entity.
+     */
+    public AlarmDTO update(AlarmDTO alarmDTO) {
+        log.debug("Request to update Alarm : {}", alarmDTO);
+        Alarm alarm = alarmRepository.findById(alarmDTO.getId()).orElseThrow();
+        Long previousOwner = ownerOf(alarm);
+        alarmMapper.update(alarm, alarmDTO);
+        changeOwner(alarm, alarmDTO.getUserLogin());
+        if (previousOwner != null && !previousOwner.equals(ownerOf(alarm))) {
+            alarmSyncService.removed(alarm.getId(), previousOwner);
+        }
+        return alarmMapper.toDto(persist(alarm));
+    }
+
+    /**
+     * Partially update a alarm.
+     *
+     * @param alarmDTO the entity to update partially.
+     * @return the persisted entity.
+     */
+    public Optional<AlarmDTO> partialUpdate(AlarmDTO alarmDTO) {
+        log.debug("Request to partially update Alarm : {}", alarmDTO);
+
+        return alarmRepository
+            .findById(alarmDTO.getId())
+            .map(existingAlarm -> {
+                alarmMapper.partialUpdate(existingAlarm, alarmDTO);
+                return existingAlarm;
+            })
+            .map(this::persist)
+            .map(alarmMapper::toDto);
+    }
+
+    /**
+     * Get a page of the alarms of a user, in {@code (alarmTime, id)} order with the alarms without a time first.
+     * <p>
+     * Pages are addressed by the last alarm of the previous page rather than by number, see
+     * {@link AlarmRepository#findAllOfOwnerAfter}.
+     *
+     * @param username the username of the owner of the alarms.
+     * @param afterAlarmTime the alarm time of the last alarm of the previous page, {@code null} if it has none.
+     * @param afterId the id of the last alarm of the previous page, {@code null} for the first page.
+     * @param size the page size.
+     * @return the list of alarm summaries, read without loading the entities.
+     */
+    @Transactional(readOnly = true)
+    public List<AlarmSummaryDTO> findAllOfOwner(String username, ZonedDateTime afterAlarmTime, String afterId, int size) {
+        log.debug("Request to get Alarms of {} after {}, {}", username, afterAlarmTime, afterId);
+        if (afterAlarmTime != null) {
+            return alarmMapper.toSummaryDto(alarmRepository.findAllOfOwnerAfter(username, afterAlarmTime, afterId, Limit.of(size)));
+        }
+        return alarmMapper.toSummaryDto(alarmRepository.findAllOfOwnerFromStart(username, afterId != null ? afterId : "", Limit.of(size)));
+    }
+
+    /**
+     * Get one alarm by id.
+     *
+     * @param id the id of the entity.
+     * @return the entity.
+     */
+    @Transactional(readOnly = true)
+    public Optional<AlarmDTO> findOne(String id) {
+        log.debug("Request to get Alarm : {}", id);
+        return alarmRepository.findById(id).map(alarmMapper::toDto);
+    }
+
+    /**
+     * Delete the alarm by id.
+     *
+     * @param id the id of the entity.
+     */
+    public void delete(String id) {
+        log.debug("Request to delete Alarm : {}", id);
+        alarmRepository
+            .findById(id)
+            .ifPresent(alarm -> {
+                alarmSyncService.removed(id, ownerOf(alarm));
+                alarmRepository.delete(alarm);
+                changedOnOtherNodes(alarm);
+            });
+        alarmDispatcher.cancel(id);
+        alarmRingService.forget(id);
+    }
+
+    /**
+     * Apply a list of create, update, patch and delete operations in a single transaction.
+     * <p>
+     * The alarms to update, patch or delete are loaded with a single query, and the inserts, updates and deletes
+     * are flushed together at commit time, so that Hibernate sends them in JDBC batches. Operations are applied in
+     * order; an invalid operation is reported in its result and does not prevent the others from being applied.
+     *
+     * @param operations the operations.
+     * @return the result of each operation, in the same order.
+     */
+    public List<AlarmBulkResultDTO> bulk(List<AlarmBulkOperationDTO> operations) {
+        log.debug("Request to apply {} Alarm operations", operations.size());
+        Set<String> ids = new HashSet<>();
+        for (AlarmBulkOperationDTO operation : operations) {
+            String id = targetId(operation);
+            if (id != null && operation.getAction() != AlarmBulkOperationDTO.Action.CREATE) {
+                ids.add(id);
+            }
+        }
+        Map<String, Alarm> existing = new HashMap<>();
+        alarmRepository.findAllById(ids).forEach(alarm -> existing.put(alarm.getId(), alarm));
+
+        Instant now = Instant.now();
+        BulkChanges changes = new BulkChanges();
+        List<AlarmBulkResultDTO> results = new ArrayList<>(operations.size());
+        for (int index = 0; index < operations.size(); index++) {
+            results.add(apply(index, operations.get(index), existing, changes, now));
+        }
+
+        // created alarms are persisted once their change sequence is known, so that each one costs a single insert
+        List<Alarm> changed = new ArrayList<>(changes.updated.values());
+        changes.created.forEach(created -> changed.add(created.alarm()));
+        alarmSyncService.record(changed, changes.removed);
+        changes.updated.values().forEach(this::changedOnOtherNodes);
+        for (Created created : changes.created) {
+            Alarm alarm = alarmRepository.save(created.alarm());
+            alarmDispatcher.schedule(alarm);
+            created.result().setId(alarm.getId());
+        }
+        return results;
+    }
+
+    /**
+     * Check the constraints of an alarm that is not validated by the web layer.
+     *
+     * @param alarm the alarm.
+     * @return the first violated constraint, if any.
+     */
+    public Optional<AlarmViolation> check(AlarmDTO alarm) {
+        Set<ConstraintViolation<AlarmDTO>> violations = validator.validate(alarm);
+        if (!violations.isEmpty()) {
+            ConstraintViolation<AlarmDTO> violation = violations.iterator().next();
+            return Optional.of(new AlarmViolation("validation", violation.getPropertyPath() + " " + violation.getMessage()));
+        }
+        if (alarm.getTimeZone() != null) {
+            try {
+                ZoneId.of(alarm.getTimeZone());
+            } catch (DateTimeException e) {
+                return Optional.of(new AlarmViolation("timezoneinvalid", "Invalid time zone"));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Start ringing an alarm that just fired, and advance its next firing time.
+     * <p>
+     * Occurrences between the scheduled time and now, if the alarm fired late, are skipped. Firings that no longer
+     * match the alarm, because it was changed through another node after being scheduled here, are ignored.
+     *
+     * @param event the firing event.
+     */
+    @EventListener
+    public void onAlarmFired(AlarmFiredEvent event) {
+        Instant now = Instant.now();
+        Instant after = event.scheduledAt().isAfter(now) ? event.scheduledAt() : now;
+        alarmRepository
+            .findById(event.alarmId())
+            .filter(alarm -> Boolean.TRUE.equals(alarm.getEnabled()))
+            .filter(alarm -> Objects.equals(alarm.getNextFireAt(), event.scheduledAt().toEpochMilli()))
+            .ifPresent(alarm -> {
+                alarm.setNextFireAt(NextFireCalculator.nextFireAt(alarm, after));
+                alarmDispatcher.schedule(alarm);
+                alarmVersionService.changed(alarm);
+                changedOnOtherNodes(alarm);
+                alarmRingService.ring(alarm, event.scheduledAt());
+            });
+    }
+
+    /**
+     * Advance the next firing time of alarms that were missed, without firing them.
+     *
+     * @param ids the ids of the missed alarms.
+     * @param now the current time.
+     */
+    public void skipMissed(Collection<String> ids, Instant now) {
+        log.debug("Request to skip missed Alarms : {}", ids);
+        for (Alarm alarm : alarmRepository.findAllById(ids)) {
+            alarm.setNextFireAt(NextFireCalculator.nextFireAt(alarm, now));
+            alarmDispatcher.schedule(alarm);
+            alarmVersionService.changed(alarm);
+            changedOnOtherNodes(alarm);
+        }
+    }
+
+    private Alarm persist(Alarm alarm) {
+        boolean created = alarm.getId() == null;
+        alarm.setNextFireAt(NextFireCalculator.nextFireAt(alarm, Instant.now()));
+        alarmSyncService.changed(alarm);
+        alarm = alarmRepository.save(alarm);
+        if (!created) {
+            changedOnOtherNodes(alarm);
+        }
+        alarmDispatcher.schedule(alarm);
+        return alarm;
+    }
+
+    /**
+     * Evict an updated or deleted alarm from the entity cache of the other nodes. Created alarms need not be: no node
+     * can have cached them yet.
+     */
+    private void changedOnOtherNodes(Alarm alarm) {
+        cacheInvalidationService.publish(Alarm.class.getName(), alarm.getId());
+    }
+
+    private AlarmBulkResultDTO apply(
+        int index,
+        AlarmBulkOperationDTO operation,
+        Map<String, Alarm> existing,
+        BulkChanges changes,
+        Instant now
+    ) {
+        AlarmBulkOperationDTO.Action action = operation.getAction();
+        String id = targetId(operation);
+        if (action == null) {
+            return AlarmBulkResultDTO.failure(index, null, id, HttpStatus.BAD_REQUEST.value(), "actionnull", "Invalid action");
+        }
+        if (action == AlarmBulkOperationDTO.Action.CREATE) {
+            AlarmDTO alarmDTO = operation.getAlarm();
+            if (alarmDTO == null) {
+                return AlarmBulkResultDTO.failure(index, action, null, HttpStatus.BAD_REQUEST.value(), "alarmnull", "Invalid alarm");
+            }
+            if (alarmDTO.getId() != null) {
+                return AlarmBulkResultDTO.failure(index, action, alarmDTO.getId(), HttpStatus.BAD_REQUEST.value(), "idexists", "A new alarm cannot already have an ID");
+            }
+            AlarmBulkResultDTO invalid = validate(index, action, alarmDTO);
+            if (invalid != null) {
+                return invalid;
+            }
+            Alarm alarm = alarmMapper.toEntity(alarmDTO);
+            alarm.setNextFireAt(NextFireCalculator.nextFireAt(alarm, now));
+            AlarmBulkResultDTO result = AlarmBulkResultDTO.success(index, action, null, HttpStatus.CREATED.value());
+            changes.created.add(new Created(alarm, result));
+            return result;
+        }
+        if (id == null) {
+            return AlarmBulkResultDTO.failure(index, action, null, HttpStatus.BAD_REQUEST.value(), "idnull", "Invalid id");
+        }
+        Alarm existingAlarm = existing.get(id);
+        if (existingAlarm == null) {
+            return AlarmBulkResultDTO.failure(index, action, id, HttpStatus.NOT_FOUND.value(), "idnotfound", "Entity not found");
+        }
+        Long previousOwner = ownerOf(existingAlarm);
+        if (action == AlarmBulkOperationDTO.Action.DELETE) {
+            alarmRepository.delete(existingAlarm);
+            changedOnOtherNodes(existingAlarm);
+            existing.remove(id);
+            changes.updated.remove(id);
+            if (previousOwner != null) {
+                changes.removed.add(new AlarmTombstone().alarmId(id).userLoginId(previousOwner));
+            }
+            alarmDispatcher.cancel(id);
+            alarmRingService.forget(id);
+            return AlarmBulkResultDTO.success(index, action, id, HttpStatus.NO_CONTENT.value());
+        }
+        AlarmDTO alarmDTO = operation.getAlarm();
+        if (alarmDTO == null) {
+            return AlarmBulkResultDTO.failure(index, action, id, HttpStatus.BAD_REQUEST.value(), "alarmnull", "Invalid alarm");
+        }
+        if (alarmDTO.getId() != null && !alarmDTO.getId().equals(id)) {
+            return AlarmBulkResultDTO.failure(index, action, id, HttpStatus.BAD_REQUEST.value(), "idinvalid", "Invalid ID");
+        }
+        alarmDTO.setId(id);
+        // the fields missing from a patch are left unchanged, and the existing alarm is valid
+        AlarmBulkResultDTO invalid = validate(index, action, alarmDTO);
+        if (invalid != null) {
+            return invalid;
+        }
+        if (action == AlarmBulkOperationDTO.Action.PATCH) {
+            alarmMapper.partialUpdate(existingAlarm, alarmDTO);
+        } else {
+            alarmMapper.update(existingAlarm, alarmDTO);
+            changeOwner(existingAlarm, alarmDTO.getUserLogin());
+            if (previousOwner != null && !previousOwner.equals(ownerOf(existingAlarm))) {
+                changes.removed.add(new AlarmTombstone().alarmId(id).userLoginId(previousOwner));
+            }
+        }
+        changes.updated.putIfAbsent(id, existingAlarm);
+        existingAlarm.setNextFireAt(NextFireCalculator.nextFireAt(existingAlarm, now));
+        alarmDispatcher.schedule(existingAlarm);
+        return AlarmBulkResultDTO.success(index, action, id, HttpStatus.OK.value());
+    }
+
+    private AlarmBulkResultDTO validate(int index, AlarmBulkOperationDTO.Action action, AlarmDTO alarm) {
+        return check(alarm)
+            .map(violation ->
+                AlarmBulkResultDTO.failure(index, action, alarm.getId(), HttpStatus.BAD_REQUEST.value(), violation.errorKey(), violation.message())
+            )
+            .orElse(null);
+    }
+
+    private void changeOwner(Alarm alarm, UserLoginDTO owner) {
+        Long ownerId = owner != null ? owner.getId() : null;
+        if (!Objects.equals(ownerOf(alarm), ownerId)) {
+            alarm.setUserLogin(ownerId != null ? entityManager.getReference(UserLogin.class, ownerId) : null);
+        }
+    }
+
+    private static Long ownerOf(Alarm alarm) {
+        return alarm.getUserLogin() != null ? alarm.getUserLogin().getId() : null;
+    }
+
+    private static String targetId(AlarmBulkOperationDTO operation) {
+        if (operation.getId() != null) {
+            return operation.getId();
+        }
+        return operation.getAlarm() != null ? operation.getAlarm().getId() : null;
+    }
+
+    /**
+     * A violated constraint of an alarm.
+     *
+     * @param errorKey the error key, as used by {@code BadRequestAlertException}.
+     * @param message the error message.
+     */
+    public record AlarmViolation(String errorKey, String message) {}
+
+    private record Created(Alarm alarm, AlarmBulkResultDTO result) {}
+
+    private static final class BulkChanges {
+
+        // by id, in the order of their first update: alarms all share the same hash code
+        private final Map<String, Alarm> updated = new LinkedHashMap<>();
+
+        private final List<Created> created = new ArrayList<>();
+
+        private final List<AlarmTombstone> removed = new ArrayList<>();
+    }
+}
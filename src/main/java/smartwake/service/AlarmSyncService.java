@@ -0,0 +1,210 @@
+package smartwake.service;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import smartwake.config.ApplicationProperties;
+import smartwake.domain.Alarm;
+import smartwake.domain.AlarmChangeSequence;
+import smartwake.domain.AlarmTombstone;
+import smartwake.repository.AlarmChangeSequenceRepository;
+import smartwake.repository.AlarmRepository;
+import smartwake.repository.AlarmTombstoneRepository;
+import smartwake.service.dto.AlarmChangesDTO;
+import smartwake.service.mapper.AlarmMapper;
+
+/**
+ * Tracks the changes users make to their alarms, so that clients fetch only what changed since their previous sync.
+ * <p>
+ * Each change takes the next value of the {@link AlarmChangeSequence} of the owner of the alarm: the value is stored
+ * in {@link Alarm#getChangeSeq()} for creates and updates, and in an {@link AlarmTombstone} for deletes. A client
+ * keeps the last value it has seen as its cursor; when nothing changed, a sync costs a single primary key lookup.
+ * <p>
+ * Alarm changes made by the application itself, such as the next firing time after a firing, are not tracked:
+ * clients derive them from the alarm.
+ */
+@Service
+@Transactional
+public class AlarmSyncService {
+
+    private final Logger log = LoggerFactory.getLogger(AlarmSyncService.class);
+
+    private final AlarmRepository alarmRepository;
+
+    private final AlarmChangeSequenceRepository changeSequenceRepository;
+
+    private final AlarmTombstoneRepository tombstoneRepository;
+
+    private final AlarmMapper alarmMapper;
+
+    private final AlarmVersionService alarmVersionService;
+
+    private final ApplicationProperties.Sync properties;
+
+    public AlarmSyncService(
+        AlarmRepository alarmRepository,
+        AlarmChangeSequenceRepository changeSequenceRepository,
+        AlarmTombstoneRepository tombstoneRepository,
+        AlarmMapper alarmMapper,
+        AlarmVersionService alarmVersionService,
+        ApplicationProperties applicationProperties
+    ) {
+        this.alarmRepository = alarmRepository;
+        this.changeSequenceRepository = changeSequenceRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.alarmMapper = alarmMapper;
+        this.alarmVersionService = alarmVersionService;
+        this.properties = applicationProperties.getSync();
+    }
+
+    /**
+     * Record that an alarm was created or updated.
+     *
+     * @param alarm the alarm, before it is saved.
+     */
+    public void changed(Alarm alarm) {
+        record(List.of(alarm), List.of());
+    }
+
+    /**
+     * Record that an alarm was deleted, or given to another user.
+     *
+     * @param alarmId the id of the alarm.
+     * @param userLoginId the id of the former owner of the alarm, if any.
+     */
+    public void removed(String alarmId, Long userLoginId) {
+        if (userLoginId != null) {
+            record(List.of(), List.of(new AlarmTombstone().alarmId(alarmId).userLoginId(userLoginId)));
+        }
+    }
+
+    /**
+     * Record a set of changes, taking one block of values per user from their change sequence.
+     * <p>
+     * Sequence values are assigned to the tombstones first, then to the alarms, in the order of the lists. Alarms
+     * without an owner are not tracked.
+     *
+     * @param changed the alarms created or updated, before they are saved.
+     * @param removed the tombstones of the alarms deleted or given to another user, without their sequence value.
+     */
+    public void record(List<Alarm> changed, List<AlarmTombstone> removed) {
+        Map<Long, List<AlarmTombstone>> tombstonesByOwner = new LinkedHashMap<>();
+        removed.forEach(tombstone -> tombstonesByOwner.computeIfAbsent(tombstone.getUserLoginId(), key -> new ArrayList<>()).add(tombstone));
+        Map<Long, List<Alarm>> alarmsByOwner = new LinkedHashMap<>();
+        for (Alarm alarm : changed) {
+            Long owner = ownerOf(alarm);
+            if (owner != null) {
+                alarmsByOwner.computeIfAbsent(owner, key -> new ArrayList<>()).add(alarm);
+            }
+        }
+        Set<Long> owners = new HashSet<>(tombstonesByOwner.keySet());
+        owners.addAll(alarmsByOwner.keySet());
+
+        long now = System.currentTimeMillis();
+        for (Long owner : owners) {
+            List<AlarmTombstone> tombstones = tombstonesByOwner.getOrDefault(owner, List.of());
+            List<Alarm> alarms = alarmsByOwner.getOrDefault(owner, List.of());
+            long seq = allocate(owner, tombstones.size() + alarms.size());
+            for (AlarmTombstone tombstone : tombstones) {
+                tombstone.setChangeSeq(++seq);
+                tombstone.setDeletedAt(now);
+            }
+            for (Alarm alarm : alarms) {
+                alarm.setChangeSeq(++seq);
+            }
+            alarmVersionService.changed(owner);
+        }
+        if (!removed.isEmpty()) {
+            tombstoneRepository.saveAll(removed);
+        }
+    }
+
+    /**
+     * Get the changes of the alarms of a user since a position of their change sequence.
+     *
+     * @param username the username of the owner of the alarms.
+     * @param since the last position known by the client, {@code 0} if it never synced.
+     * @param size the maximum number of changes to return.
+     * @return the changes.
+     */
+    @Transactional(readOnly = true)
+    public AlarmChangesDTO getChanges(String username, long since, int size) {
+        log.debug("Request to get Alarm changes of {} since {}", username, since);
+        Optional<AlarmChangeSequenceRepository.SequenceState> found = changeSequenceRepository.findStateByUsername(username);
+        if (found.isEmpty()) {
+            AlarmChangesDTO changes = new AlarmChangesDTO(0);
+            changes.setReset(since != 0);
+            return changes;
+        }
+        AlarmChangeSequenceRepository.SequenceState sequence = found.orElseThrow();
+        if (since == sequence.getLastSeq()) {
+            return new AlarmChangesDTO(since);
+        }
+        if (since > sequence.getLastSeq() || since < sequence.getPurgedSeq()) {
+            AlarmChangesDTO changes = new AlarmChangesDTO(sequence.getLastSeq());
+            changes.setReset(true);
+            return changes;
+        }
+
+        // one more change than asked, of each kind, tells whether there are more changes
+        Long owner = sequence.getUserLoginId();
+        List<Alarm> alarms = alarmRepository.findChangedAfter(owner, since, Limit.of(size + 1));
+        List<AlarmTombstone> tombstones = tombstoneRepository.findByUserLoginIdAndChangeSeqGreaterThanOrderByChangeSeqAsc(
+            owner,
+            since,
+            Limit.of(size + 1)
+        );
+        AlarmChangesDTO changes = new AlarmChangesDTO(since);
+        int alarmIndex = 0;
+        int tombstoneIndex = 0;
+        while (alarmIndex + tombstoneIndex < size && (alarmIndex < alarms.size() || tombstoneIndex < tombstones.size())) {
+            Alarm alarm = alarmIndex < alarms.size() ? alarms.get(alarmIndex) : null;
+            AlarmTombstone tombstone = tombstoneIndex < tombstones.size() ? tombstones.get(tombstoneIndex) : null;
+            if (tombstone == null || (alarm != null && alarm.getChangeSeq() < tombstone.getChangeSeq())) {
+                changes.getAlarms().add(alarmMapper.toDto(alarm));
+                changes.setCursor(alarm.getChangeSeq());
+                alarmIndex++;
+            } else {
+                changes.getDeleted().add(tombstone.getAlarmId());
+                changes.setCursor(tombstone.getChangeSeq());
+                tombstoneIndex++;
+            }
+        }
+        changes.setMore(alarmIndex < alarms.size() || tombstoneIndex < tombstones.size());
+        return changes;
+    }
+
+    /**
+     * Purge the tombstones older than the retention period.
+     */
+    @Scheduled(fixedDelayString = "${application.sync.purge-millis:3600000}")
+    public void purgeTombstones() {
+        long before = Instant.now().minus(properties.getTombstoneRetentionDays(), ChronoUnit.DAYS).toEpochMilli();
+        changeSequenceRepository.raisePurgedSeq(before);
+        int purged = tombstoneRepository.deleteByDeletedAtBefore(before);
+        if (purged > 0) {
+            log.debug("Purged {} alarm tombstones", purged);
+        }
+    }
+
+    private long allocate(Long userLoginId, int count) {
+        changeSequenceRepository.increment(userLoginId, count);
+        return changeSequenceRepository.findLastSeq(userLoginId) - count;
+    }
+
+    private static Long ownerOf(Alarm alarm) {
+        return alarm.getUserLogin() != null ? alarm.getUserLogin().getId() : null;
+    }
+}
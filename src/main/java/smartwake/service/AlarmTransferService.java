@@ -0,0 +1,203 @@
+package smartwake.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import smartwake.config.ApplicationProperties;
+import smartwake.domain.Alarm;
+import smartwake.domain.UserLogin;
+import smartwake.repository.AlarmRepository;
+import smartwake.service.alarm.AlarmDispatcher;
+import smartwake.service.alarm.NextFireCalculator;
+import smartwake.service.dto.AlarmDTO;
+import smartwake.service.dto.AlarmImportResultDTO;
+import smartwake.service.mapper.AlarmMapper;
+
+/**
+ * Exports and imports alarms as NDJSON, one JSON alarm per line, in constant memory.
+ * <p>
+ * The export reads the alarms from a forward-only cursor and detaches each one once written. The import parses one
+ * line at a time and inserts the alarms in transactions of {@code importBatchSize}, flushed in JDBC batches, after
+ * which the persistence context is cleared.
+ */
+@Service
+public class AlarmTransferService {
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private final Logger log = LoggerFactory.getLogger(AlarmTransferService.class);
+
+    private final AlarmRepository alarmRepository;
+
+    private final AlarmService alarmService;
+
+    private final AlarmSyncService alarmSyncService;
+
+    private final AlarmDispatcher alarmDispatcher;
+
+    private final AlarmMapper alarmMapper;
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ObjectWriter writer;
+
+    private final ObjectReader reader;
+
+    private final ApplicationProperties.Transfer properties;
+
+    public AlarmTransferService(
+        AlarmRepository alarmRepository,
+        AlarmService alarmService,
+        AlarmSyncService alarmSyncService,
+        AlarmDispatcher alarmDispatcher,
+        AlarmMapper alarmMapper,
+        EntityManager entityManager,
+        PlatformTransactionManager transactionManager,
+        ObjectMapper objectMapper,
+        ApplicationProperties applicationProperties
+    ) {
+        this.alarmRepository = alarmRepository;
+        this.alarmService = alarmService;
+        this.alarmSyncService = alarmSyncService;
+        this.alarmDispatcher = alarmDispatcher;
+        this.alarmMapper = alarmMapper;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.writer = objectMapper.writerFor(AlarmDTO.class);
+        this.reader = objectMapper.readerFor(AlarmDTO.class);
+        this.properties = applicationProperties.getTransfer();
+    }
+
+    /**
+     * Write every alarm to a stream, one JSON alarm per line.
+     *
+     * @param out the stream, left open.
+     * @return the number of alarms written.
+     * @throws IOException if the stream cannot be written.
+     */
+    @Transactional(readOnly = true)
+    public long exportAlarms(OutputStream out) throws IOException {
+        log.debug("Request to export Alarms");
+        long count = 0;
+        try (Stream<Alarm> alarms = alarmRepository.streamAllForExport()) {
+            for (Alarm alarm : (Iterable<Alarm>) alarms::iterator) {
+                out.write(writer.writeValueAsBytes(alarmMapper.toDto(alarm)));
+                out.write('\n');
+                entityManager.detach(alarm);
+                count++;
+            }
+        }
+        out.flush();
+        return count;
+    }
+
+    /**
+     * Create an alarm for each line of a stream holding one JSON alarm per line.
+     * <p>
+     * Ids and fields computed by the application are ignored: each line creates a new alarm, owned by the
+     * {@link UserLogin} of the line. Lines that cannot be parsed or are not valid are reported and skipped; the
+     * alarms of each batch are committed together.
+     *
+     * @param in the stream.
+     * @return the number of alarms imported, and the rejected lines.
+     * @throws IOException if the stream cannot be read.
+     */
+    public AlarmImportResultDTO importAlarms(InputStream in) throws IOException {
+        log.debug("Request to import Alarms");
+        AlarmImportResultDTO result = new AlarmImportResultDTO();
+        BufferedReader lines = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        List<Alarm> batch = new ArrayList<>(properties.getImportBatchSize());
+        long lineNumber = 0;
+        String line;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            Optional<String> error = parse(line, batch);
+            if (error.isPresent()) {
+                reject(result, lineNumber, error.orElseThrow(), 1);
+            } else if (batch.size() == properties.getImportBatchSize()) {
+                insert(batch, result);
+            }
+        }
+        if (!batch.isEmpty()) {
+            insert(batch, result);
+        }
+        log.info("Imported {} alarms, rejected {} lines", result.getImported(), result.getRejected());
+        return result;
+    }
+
+    private Optional<String> parse(String line, List<Alarm> batch) {
+        AlarmDTO alarmDTO;
+        try {
+            alarmDTO = reader.readValue(line);
+        } catch (JsonProcessingException e) {
+            return Optional.of("Invalid JSON: " + e.getOriginalMessage());
+        }
+        alarmDTO.setId(null);
+        Optional<AlarmService.AlarmViolation> violation = alarmService.check(alarmDTO);
+        if (violation.isPresent()) {
+            return violation.map(AlarmService.AlarmViolation::message);
+        }
+        batch.add(alarmMapper.toEntity(alarmDTO));
+        return Optional.empty();
+    }
+
+    private void insert(List<Alarm> batch, AlarmImportResultDTO result) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Instant now = Instant.now();
+                for (Alarm alarm : batch) {
+                    if (alarm.getUserLogin() != null && alarm.getUserLogin().getId() != null) {
+                        alarm.setUserLogin(entityManager.getReference(UserLogin.class, alarm.getUserLogin().getId()));
+                    } else {
+                        alarm.setUserLogin(null);
+                    }
+                    alarm.setNextFireAt(NextFireCalculator.nextFireAt(alarm, now));
+                }
+                // numbered before they are persisted, so that each alarm costs a single insert; recording them also
+                // publishes the new alarm versions of their owners, while the new entities are cached by no node yet
+                alarmSyncService.record(batch, List.of());
+                batch.forEach(entityManager::persist);
+                entityManager.flush();
+                batch.forEach(alarmDispatcher::schedule);
+                entityManager.clear();
+            });
+            result.setImported(result.getImported() + batch.size());
+        } catch (RuntimeException e) {
+            log.warn("Could not import a batch of {} alarms: {}", batch.size(), e.getMessage());
+            reject(result, 0, "Batch of " + batch.size() + " alarms not imported: " + e.getMessage(), batch.size());
+        } finally {
+            batch.clear();
+        }
+    }
+
+    private static void reject(AlarmImportResultDTO result, long line, String message, int count) {
+        result.setRejected(result.getRejected() + count);
+        if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+            result.getErrors().add(new AlarmImportResultDTO.LineError(line, message));
+        }
+    }
+}
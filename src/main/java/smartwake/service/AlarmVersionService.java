@@ -0,0 +1,126 @@
+package smartwake.service;
+
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import smartwake.domain.Alarm;
+import smartwake.domain.UserLogin;
+import smartwake.repository.UserLoginRepository;
+
+/**
+ * Version of the alarms of each user, used as a strong {@code ETag} by the alarm reads.
+ * <p>
+ * Versions are held in the {@value #ALARM_VERSIONS_CACHE} cache only, so that a conditional request costs a single
+ * cache lookup. A missing version is replaced by a new random one, and a change to the alarms of a user evicts their
+ * version once the transaction completes: readers take the version before reading the alarms, so an alarm read
+ * before a change never carries a version issued after it.
+ * <p>
+ * The eviction of a version is also published through the {@link CacheInvalidationService}, in the transaction of the
+ * change, so that the other nodes stop issuing the previous version once they have read it.
+ */
+@Service
+public class AlarmVersionService {
+
+    public static final String ALARM_VERSIONS_CACHE = "alarmVersionsByLogin";
+
+    private final UserLoginRepository userLoginRepository;
+
+    private final CacheManager cacheManager;
+
+    private final CacheInvalidationService cacheInvalidationService;
+
+    public AlarmVersionService(
+        UserLoginRepository userLoginRepository,
+        CacheManager cacheManager,
+        CacheInvalidationService cacheInvalidationService
+    ) {
+        this.userLoginRepository = userLoginRepository;
+        this.cacheManager = cacheManager;
+        this.cacheInvalidationService = cacheInvalidationService;
+    }
+
+    /**
+     * Get the current version of the alarms of a user.
+     *
+     * @param login the login of the user.
+     * @return the version.
+     */
+    public long getVersion(String login) {
+        Cache cache = versions();
+        Long version = cache.get(login, Long.class);
+        if (version != null) {
+            return version;
+        }
+        Long created = ThreadLocalRandom.current().nextLong();
+        Cache.ValueWrapper existing = cache.putIfAbsent(login, created);
+        return existing != null && existing.get() != null ? (Long) existing.get() : created;
+    }
+
+    /**
+     * Record that an alarm was changed, so that the version of its owner changes once the transaction completes.
+     *
+     * @param alarm the alarm.
+     */
+    public void changed(Alarm alarm) {
+        if (alarm.getUserLogin() != null) {
+            changed(alarm.getUserLogin().getId());
+        }
+    }
+
+    /**
+     * Record that alarms of a user were changed, so that their version changes once the transaction completes.
+     *
+     * @param userLoginId the id of the {@link UserLogin} owning the alarms.
+     */
+    public void changed(Long userLoginId) {
+        if (userLoginId == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            userLoginRepository
+                .findById(userLoginId)
+                .map(UserLogin::getUsername)
+                .ifPresent(login -> cacheInvalidationService.evict(ALARM_VERSIONS_CACHE, login));
+            return;
+        }
+        Pending pending = (Pending) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new Pending();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        // resolved now, as the repository may no longer be usable when the transaction completes
+        if (pending.userLoginIds.add(userLoginId)) {
+            String login = userLoginRepository.findById(userLoginId).map(UserLogin::getUsername).orElse(null);
+            if (login != null) {
+                pending.logins.add(login);
+                cacheInvalidationService.publish(ALARM_VERSIONS_CACHE, login);
+            }
+        }
+    }
+
+    private Cache versions() {
+        return Objects.requireNonNull(cacheManager.getCache(ALARM_VERSIONS_CACHE));
+    }
+
+    private final class Pending implements TransactionSynchronization {
+
+        private final Set<Long> userLoginIds = new HashSet<>();
+
+        private final Set<String> logins = new HashSet<>();
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(AlarmVersionService.this);
+            // evicted on rollback too, which only costs one full response
+            Cache cache = versions();
+            logins.forEach(cache::evict);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package smartwake.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.metamodel.EntityType;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import smartwake.config.ApplicationProperties;
+import smartwake.domain.CacheInvalidation;
+import smartwake.repository.CacheInvalidationRepository;
+
+/**
+ * Evicts cache entries on every node, without a message broker.
+ * <p>
+ * An eviction is applied locally and appended to the {@link CacheInvalidation} log, in the transaction of the change
+ * that caused it, so that other nodes only see it once the change is committed. Each node polls the log for the ids
+ * after the last one it has seen, and applies the invalidations made by the others to its JCache regions; entity and
+ * collection regions are evicted through the persistence provider, which owns their keys.
+ * <p>
+ * Ids are allocated before commit, so a transaction may commit after another one with a greater id: the ids skipped
+ * over by a poll are read again by the next polls, until they show up or {@code gapTimeoutMillis} has passed, see
+ * {@link LogCursor}.
+ */
+@Service
+public class CacheInvalidationService {
+
+    private final Logger log = LoggerFactory.getLogger(CacheInvalidationService.class);
+
+    private final String origin = UUID.randomUUID().toString();
+
+    private final CacheInvalidationRepository cacheInvalidationRepository;
+
+    private final CacheManager cacheManager;
+
+    private final javax.cache.CacheManager jcacheManager;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final ApplicationProperties.Cache.Invalidation properties;
+
+    private final LogCursor cursor;
+
+    private boolean started;
+
+    public CacheInvalidationService(
+        CacheInvalidationRepository cacheInvalidationRepository,
+        CacheManager cacheManager,
+        javax.cache.CacheManager jcacheManager,
+        EntityManagerFactory entityManagerFactory,
+        ApplicationProperties applicationProperties
+    ) {
+        this.cacheInvalidationRepository = cacheInvalidationRepository;
+        this.cacheManager = cacheManager;
+        this.jcacheManager = jcacheManager;
+        this.entityManagerFactory = entityManagerFactory;
+        this.properties = applicationProperties.getCache().getInvalidation();
+        this.cursor = new LogCursor(properties.getGapTimeoutMillis());
+    }
+
+    /**
+     * Start reading the log after its current end: the invalidations made earlier predate the caches of this node.
+     * <p>
+     * This is done by the first poll, as the schema may still be migrated in the background on startup.
+     */
+    public synchronized void start() {
+        if (properties.isEnabled()) {
+            cursor.reset(Objects.requireNonNullElse(cacheInvalidationRepository.findMaxId(), 0L));
+            started = true;
+        }
+    }
+
+    /**
+     * Evict a cache entry on this node now, and on the others once the current transaction commits.
+     *
+     * @param cacheName the name of the cache.
+     * @param key the key of the entry.
+     */
+    public void evict(String cacheName, Object key) {
+        Objects.requireNonNull(cacheManager.getCache(cacheName)).evict(key);
+        publish(cacheName, key);
+    }
+
+    /**
+     * Evict a cache entry on the other nodes only, once the current transaction commits.
+     * <p>
+     * This is meant for the entity and collection regions, which Hibernate keeps up to date on this node, and for the
+     * entries this node writes through once the transaction commits.
+     *
+     * @param cacheName the name of the cache region.
+     * @param key the key of the entry, or {@code null} to clear the whole region.
+     */
+    public void publish(String cacheName, Object key) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        cacheInvalidationRepository.save(
+            new CacheInvalidation()
+                .cacheName(cacheName)
+                .cacheKey(key != null ? key.toString() : null)
+                .origin(origin)
+                .createdAt(System.currentTimeMillis())
+        );
+    }
+
+    /**
+     * Apply the invalidations made through other nodes since the previous poll.
+     */
+    @Scheduled(fixedDelayString = "${application.cache.invalidation.poll-millis:1000}")
+    public synchronized void poll() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        try {
+            if (!started) {
+                start();
+            }
+            Set<Long> gaps = cursor.gaps(now);
+            if (!gaps.isEmpty()) {
+                for (CacheInvalidation invalidation : cacheInvalidationRepository.findAllById(gaps)) {
+                    cursor.filled(invalidation.getId());
+                    apply(invalidation);
+                }
+            }
+            List<CacheInvalidation> invalidations = cacheInvalidationRepository.findByIdGreaterThanOrderByIdAsc(
+                cursor.getLastId(),
+                Limit.of(properties.getBatchSize())
+            );
+            for (CacheInvalidation invalidation : invalidations) {
+                cursor.advance(invalidation.getId(), now);
+                apply(invalidation);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not read the cache invalidations: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Invalidations older than {@code retentionMillis} have been read by every live node, and are deleted regularly.
+     */
+    @Scheduled(fixedDelayString = "${application.cache.invalidation.purge-millis:600000}")
+    @Transactional
+    public void purge() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        int purged = cacheInvalidationRepository.deleteByCreatedAtBefore(System.currentTimeMillis() - properties.getRetentionMillis());
+        if (purged > 0) {
+            log.debug("Purged {} cache invalidations", purged);
+        }
+    }
+
+    private void apply(CacheInvalidation invalidation) {
+        if (origin.equals(invalidation.getOrigin())) {
+            return;
+        }
+        String cacheName = invalidation.getCacheName();
+        javax.cache.Cache<Object, Object> cache = jcacheManager.getCache(cacheName);
+        if (cache == null) {
+            return;
+        }
+        if (invalidation.getCacheKey() == null) {
+            cache.clear();
+            return;
+        }
+        for (EntityType<?> entity : entityManagerFactory.getMetamodel().getEntities()) {
+            String entityName = entity.getJavaType().getName();
+            boolean entityRegion = cacheName.equals(entityName);
+            boolean collectionRegion =
+                cacheName.startsWith(entityName + ".") &&
+                entity.getPluralAttributes().stream().anyMatch(attribute -> cacheName.equals(entityName + "." + attribute.getName()));
+            if (entityRegion || collectionRegion) {
+                Object id = DefaultConversionService.getSharedInstance().convert(invalidation.getCacheKey(), entity.getIdType().getJavaType());
+                if (entityRegion) {
+                    entityManagerFactory.getCache().evict(entity.getJavaType(), id);
+                } else {
+                    entityManagerFactory.getCache().unwrap(org.hibernate.Cache.class).evictCollectionData(cacheName, id);
+                }
+                return;
+            }
+        }
+        cache.remove(invalidation.getCacheKey());
+    }
+}
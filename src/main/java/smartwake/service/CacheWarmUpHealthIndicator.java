@@ -0,0 +1,33 @@
+package smartwake.service;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports the progress of the {@link CacheWarmUpService} in the readiness group.
+ * <p>
+ * The application is out of service until the warm-up is over, whether it completed, failed, or ran out of time.
+ */
+@Component
+public class CacheWarmUpHealthIndicator implements HealthIndicator {
+
+    private final CacheWarmUpService cacheWarmUpService;
+
+    public CacheWarmUpHealthIndicator(CacheWarmUpService cacheWarmUpService) {
+        this.cacheWarmUpService = cacheWarmUpService;
+    }
+
+    @Override
+    public Health health() {
+        CacheWarmUpService.State state = cacheWarmUpService.getState();
+        Health.Builder builder = state == CacheWarmUpService.State.PENDING || state == CacheWarmUpService.State.RUNNING
+            ? Health.outOfService()
+            : Health.up();
+        return builder
+            .withDetail("state", state)
+            .withDetail("users", cacheWarmUpService.getUserCount())
+            .withDetail("alarms", cacheWarmUpService.getAlarmCount())
+            .build();
+    }
+}
@@ -0,0 +1,209 @@
+package smartwake.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import smartwake.config.ApplicationProperties;
+import smartwake.domain.User;
+import smartwake.repository.AlarmRepository;
+import smartwake.repository.AuthorityRepository;
+import smartwake.repository.RefreshTokenRepository;
+import smartwake.repository.UserRepository;
+
+/**
+ * Fills the caches once the application has started, so that the first requests after a deployment do not all miss
+ * them and reach the database at once.
+ * <p>
+ * The authorities, the users holding a valid refresh token and the alarms due over the next hours are loaded in
+ * batches, one read-only transaction per batch, on a few threads of their own. The warm-up stops waiting for the
+ * batches once its time budget is spent; until then, and while the schema is still being migrated, the
+ * {@link CacheWarmUpHealthIndicator} keeps the application out of the readiness group.
+ */
+@Service
+public class CacheWarmUpService {
+
+    public enum State {
+        PENDING,
+        RUNNING,
+        DONE,
+        EXPIRED,
+        FAILED,
+    }
+
+    private final Logger log = LoggerFactory.getLogger(CacheWarmUpService.class);
+
+    private final UserRepository userRepository;
+
+    private final AuthorityRepository authorityRepository;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    private final AlarmRepository alarmRepository;
+
+    private final CacheManager cacheManager;
+
+    private final SchemaMigrationMonitor schemaMigrationMonitor;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties.WarmUp properties;
+
+    private final AtomicLong userCount = new AtomicLong();
+
+    private final AtomicLong alarmCount = new AtomicLong();
+
+    private volatile State state = State.PENDING;
+
+    public CacheWarmUpService(
+        UserRepository userRepository,
+        AuthorityRepository authorityRepository,
+        RefreshTokenRepository refreshTokenRepository,
+        AlarmRepository alarmRepository,
+        CacheManager cacheManager,
+        SchemaMigrationMonitor schemaMigrationMonitor,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this.userRepository = userRepository;
+        this.authorityRepository = authorityRepository;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.alarmRepository = alarmRepository;
+        this.cacheManager = cacheManager;
+        this.schemaMigrationMonitor = schemaMigrationMonitor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.properties = applicationProperties.getWarmUp();
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        warmUp();
+    }
+
+    /**
+     * Warm up the caches, within the time budget, once the schema is migrated.
+     */
+    public synchronized void warmUp() {
+        if (!properties.isEnabled()) {
+            state = State.DONE;
+            return;
+        }
+        state = State.PENDING;
+        try {
+            // the budget starts with the warm-up: the application is not ready before its schema is anyway
+            schemaMigrationMonitor.awaitMigrated();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            state = State.FAILED;
+            return;
+        }
+        state = State.RUNNING;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.getBudgetMillis());
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(properties.getThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "cache-warm-up-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            long now = System.currentTimeMillis();
+            List<Future<?>> batches = new ArrayList<>();
+            batches.add(executor.submit(() -> transactionTemplate.executeWithoutResult(status -> authorityRepository.findAll())));
+            List<String> logins = transactionTemplate.execute(status ->
+                refreshTokenRepository.findRecentlyActiveLogins(now, Limit.of(properties.getMaxUsers()))
+            );
+            for (List<String> batch : batches(logins)) {
+                batches.add(executor.submit(() -> warmUpUsers(batch)));
+            }
+            long until = now + TimeUnit.HOURS.toMillis(properties.getAlarmsAheadHours());
+            List<String> alarmIds = transactionTemplate.execute(status -> {
+                try (Stream<AlarmRepository.AlarmTrigger> triggers = alarmRepository.streamByEnabledIsTrueAndNextFireAtBetween(now, until)) {
+                    return triggers.map(AlarmRepository.AlarmTrigger::getId).limit(properties.getMaxAlarms()).toList();
+                }
+            });
+            for (List<String> batch : batches(alarmIds)) {
+                batches.add(executor.submit(() -> warmUpAlarms(batch)));
+            }
+            state = awaitAll(batches, deadline) ? State.DONE : State.EXPIRED;
+            log.info("Warmed up the caches with {} users and {} alarms: {}", userCount.get(), alarmCount.get(), state);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            state = State.FAILED;
+        } catch (ExecutionException | RuntimeException e) {
+            state = State.FAILED;
+            log.warn("Could not warm up the caches", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public long getUserCount() {
+        return userCount.get();
+    }
+
+    public long getAlarmCount() {
+        return alarmCount.get();
+    }
+
+    private void warmUpUsers(List<String> logins) {
+        List<User> users = transactionTemplate.execute(status -> userRepository.findAllWithAuthoritiesByLoginIn(logins));
+        Cache byLogin = cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE);
+        Cache byEmail = cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE);
+        for (User user : users) {
+            byLogin.put(user.getLogin(), user);
+            if (user.getEmail() != null) {
+                byEmail.put(user.getEmail(), user);
+            }
+        }
+        userCount.addAndGet(users.size());
+    }
+
+    private void warmUpAlarms(List<String> alarmIds) {
+        // loading the alarms is enough to put them in the second level cache
+        int loaded = transactionTemplate.execute(status -> alarmRepository.findAllById(alarmIds).size());
+        alarmCount.addAndGet(loaded);
+    }
+
+    private List<List<String>> batches(List<String> values) {
+        List<List<String>> batches = new ArrayList<>();
+        for (int from = 0; from < values.size(); from += properties.getBatchSize()) {
+            batches.add(values.subList(from, Math.min(values.size(), from + properties.getBatchSize())));
+        }
+        return batches;
+    }
+
+    private static boolean awaitAll(List<Future<?>> batches, long deadline) throws InterruptedException, ExecutionException {
+        for (Future<?> batch : batches) {
+            try {
+                batch.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
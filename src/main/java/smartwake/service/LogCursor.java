@@ -0,0 +1,74 @@
+package smartwake.service;
+
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Position of a node in an append-only table that every node reads in id order.
+ * <p>
+ * Ids are allocated before commit, so a transaction may commit after another one with a greater id: the ids skipped
+ * over by a read are kept as gaps, to be read again, until they show up or {@code gapTimeoutMillis} has passed.
+ */
+public class LogCursor {
+
+    private static final int MAX_GAPS = 1000;
+
+    private final long gapTimeoutMillis;
+
+    // ids skipped over by a read, with the time they were first skipped
+    private final TreeMap<Long, Long> gaps = new TreeMap<>();
+
+    private long lastId;
+
+    public LogCursor(long gapTimeoutMillis) {
+        this.gapTimeoutMillis = gapTimeoutMillis;
+    }
+
+    /**
+     * Start reading after the given id, forgetting the gaps.
+     *
+     * @param lastId the last id not to read.
+     */
+    public synchronized void reset(long lastId) {
+        this.lastId = lastId;
+        gaps.clear();
+    }
+
+    public synchronized long getLastId() {
+        return lastId;
+    }
+
+    /**
+     * Get the ids to read again, after dropping the ones skipped more than {@code gapTimeoutMillis} ago.
+     *
+     * @param nowMillis the current time.
+     * @return the skipped ids.
+     */
+    public synchronized Set<Long> gaps(long nowMillis) {
+        gaps.values().removeIf(skippedAt -> skippedAt + gapTimeoutMillis < nowMillis);
+        return new TreeSet<>(gaps.keySet());
+    }
+
+    /**
+     * Record that a skipped id was read.
+     *
+     * @param id the id.
+     */
+    public synchronized void filled(long id) {
+        gaps.remove(id);
+    }
+
+    /**
+     * Move after the given id, which was just read, recording the ids skipped since the previous one as gaps.
+     *
+     * @param id the id.
+     * @param nowMillis the current time.
+     */
+    public synchronized void advance(long id, long nowMillis) {
+        for (long skipped = lastId + 1; skipped < id && gaps.size() < MAX_GAPS; skipped++) {
+            gaps.put(skipped, nowMillis);
+        }
+        lastId = Math.max(lastId, id);
+    }
+}
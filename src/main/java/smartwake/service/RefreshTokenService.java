@@ -0,0 +1,190 @@
+package smartwake.service;
+
+import jakarta.persistence.EntityManager;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import smartwake.config.ApplicationProperties;
+import smartwake.domain.Authority;
+import smartwake.domain.RefreshToken;
+import smartwake.domain.User;
+import smartwake.repository.RefreshTokenRepository;
+import smartwake.repository.UserRepository;
+
+/**
+ * Issues and rotates the refresh tokens that clients exchange for a new access token.
+ * <p>
+ * Exchanging a token costs a single primary key lookup of its hash and no password hashing. Each token is used once:
+ * it is replaced by a new token of the same family, and a used token presented again revokes its whole family, as
+ * either the client or an attacker holds a stolen copy.
+ * <p>
+ * Rotation does not extend the session opened by the login: a family ends once the access tokens of its login would
+ * have expired, after {@code token-validity-in-seconds}, or {@code token-validity-in-seconds-for-remember-me} for a
+ * remember-me login.
+ */
+@Service
+@Transactional
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private static final Base64.Encoder BASE64 = Base64.getUrlEncoder().withoutPadding();
+
+    private final Logger log = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private final SecureRandom random = new SecureRandom();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    private final UserRepository userRepository;
+
+    private final EntityManager entityManager;
+
+    private final ApplicationProperties.Security properties;
+
+    private final long tokenValidityInSeconds;
+
+    private final long tokenValidityInSecondsForRememberMe;
+
+    public RefreshTokenService(
+        RefreshTokenRepository refreshTokenRepository,
+        UserRepository userRepository,
+        EntityManager entityManager,
+        ApplicationProperties applicationProperties,
+        @Value("${jhipster.security.authentication.jwt.token-validity-in-seconds:0}") long tokenValidityInSeconds,
+        @Value("${jhipster.security.authentication.jwt.token-validity-in-seconds-for-remember-me:0}") long tokenValidityInSecondsForRememberMe
+    ) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+        this.entityManager = entityManager;
+        this.properties = applicationProperties.getSecurity();
+        this.tokenValidityInSeconds = tokenValidityInSeconds;
+        this.tokenValidityInSecondsForRememberMe = tokenValidityInSecondsForRememberMe;
+    }
+
+    /**
+     * Issue a refresh token to a user who just authenticated with their password.
+     *
+     * @param login the login of the user.
+     * @param rememberMe whether the access tokens issued for the refresh token are long-lived.
+     * @return the refresh token.
+     */
+    public String issue(String login, boolean rememberMe) {
+        User user = userRepository
+            .findOneWithAuthoritiesByLogin(login)
+            .orElseThrow(() -> new BadCredentialsException("User " + login + " was not found in the database"));
+        long familyExpiresAt = Instant.now()
+            .plusSeconds(rememberMe ? tokenValidityInSecondsForRememberMe : tokenValidityInSeconds)
+            .toEpochMilli();
+        return create(userRepository.getReferenceById(user.getId()), UUID.randomUUID().toString(), rememberMe, familyExpiresAt);
+    }
+
+    /**
+     * Exchange a refresh token for a new one.
+     *
+     * @param token the refresh token.
+     * @return the user of the token and the new refresh token.
+     * @throws BadCredentialsException if the token is unknown, expired, already used or its user is not activated.
+     */
+    // the revocation of a reused token must survive the failed refresh
+    @Transactional(noRollbackFor = BadCredentialsException.class)
+    public Refreshed refresh(String token) {
+        String tokenHash = hash(token);
+        RefreshToken refreshToken = refreshTokenRepository
+            .findOneWithUserByTokenHash(tokenHash)
+            .orElseThrow(() -> new BadCredentialsException("Unknown refresh token"));
+        long now = Instant.now().toEpochMilli();
+        if (refreshToken.getUsedAt() != null || refreshTokenRepository.markUsed(tokenHash, now) == 0) {
+            log.warn("Refresh token reused, revoking its family for user {}", refreshToken.getUser().getLogin());
+            refreshTokenRepository.deleteByFamilyId(refreshToken.getFamilyId());
+            throw new BadCredentialsException("Refresh token already used");
+        }
+        if (refreshToken.getExpiresAt() <= now) {
+            throw new BadCredentialsException("Refresh token expired");
+        }
+        User user = refreshToken.getUser();
+        if (!user.isActivated()) {
+            throw new BadCredentialsException("User " + user.getLogin() + " was not activated");
+        }
+        String newToken = create(user, refreshToken.getFamilyId(), refreshToken.getRememberMe(), refreshToken.getFamilyExpiresAt());
+        Set<String> authorities = user.getAuthorities().stream().map(Authority::getName).collect(Collectors.toSet());
+        return new Refreshed(user.getLogin(), authorities, refreshToken.getRememberMe(), newToken);
+    }
+
+    /**
+     * Revoke a refresh token, and all the tokens of its family.
+     *
+     * @param token the refresh token.
+     */
+    public void revoke(String token) {
+        refreshTokenRepository.findById(hash(token)).map(RefreshToken::getFamilyId).ifPresent(refreshTokenRepository::deleteByFamilyId);
+    }
+
+    /**
+     * Revoke all the refresh tokens of a user.
+     *
+     * @param user the user.
+     */
+    public void revokeAll(User user) {
+        refreshTokenRepository.deleteByUserId(user.getId());
+    }
+
+    /**
+     * Expired refresh tokens are deleted regularly.
+     */
+    @Scheduled(fixedDelayString = "${application.security.refresh-token-purge-millis:3600000}")
+    public void purgeExpiredTokens() {
+        int purged = refreshTokenRepository.deleteByExpiresAtBefore(Instant.now().toEpochMilli());
+        if (purged > 0) {
+            log.debug("Purged {} expired refresh tokens", purged);
+        }
+    }
+
+    private String create(User user, String familyId, boolean rememberMe, long familyExpiresAt) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = BASE64.encodeToString(bytes);
+        // persisted rather than saved, which would first look up the new hash
+        entityManager.persist(
+            new RefreshToken()
+                .tokenHash(hash(token))
+                .user(user)
+                .familyId(familyId)
+                .rememberMe(rememberMe)
+                .expiresAt(Math.min(Instant.now().plusSeconds(properties.getRefreshTokenValiditySeconds()).toEpochMilli(), familyExpiresAt))
+                .familyExpiresAt(familyExpiresAt)
+        );
+        return token;
+    }
+
+    private static String hash(String token) {
+        try {
+            return BASE64.encodeToString(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Result of a refresh.
+     *
+     * @param login the login of the user of the token.
+     * @param authorities the authorities of the user.
+     * @param rememberMe whether the access tokens issued for the token are long-lived.
+     * @param refreshToken the refresh token replacing the exchanged one.
+     */
+    public record Refreshed(String login, Set<String> authorities, boolean rememberMe, String refreshToken) {}
+}
@@ -0,0 +1,48 @@
+package smartwake.service;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Tells when the Liquibase migration of the schema has completed.
+ * <p>
+ * With {@code application.liquibase.async-start}, the migration runs on the task executor and the application is
+ * started before the schema is, so the services reading the database as soon as the application is ready wait for it
+ * here.
+ */
+@Service
+public class SchemaMigrationMonitor {
+
+    private volatile CountDownLatch migration = new CountDownLatch(0);
+
+    /**
+     * Wrap the executor the migration is submitted to, so that its completion is tracked. A migration run without the
+     * executor is complete by the time the application is ready.
+     *
+     * @param executor the executor running the migration.
+     * @return the tracking executor.
+     */
+    public Executor track(Executor executor) {
+        return task -> {
+            CountDownLatch running = new CountDownLatch(1);
+            migration = running;
+            executor.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    running.countDown();
+                }
+            });
+        };
+    }
+
+    /**
+     * Wait for the migration to complete, successfully or not.
+     *
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public void awaitMigrated() throws InterruptedException {
+        migration.await();
+    }
+}
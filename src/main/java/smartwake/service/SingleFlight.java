@@ -0,0 +1,90 @@
+package smartwake.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Coalesces concurrent loads of the same key: while a load is in flight, other callers asking for the same key wait
+ * for its result instead of starting their own.
+ * <p>
+ * Only loads that overlap are shared, nothing is kept once a load completes, so this complements the caches rather
+ * than replacing them: it absorbs the burst of identical misses that follows an eviction. Results are handed to
+ * several threads, so loaders return immutable values or DTOs, never managed entities. A failed load fails every
+ * caller waiting for it.
+ *
+ * @param <K> the type of the keys.
+ * @param <V> the type of the loaded values.
+ */
+public final class SingleFlight<K, V> {
+
+    public static final String LOADS_METER_NAME = "single.flight.loads";
+
+    public static final String COALESCED_METER_NAME = "single.flight.coalesced";
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter loadCounter;
+
+    private final Counter coalescedCounter;
+
+    /**
+     * @param name the name of the loaded values, used as the {@code name} tag of the meters.
+     * @param meterRegistry the registry of the meters.
+     */
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.loadCounter = Counter.builder(LOADS_METER_NAME)
+            .description("Number of loads started")
+            .tag("name", name)
+            .register(meterRegistry);
+        this.coalescedCounter = Counter.builder(COALESCED_METER_NAME)
+            .description("Number of loads that waited for an identical load in flight instead of starting their own")
+            .tag("name", name)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Load a value, or wait for the load of the same key already in flight.
+     *
+     * @param key the key.
+     * @param loader the function loading the value of a key, called by at most one thread per key at a time.
+     * @return the loaded value.
+     */
+    public V load(K key, Function<K, V> loader) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            coalescedCounter.increment();
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                if (e.getCause() instanceof Error cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+        loadCounter.increment();
+        try {
+            V value = loader.apply(key);
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+}
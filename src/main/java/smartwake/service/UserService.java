@@ -4,15 +4,20 @@ import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.stream.Collectors;
+import org.hibernate.Hibernate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import smartwake.config.Constants;
 import smartwake.domain.Authority;
 import smartwake.domain.User;
@@ -20,6 +25,7 @@ import smartwake.repository.AuthorityRepository;
 import smartwake.repository.UserRepository;
 import smartwake.security.AuthoritiesConstants;
 import smartwake.security.SecurityUtils;
+import smartwake.security.TokenRevocationStore;
 import smartwake.service.dto.AdminUserDTO;
 import smartwake.service.dto.UserDTO;
 import tech.jhipster.security.RandomUtil;
@@ -31,6 +37,8 @@ import tech.jhipster.security.RandomUtil;
 @Transactional
 public class UserService {
 
+    private static final int WRITTEN_THROUGH_SIZE = 1024;
+
     private final Logger log = LoggerFactory.getLogger(UserService.class);
 
     private final UserRepository userRepository;
@@ -41,16 +49,36 @@ public class UserService {
 
     private final CacheManager cacheManager;
 
+    private final CacheInvalidationService cacheInvalidationService;
+
+    private final RefreshTokenService refreshTokenService;
+
+    private final TokenRevocationStore tokenRevocationStore;
+
+    // last modified date of the users last written through, by id; only the recent ones can be overtaken
+    private final Map<Long, Instant> writtenThrough = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Instant> eldest) {
+            return size() > WRITTEN_THROUGH_SIZE;
+        }
+    };
+
     public UserService(
         UserRepository userRepository,
         PasswordEncoder passwordEncoder,
         AuthorityRepository authorityRepository,
-        CacheManager cacheManager
+        CacheManager cacheManager,
+        CacheInvalidationService cacheInvalidationService,
+        RefreshTokenService refreshTokenService,
+        TokenRevocationStore tokenRevocationStore
     ) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.authorityRepository = authorityRepository;
         this.cacheManager = cacheManager;
+        this.cacheInvalidationService = cacheInvalidationService;
+        this.refreshTokenService = refreshTokenService;
+        this.tokenRevocationStore = tokenRevocationStore;
     }
 
     public Optional<User> activateRegistration(String key) {
@@ -61,7 +89,7 @@ public class UserService {
                 // activate given user for the registration key.
                 user.setActivated(true);
                 user.setActivationKey(null);
-                this.clearUserCaches(user);
+                this.updateUserCaches(user);
                 log.debug("Activated user: {}", user);
                 return user;
             });
@@ -76,7 +104,8 @@ public class UserService {
                 user.setPassword(passwordEncoder.encode(newPassword));
                 user.setResetKey(null);
                 user.setResetDate(null);
-                this.clearUserCaches(user);
+                this.revokeTokens(user);
+                this.updateUserCaches(user);
                 return user;
             });
     }
@@ -88,7 +117,7 @@ public class UserService {
             .map(user -> {
                 user.setResetKey(RandomUtil.generateResetKey());
                 user.setResetDate(Instant.now());
-                this.clearUserCaches(user);
+                this.updateUserCaches(user);
                 return user;
             });
     }
@@ -130,7 +159,7 @@ public class UserService {
         authorityRepository.findById(AuthoritiesConstants.USER).ifPresent(authorities::add);
         newUser.setAuthorities(authorities);
         userRepository.save(newUser);
-        this.clearUserCaches(newUser);
+        this.updateUserCaches(newUser);
         log.debug("Created Information for User: {}", newUser);
         return newUser;
     }
@@ -175,7 +204,7 @@ public class UserService {
             user.setAuthorities(authorities);
         }
         userRepository.save(user);
-        this.clearUserCaches(user);
+        this.updateUserCaches(user);
         log.debug("Created Information for User: {}", user);
         return user;
     }
@@ -191,7 +220,8 @@ public class UserService {
             .filter(Optional::isPresent)
             .map(Optional::get)
             .map(user -> {
-                this.clearUserCaches(user);
+                String previousLogin = user.getLogin();
+                String previousEmail = user.getEmail();
                 user.setLogin(userDTO.getLogin().toLowerCase());
                 user.setFirstName(userDTO.getFirstName());
                 user.setLastName(userDTO.getLastName());
@@ -211,7 +241,7 @@ public class UserService {
                     .map(Optional::get)
                     .forEach(managedAuthorities::add);
                 userRepository.save(user);
-                this.clearUserCaches(user);
+                this.updateUserCaches(user, previousLogin, previousEmail);
                 log.debug("Changed Information for User: {}", user);
                 return user;
             })
@@ -222,6 +252,7 @@ public class UserService {
         userRepository
             .findOneByLogin(login)
             .ifPresent(user -> {
+                this.revokeTokens(user);
                 userRepository.delete(user);
                 this.clearUserCaches(user);
                 log.debug("Deleted User: {}", user);
@@ -249,7 +280,7 @@ public class UserService {
                 user.setLangKey(langKey);
                 user.setImageUrl(imageUrl);
                 userRepository.save(user);
-                this.clearUserCaches(user);
+                this.updateUserCaches(user);
                 log.debug("Changed Information for User: {}", user);
             });
     }
@@ -265,11 +296,29 @@ public class UserService {
                 }
                 String encryptedPassword = passwordEncoder.encode(newPassword);
                 user.setPassword(encryptedPassword);
-                this.clearUserCaches(user);
+                this.revokeTokens(user);
+                this.updateUserCaches(user);
                 log.debug("Changed password for User: {}", user);
             });
     }
 
+    /**
+     * Log out the current user: revoke the access token of the request, and the given refresh token.
+     *
+     * @param accessToken the access token of the request, if the request was authenticated by one.
+     * @param refreshToken the refresh token issued with the access token, if any.
+     */
+    @Transactional
+    public void logout(Jwt accessToken, String refreshToken) {
+        if (accessToken != null) {
+            tokenRevocationStore.revokeToken(accessToken);
+        }
+        if (refreshToken != null) {
+            refreshTokenService.revoke(refreshToken);
+        }
+        log.debug("Logged out User: {}", SecurityUtils.getCurrentUserLogin().orElse(null));
+    }
+
     @Transactional(readOnly = true)
     public Page<AdminUserDTO> getAllManagedUsers(Pageable pageable) {
         return userRepository.findAll(pageable).map(AdminUserDTO::new);
@@ -315,10 +364,95 @@ public class UserService {
         return authorityRepository.findAll().stream().map(Authority::getName).toList();
     }
 
+    private void revokeTokens(User user) {
+        tokenRevocationStore.revokeUser(user.getLogin());
+        refreshTokenService.revokeAll(user);
+    }
+
     private void clearUserCaches(User user) {
-        Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE)).evict(user.getLogin());
+        cacheInvalidationService.evict(UserRepository.USERS_BY_LOGIN_CACHE, user.getLogin());
+        if (user.getEmail() != null) {
+            cacheInvalidationService.evict(UserRepository.USERS_BY_EMAIL_CACHE, user.getEmail());
+        }
+        publishUserRegions(user);
+    }
+
+    private void updateUserCaches(User user) {
+        updateUserCaches(user, user.getLogin(), user.getEmail());
+    }
+
+    /**
+     * Put the changed user into the caches once the transaction commits, rather than evicting it and loading it again
+     * with its authorities on the next read; the other nodes evict it.
+     * <p>
+     * Until the commit, this node keeps serving the previous version of the user, which is the committed one.
+     */
+    private void updateUserCaches(User user, String previousLogin, String previousEmail) {
+        // loaded now, as the session is no longer usable once the transaction completes
+        Hibernate.initialize(user.getAuthorities());
+        if (!user.getLogin().equals(previousLogin)) {
+            cacheInvalidationService.evict(UserRepository.USERS_BY_LOGIN_CACHE, previousLogin);
+        }
+        if (previousEmail != null && !previousEmail.equals(user.getEmail())) {
+            cacheInvalidationService.evict(UserRepository.USERS_BY_EMAIL_CACHE, previousEmail);
+        }
+        cacheInvalidationService.publish(UserRepository.USERS_BY_LOGIN_CACHE, user.getLogin());
         if (user.getEmail() != null) {
-            Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE)).evict(user.getEmail());
+            cacheInvalidationService.publish(UserRepository.USERS_BY_EMAIL_CACHE, user.getEmail());
+        }
+        publishUserRegions(user);
+        afterCommit(() -> writeThrough(user, previousLogin, previousEmail));
+    }
+
+    /**
+     * Put a committed user into the caches, unless a newer version of it was written through already.
+     * <p>
+     * Transactions changing the same user may run their write-through in another order than they committed: the
+     * {@code lastModifiedDate} of the user orders them, and the keys it no longer has are evicted.
+     */
+    private void writeThrough(User user, String previousLogin, String previousEmail) {
+        Cache usersByLogin = Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE));
+        Cache usersByEmail = Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE));
+        Instant lastModifiedDate = user.getLastModifiedDate();
+        synchronized (writtenThrough) {
+            Instant written = writtenThrough.get(user.getId());
+            if (written != null && lastModifiedDate != null && written.isAfter(lastModifiedDate)) {
+                log.debug("Not caching user {}, a newer version was cached already", user.getLogin());
+                return;
+            }
+            writtenThrough.put(user.getId(), lastModifiedDate);
+            if (!user.getLogin().equals(previousLogin)) {
+                usersByLogin.evict(previousLogin);
+            }
+            if (previousEmail != null && !previousEmail.equals(user.getEmail())) {
+                usersByEmail.evict(previousEmail);
+            }
+            usersByLogin.put(user.getLogin(), user);
+            if (user.getEmail() != null) {
+                usersByEmail.put(user.getEmail(), user);
+            }
+        }
+    }
+
+    private void publishUserRegions(User user) {
+        if (user.getId() != null) {
+            cacheInvalidationService.publish(User.class.getName(), user.getId());
+            cacheInvalidationService.publish(User.class.getName() + ".authorities", user.getId());
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        action.run();
+                    }
+                }
+            );
+        } else {
+            action.run();
         }
     }
 }
@@ -0,0 +1,171 @@
+package smartwake.service.alarm;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import smartwake.config.ApplicationProperties;
+
+/**
+ * Paces the publication of {@link AlarmFiredEvent}s.
+ * <p>
+ * Most alarms are set on the hour or the half hour, so the {@link AlarmDispatcher} expires them in large bursts.
+ * Instead of publishing a burst at once, fired alarms are queued and released:
+ * <ul>
+ *     <li>no earlier than their scheduled time plus a per-alarm offset of up to {@code spreadMillis}, derived from
+ *     the alarm id so that an alarm always gets the same offset;</li>
+ *     <li>no faster than a token bucket of {@code permitsPerSecond}, allowing bursts of {@code burst} events.</li>
+ * </ul>
+ * Pacing never makes an alarm more than {@code maxLatenessMillis} late: an event still queued that long after its
+ * release time is published without waiting for a permit. The queue holds at most {@code queueCapacity} events,
+ * which should be about what the token bucket drains within {@code maxLatenessMillis}: when it is full, a new event
+ * would wait longer than that, so it is published on the calling thread instead, which slows down the dispatcher
+ * rather than dropping the alarm.
+ */
+@Service
+public class AlarmAdmissionController {
+
+    public static final String QUEUE_METER_NAME = "alarm.admission.queue";
+
+    public static final String DELAY_METER_NAME = "alarm.admission.delay";
+
+    public static final String OVERFLOW_METER_NAME = "alarm.admission.overflow";
+
+    public static final String LATE_METER_NAME = "alarm.admission.late";
+
+    private final Logger log = LoggerFactory.getLogger(AlarmAdmissionController.class);
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ApplicationProperties.Admission properties;
+
+    private final PriorityQueue<Admission> queue = new PriorityQueue<>(
+        Comparator.comparingLong(Admission::releaseAt).thenComparing(admission -> admission.event().alarmId())
+    );
+
+    private final Timer delayTimer;
+
+    private final Counter overflowCounter;
+
+    private final Counter lateCounter;
+
+    private double tokens;
+
+    private long refilledAt;
+
+    public AlarmAdmissionController(
+        ApplicationEventPublisher eventPublisher,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.eventPublisher = eventPublisher;
+        this.properties = applicationProperties.getAdmission();
+        this.tokens = properties.getBurst();
+        this.refilledAt = System.currentTimeMillis();
+        Gauge.builder(QUEUE_METER_NAME, this, AlarmAdmissionController::queueSize)
+            .description("Number of fired alarms waiting to be published")
+            .register(meterRegistry);
+        this.delayTimer = Timer.builder(DELAY_METER_NAME)
+            .description("Delay between the scheduled time of an alarm and its publication")
+            .register(meterRegistry);
+        this.overflowCounter = Counter.builder(OVERFLOW_METER_NAME)
+            .description("Number of fired alarms published on the dispatcher thread because the queue was full")
+            .register(meterRegistry);
+        this.lateCounter = Counter.builder(LATE_METER_NAME)
+            .description("Number of fired alarms published without a permit because they reached the maximum lateness")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Queue a fired alarm for publication.
+     *
+     * @param event the event to publish.
+     */
+    public void submit(AlarmFiredEvent event) {
+        submit(event, System.currentTimeMillis());
+    }
+
+    /**
+     * Publish the queued alarms that are due, within the limits of the token bucket.
+     */
+    @Scheduled(fixedDelayString = "${application.admission.drain-millis:50}")
+    public void drain() {
+        drain(System.currentTimeMillis());
+    }
+
+    public int queueSize() {
+        synchronized (queue) {
+            return queue.size();
+        }
+    }
+
+    void submit(AlarmFiredEvent event, long nowMillis) {
+        if (!properties.isEnabled()) {
+            publish(event, nowMillis);
+            return;
+        }
+        long releaseAt = event.scheduledAt().toEpochMilli() + spreadOf(event.alarmId());
+        synchronized (queue) {
+            if (queue.size() < properties.getQueueCapacity()) {
+                queue.add(new Admission(event, releaseAt));
+                return;
+            }
+        }
+        overflowCounter.increment();
+        publish(event, nowMillis);
+    }
+
+    int drain(long nowMillis) {
+        List<AlarmFiredEvent> released = new ArrayList<>();
+        synchronized (queue) {
+            refill(nowMillis);
+            while (!queue.isEmpty() && queue.peek().releaseAt() <= nowMillis) {
+                if (tokens >= 1) {
+                    tokens--;
+                } else if (queue.peek().releaseAt() + properties.getMaxLatenessMillis() <= nowMillis) {
+                    lateCounter.increment();
+                } else {
+                    break;
+                }
+                released.add(queue.poll().event());
+            }
+        }
+        for (AlarmFiredEvent event : released) {
+            publish(event, nowMillis);
+        }
+        return released.size();
+    }
+
+    private void refill(long nowMillis) {
+        long elapsed = Math.max(nowMillis - refilledAt, 0);
+        tokens = Math.min(properties.getBurst(), tokens + (elapsed * properties.getPermitsPerSecond()) / 1000.0);
+        refilledAt = nowMillis;
+    }
+
+    private long spreadOf(String alarmId) {
+        int spreadMillis = properties.getSpreadMillis();
+        return spreadMillis > 0 ? Math.floorMod(alarmId.hashCode(), spreadMillis) : 0;
+    }
+
+    private void publish(AlarmFiredEvent event, long nowMillis) {
+        log.debug("Firing Alarm : {}", event.alarmId());
+        delayTimer.record(Math.max(nowMillis - event.scheduledAt().toEpochMilli(), 0), TimeUnit.MILLISECONDS);
+        try {
+            eventPublisher.publishEvent(event);
+        } catch (RuntimeException e) {
+            log.error("Could not fire Alarm {}", event.alarmId(), e);
+        }
+    }
+
+    private record Admission(AlarmFiredEvent event, long releaseAt) {}
+}
@@ -0,0 +1,284 @@
+package smartwake.service.alarm;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import smartwake.config.ApplicationProperties;
+import smartwake.domain.Alarm;
+import smartwake.repository.AlarmRepository;
+
+/**
+ * Fires enabled {@link Alarm}s at their {@code nextFireAt}.
+ * <p>
+ * Pending alarms are kept in a {@link HierarchicalTimingWheel} keyed on the alarm id, so that scheduling,
+ * rescheduling and cancelling an alarm are {@code O(1)} and do not need a database rescan. The wheel is
+ * loaded once when the application is ready, then kept up to date by the {@link smartwake.service.AlarmService}
+ * after each committed write. Fired alarms are handed to the {@link AlarmAdmissionController}, which publishes
+ * them as {@link AlarmFiredEvent}s.
+ * <p>
+ * When alarms are partitioned between nodes, only the alarms of the buckets owned by this node are kept in the
+ * timing wheel. They are loaded when a bucket is gained, by a query that selects the alarms of the gained buckets
+ * only, and dropped when it is lost. Since alarms can be written through any node, the alarms of the owned buckets
+ * due within {@code lookaheadMillis} are also reloaded every {@code refreshMillis}; alarms changed elsewhere after
+ * being loaded are ignored when they fire, see {@link smartwake.service.AlarmService#onAlarmFired(AlarmFiredEvent)}.
+ */
+@Service
+public class AlarmDispatcher {
+
+    public static final String PENDING_METER_NAME = "alarm.dispatcher.pending";
+
+    private final Logger log = LoggerFactory.getLogger(AlarmDispatcher.class);
+
+    private final AlarmRepository alarmRepository;
+
+    private final AlarmAdmissionController admissionController;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final AlarmPartitionService partitionService;
+
+    private final ApplicationProperties.Dispatcher properties;
+
+    private final ApplicationProperties.Partition partitionProperties;
+
+    private final HierarchicalTimingWheel<String> wheel;
+
+    private final Map<String, HierarchicalTimingWheel.Timeout<String>> timeouts = new HashMap<>();
+
+    private final Object lock = new Object();
+
+    public AlarmDispatcher(
+        AlarmRepository alarmRepository,
+        AlarmAdmissionController admissionController,
+        ApplicationEventPublisher eventPublisher,
+        AlarmPartitionService partitionService,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.alarmRepository = alarmRepository;
+        this.admissionController = admissionController;
+        this.eventPublisher = eventPublisher;
+        this.partitionService = partitionService;
+        this.partitionProperties = applicationProperties.getPartition();
+        this.properties = applicationProperties.getDispatcher();
+        this.wheel = new HierarchicalTimingWheel<>(
+            properties.getTickMillis(),
+            properties.getWheelSize(),
+            properties.getWheelLevels(),
+            System.currentTimeMillis()
+        );
+        Gauge.builder(PENDING_METER_NAME, this, AlarmDispatcher::pendingCount)
+            .description("Number of alarms waiting in the timing wheel")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Load every enabled alarm with a future {@code nextFireAt} into the timing wheel.
+     * <p>
+     * When alarms are partitioned, they are loaded bucket by bucket as buckets are gained instead.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void loadEnabledAlarms() {
+        if (!properties.isEnabled() || partitionService.isEnabled()) {
+            return;
+        }
+        log.debug("Loading enabled alarms into the timing wheel");
+        long loadedAfter = System.currentTimeMillis();
+        try (
+            Stream<AlarmRepository.AlarmTrigger> triggers = alarmRepository.streamByEnabledIsTrueAndNextFireAtGreaterThan(loadedAfter)
+        ) {
+            triggers.forEach(trigger -> reschedule(trigger.getId(), Instant.ofEpochMilli(trigger.getNextFireAt())));
+        }
+        loaded(loadedAfter);
+    }
+
+    /**
+     * Load the alarms of the buckets gained by this node, and drop the alarms of the buckets it lost.
+     *
+     * @param event the change of buckets.
+     */
+    @EventListener
+    @Transactional(readOnly = true)
+    public void onPartitionsChanged(AlarmPartitionsChangedEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (!event.lost().isEmpty()) {
+            synchronized (lock) {
+                Iterator<Map.Entry<String, HierarchicalTimingWheel.Timeout<String>>> iterator = timeouts.entrySet().iterator();
+                while (iterator.hasNext()) {
+                    Map.Entry<String, HierarchicalTimingWheel.Timeout<String>> entry = iterator.next();
+                    if (event.lost().contains(partitionService.bucketOf(entry.getKey()))) {
+                        wheel.cancel(entry.getValue());
+                        iterator.remove();
+                    }
+                }
+            }
+        }
+        if (!event.gained().isEmpty()) {
+            loadBuckets(event.gained());
+        }
+    }
+
+    /**
+     * Reload the owned alarms that are due soon, to pick up the alarms written through other nodes.
+     */
+    @Scheduled(fixedDelayString = "${application.partition.refresh-millis:1000}")
+    @Transactional(readOnly = true)
+    public void refresh() {
+        if (!properties.isEnabled() || !partitionService.isEnabled()) {
+            return;
+        }
+        Set<Integer> buckets = partitionService.getOwnedBuckets();
+        if (buckets.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        try (
+            Stream<AlarmRepository.AlarmTrigger> triggers = alarmRepository.streamOfBucketsByNextFireAtBetween(
+                now + 1,
+                now + partitionProperties.getLookaheadMillis(),
+                partitionProperties.getBucketCount(),
+                buckets
+            )
+        ) {
+            // the alarms without a stored hash are not filtered by the database, and are dropped by reschedule
+            triggers.forEach(trigger -> reschedule(trigger.getId(), Instant.ofEpochMilli(trigger.getNextFireAt())));
+        }
+    }
+
+    /**
+     * Schedule, reschedule or unschedule an alarm after it was saved.
+     * <p>
+     * When called inside a transaction, the timing wheel is only updated once the transaction commits.
+     *
+     * @param alarm the saved alarm.
+     */
+    public void schedule(Alarm alarm) {
+        String alarmId = alarm.getId();
+        Instant fireAt = Boolean.TRUE.equals(alarm.getEnabled()) && alarm.getNextFireAt() != null
+            ? Instant.ofEpochMilli(alarm.getNextFireAt())
+            : null;
+        afterCommit(() -> {
+            if (fireAt == null) {
+                unschedule(alarmId);
+            } else {
+                reschedule(alarmId, fireAt);
+            }
+        });
+    }
+
+    /**
+     * Remove an alarm from the timing wheel after it was deleted.
+     *
+     * @param alarmId the id of the deleted alarm.
+     */
+    public void cancel(String alarmId) {
+        afterCommit(() -> unschedule(alarmId));
+    }
+
+    /**
+     * Advance the timing wheel to the current time and fire every expired alarm.
+     */
+    @Scheduled(fixedDelayString = "${application.dispatcher.tick-millis:100}")
+    public void tick() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        List<AlarmFiredEvent> fired = new ArrayList<>();
+        synchronized (lock) {
+            wheel.advanceTo(System.currentTimeMillis(), alarmId -> {
+                HierarchicalTimingWheel.Timeout<String> timeout = timeouts.remove(alarmId);
+                fired.add(new AlarmFiredEvent(alarmId, Instant.ofEpochMilli(timeout.getDeadlineMillis())));
+            });
+        }
+        fired.forEach(admissionController::submit);
+    }
+
+    public int pendingCount() {
+        synchronized (lock) {
+            return wheel.size();
+        }
+    }
+
+    private void loadBuckets(Set<Integer> buckets) {
+        log.debug("Loading enabled alarms of buckets {} into the timing wheel", buckets);
+        long loadedAfter = System.currentTimeMillis();
+        try (
+            Stream<AlarmRepository.AlarmTrigger> triggers = alarmRepository.streamOfBucketsByNextFireAtGreaterThan(
+                loadedAfter,
+                partitionProperties.getBucketCount(),
+                buckets
+            )
+        ) {
+            triggers
+                // the alarms without a stored hash are not filtered by the database
+                .filter(trigger -> buckets.contains(partitionService.bucketOf(trigger.getId())))
+                .forEach(trigger -> reschedule(trigger.getId(), Instant.ofEpochMilli(trigger.getNextFireAt())));
+        }
+        loaded(loadedAfter);
+    }
+
+    private void loaded(long loadedAfter) {
+        log.info("Loaded enabled alarms, {} in the timing wheel", pendingCount());
+        eventPublisher.publishEvent(new AlarmsLoadedEvent(Instant.ofEpochMilli(loadedAfter)));
+    }
+
+    private void reschedule(String alarmId, Instant fireAt) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        boolean owned = partitionService.owns(alarmId);
+        synchronized (lock) {
+            HierarchicalTimingWheel.Timeout<String> previous = timeouts.remove(alarmId);
+            if (previous != null) {
+                wheel.cancel(previous);
+            }
+            if (owned && fireAt.toEpochMilli() > System.currentTimeMillis()) {
+                timeouts.put(alarmId, wheel.schedule(alarmId, fireAt.toEpochMilli()));
+            }
+        }
+    }
+
+    private void unschedule(String alarmId) {
+        synchronized (lock) {
+            HierarchicalTimingWheel.Timeout<String> previous = timeouts.remove(alarmId);
+            if (previous != null) {
+                wheel.cancel(previous);
+            }
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        action.run();
+                    }
+                }
+            );
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package smartwake.service.alarm;
+
+import java.time.Instant;
+
+/**
+ * Published by the {@link AlarmDispatcher} when an alarm reaches its firing time.
+ *
+ * @param alarmId the id of the {@link smartwake.domain.Alarm} that fired.
+ * @param scheduledAt the instant the alarm was scheduled to fire at.
+ */
+public record AlarmFiredEvent(String alarmId, Instant scheduledAt) {}
@@ -0,0 +1,266 @@
+package smartwake.service.alarm;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import smartwake.config.ApplicationProperties;
+import smartwake.domain.AlarmPartitionLease;
+import smartwake.domain.AlarmPartitionMember;
+import smartwake.repository.AlarmPartitionLeaseRepository;
+import smartwake.repository.AlarmPartitionMemberRepository;
+import smartwake.repository.AlarmRepository;
+
+/**
+ * Shares the alarms between the nodes of a cluster.
+ * <p>
+ * Alarms are hashed on their id into {@code bucketCount} buckets, and each node fires only the alarms of the buckets
+ * it holds a lease on. On every heartbeat, a node renews its membership and its leases, then claims free or expired
+ * buckets, or releases its own, until it holds its fair share of the buckets among the live members. A node that
+ * dies stops renewing, so its buckets are taken over by the others once its leases expire; a node that shuts down
+ * releases them at once.
+ * <p>
+ * Leases only rely on conditional updates of the {@code alarm_partition_lease} table, so no other coordination
+ * service is needed. When partitioning is disabled, this node owns every alarm.
+ */
+@Service
+public class AlarmPartitionService {
+
+    public static final String OWNED_METER_NAME = "alarm.partition.owned";
+
+    private static final int HASH_BATCH_SIZE = 500;
+
+    private final Logger log = LoggerFactory.getLogger(AlarmPartitionService.class);
+
+    private final AlarmPartitionLeaseRepository leaseRepository;
+
+    private final AlarmPartitionMemberRepository memberRepository;
+
+    private final AlarmRepository alarmRepository;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties.Partition properties;
+
+    private final String nodeId;
+
+    private volatile Set<Integer> owned = Set.of();
+
+    public AlarmPartitionService(
+        AlarmPartitionLeaseRepository leaseRepository,
+        AlarmPartitionMemberRepository memberRepository,
+        AlarmRepository alarmRepository,
+        ApplicationEventPublisher eventPublisher,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.leaseRepository = leaseRepository;
+        this.memberRepository = memberRepository;
+        this.alarmRepository = alarmRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = applicationProperties.getPartition();
+        this.nodeId = properties.getNodeId() != null && !properties.getNodeId().isBlank()
+            ? properties.getNodeId()
+            : UUID.randomUUID().toString();
+        Gauge.builder(OWNED_METER_NAME, this, service -> service.owned.size())
+            .description("Number of alarm buckets owned by this node")
+            .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public Set<Integer> getOwnedBuckets() {
+        return owned;
+    }
+
+    public int bucketOf(String alarmId) {
+        return Math.floorMod(alarmId.hashCode(), properties.getBucketCount());
+    }
+
+    /**
+     * Check whether this node should fire an alarm.
+     *
+     * @param alarmId the id of the alarm.
+     * @return {@code true} if partitioning is disabled, or if this node holds the lease of the bucket of the alarm.
+     */
+    public boolean owns(String alarmId) {
+        return !properties.isEnabled() || owned.contains(bucketOf(alarmId));
+    }
+
+    /**
+     * Find the node that owns an alarm, to forward it the requests that only its owner can handle.
+     *
+     * @param alarmId the id of the alarm.
+     * @return the address of the owner, empty if the bucket of the alarm has no live owner, or if its owner did not
+     * configure an address.
+     */
+    public Optional<String> findOwnerAddress(String alarmId) {
+        return leaseRepository.findOwnerAddress(bucketOf(alarmId), System.currentTimeMillis());
+    }
+
+    /**
+     * Create the missing lease rows, store the partition hash of the alarms saved without one, then claim a first
+     * share of the buckets.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(0)
+    public void initialize() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Set<Integer> existing = new HashSet<>(leaseRepository.findAllBuckets());
+                List<AlarmPartitionLease> missing = new ArrayList<>();
+                for (int bucket = 0; bucket < properties.getBucketCount(); bucket++) {
+                    if (!existing.contains(bucket)) {
+                        missing.add(new AlarmPartitionLease().bucket(bucket));
+                    }
+                }
+                leaseRepository.saveAll(missing);
+            });
+        } catch (DataAccessException e) {
+            // another node created them at the same time
+            log.debug("Could not create alarm partition leases: {}", e.getMessage());
+        }
+        storePartitionHashes();
+        heartbeat();
+    }
+
+    /**
+     * Renew the membership and the leases of this node, and rebalance the buckets.
+     */
+    @Scheduled(fixedDelayString = "${application.partition.heartbeat-millis:5000}")
+    public void heartbeat() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            heartbeat(System.currentTimeMillis());
+        } catch (DataAccessException e) {
+            log.warn("Could not renew alarm partition leases: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Release the leases of this node, so that the other nodes take over its buckets without waiting for expiry.
+     */
+    @PreDestroy
+    public void release() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!owned.isEmpty()) {
+                    leaseRepository.release(nodeId, owned);
+                }
+                memberRepository.deleteById(nodeId);
+            });
+        } catch (DataAccessException e) {
+            log.warn("Could not release alarm partition leases: {}", e.getMessage());
+        }
+        owned = Set.of();
+    }
+
+    /**
+     * The partition hash of an alarm is written from its id whenever the alarm is flushed, so loading the alarms
+     * without one is enough to store it.
+     */
+    void storePartitionHashes() {
+        try {
+            String afterId = "";
+            List<String> ids;
+            do {
+                ids = alarmRepository.findIdsWithoutPartitionHashAfter(afterId, Limit.of(HASH_BATCH_SIZE));
+                if (!ids.isEmpty()) {
+                    List<String> batch = ids;
+                    transactionTemplate.executeWithoutResult(status -> alarmRepository.findAllById(batch));
+                    afterId = ids.get(ids.size() - 1);
+                }
+            } while (ids.size() == HASH_BATCH_SIZE);
+        } catch (DataAccessException e) {
+            log.warn("Could not store alarm partition hashes: {}", e.getMessage());
+        }
+    }
+
+    Set<Integer> heartbeat(long now) {
+        Set<Integer> previous = owned;
+        Set<Integer> current = transactionTemplate.execute(status -> rebalance(previous, now));
+        owned = Collections.unmodifiableSet(current);
+
+        Set<Integer> gained = new TreeSet<>(current);
+        gained.removeAll(previous);
+        Set<Integer> lost = new TreeSet<>(previous);
+        lost.removeAll(current);
+        if (!gained.isEmpty() || !lost.isEmpty()) {
+            log.info("Alarm buckets of node {}: gained {}, lost {}, now owns {}", nodeId, gained, lost, current.size());
+            eventPublisher.publishEvent(new AlarmPartitionsChangedEvent(gained, lost));
+        }
+        return owned;
+    }
+
+    private Set<Integer> rebalance(Set<Integer> previous, long now) {
+        long expiresAt = now + properties.getLeaseMillis();
+        if (memberRepository.renew(nodeId, properties.getAddress(), expiresAt) == 0) {
+            memberRepository.save(new AlarmPartitionMember().nodeId(nodeId).expiresAt(expiresAt).address(properties.getAddress()));
+        }
+        memberRepository.deleteExpired(now - properties.getLeaseMillis());
+        long members = Math.max(memberRepository.countByExpiresAtGreaterThanEqual(now), 1);
+        int share = (int) ((properties.getBucketCount() + members - 1) / members);
+
+        if (!previous.isEmpty()) {
+            leaseRepository.renew(nodeId, previous, expiresAt, now);
+        }
+        TreeSet<Integer> current = new TreeSet<>(leaseRepository.findOwnedBuckets(nodeId, now));
+        current.removeIf(bucket -> bucket >= properties.getBucketCount());
+
+        if (current.size() > share) {
+            List<Integer> extra = new ArrayList<>(current.descendingSet()).subList(0, current.size() - share);
+            leaseRepository.release(nodeId, extra);
+            extra.forEach(current::remove);
+        } else if (current.size() < share) {
+            List<Integer> claimable = leaseRepository.findClaimableBuckets(properties.getBucketCount(), now);
+            // nodes starting together would otherwise all race for the same buckets
+            Collections.shuffle(claimable);
+            for (Integer bucket : claimable) {
+                if (current.size() >= share) {
+                    break;
+                }
+                if (leaseRepository.claim(bucket, nodeId, expiresAt, now) == 1) {
+                    current.add(bucket);
+                }
+            }
+        }
+        return current;
+    }
+}
@@ -0,0 +1,11 @@
+package smartwake.service.alarm;
+
+import java.util.Set;
+
+/**
+ * Published by the {@link AlarmPartitionService} when this node gains or loses buckets.
+ *
+ * @param gained the buckets this node now owns.
+ * @param lost the buckets this node no longer owns.
+ */
+public record AlarmPartitionsChangedEvent(Set<Integer> gained, Set<Integer> lost) {}
@@ -0,0 +1,128 @@
+package smartwake.service.alarm;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import smartwake.domain.Alarm;
+
+/**
+ * Compiled recurrence of an {@link Alarm}.
+ * <p>
+ * A recurring alarm fires at the local time-of-day of its {@code alarmTime}, in its {@code timeZone}, on every
+ * weekday of its {@code repeatMask} starting from the local date of its {@code alarmTime}, except on its
+ * {@code skipDates}. An alarm without a {@code repeatMask} fires once at its {@code alarmTime}.
+ * <p>
+ * Once compiled, {@link #nextAfter(long)} works on primitives only: the weekday search is a bit rotation of the
+ * mask, skip dates are a binary search in a sorted {@code long[]}, and local to UTC conversion goes through the
+ * shared {@link ZoneOffsetTable} of the zone. Computing the next occurrence from the previous one is therefore
+ * constant time and allocation-free.
+ */
+public final class AlarmRecurrence {
+
+    /**
+     * Returned by {@link #nextAfter(long)} when the alarm will not fire again.
+     */
+    public static final long NONE = Long.MIN_VALUE;
+
+    public static final int EVERY_DAY = 0x7F;
+
+    private static final int SECONDS_PER_DAY = 86_400;
+
+    private final int mask;
+
+    private final long startEpochDay;
+
+    private final int secondOfDay;
+
+    private final int milliOfSecond;
+
+    private final long oneShotEpochMilli;
+
+    private final long[] skipEpochDays;
+
+    private final ZoneOffsetTable zone;
+
+    private AlarmRecurrence(ZonedDateTime alarmTime, ZoneId zoneId, int mask, Collection<LocalDate> skipDates) {
+        ZonedDateTime local = alarmTime.withZoneSameInstant(zoneId);
+        this.mask = mask & EVERY_DAY;
+        this.startEpochDay = local.toLocalDate().toEpochDay();
+        this.secondOfDay = local.toLocalTime().toSecondOfDay();
+        this.milliOfSecond = local.getNano() / 1_000_000;
+        this.oneShotEpochMilli = alarmTime.toInstant().toEpochMilli();
+        this.skipEpochDays = skipDates == null
+            ? new long[0]
+            : skipDates.stream().mapToLong(LocalDate::toEpochDay).sorted().toArray();
+        this.zone = ZoneOffsetTable.of(zoneId);
+    }
+
+    /**
+     * Compile the recurrence of an alarm.
+     *
+     * @param alarm the alarm, with a non-null {@code alarmTime}.
+     * @return the compiled recurrence.
+     * @throws java.time.DateTimeException if the {@code timeZone} of the alarm is not a valid zone id.
+     */
+    public static AlarmRecurrence of(Alarm alarm) {
+        ZoneId zoneId = alarm.getTimeZone() != null ? ZoneId.of(alarm.getTimeZone()) : alarm.getAlarmTime().getZone();
+        int mask = alarm.getRepeatMask() != null ? alarm.getRepeatMask() : 0;
+        return new AlarmRecurrence(alarm.getAlarmTime(), zoneId, mask, alarm.getSkipDates());
+    }
+
+    /**
+     * Build a weekday mask.
+     *
+     * @param days the weekdays.
+     * @return the mask, with bit {@code 0} for Monday up to bit {@code 6} for Sunday.
+     */
+    public static int maskOf(DayOfWeek... days) {
+        int mask = 0;
+        for (DayOfWeek day : days) {
+            mask |= 1 << (day.getValue() - 1);
+        }
+        return mask;
+    }
+
+    public boolean isRecurring() {
+        return mask != 0;
+    }
+
+    /**
+     * Compute the next occurrence strictly after an instant, typically the previous occurrence.
+     *
+     * @param epochMilli the instant, in UTC epoch milliseconds.
+     * @return the next occurrence in UTC epoch milliseconds, or {@link #NONE}.
+     */
+    public long nextAfter(long epochMilli) {
+        if (mask == 0) {
+            return oneShotEpochMilli > epochMilli && !isSkipped(startEpochDay) ? oneShotEpochMilli : NONE;
+        }
+        long localSecond = zone.toLocal(Math.floorDiv(epochMilli, 1000));
+        long day = Math.max(Math.floorDiv(localSecond, SECONDS_PER_DAY), startEpochDay);
+        // each iteration either consumes a skip date, or moves past the day of epochMilli
+        for (int i = 0; i < skipEpochDays.length + 3; i++) {
+            day = nextMaskDay(day);
+            if (!isSkipped(day)) {
+                long fireAt = zone.toEpochSecond(day * SECONDS_PER_DAY + secondOfDay) * 1000 + milliOfSecond;
+                if (fireAt > epochMilli) {
+                    return fireAt;
+                }
+            }
+            day++;
+        }
+        return NONE;
+    }
+
+    private long nextMaskDay(long epochDay) {
+        // 1970-01-01 was a Thursday, so Monday is 0
+        int weekday = (int) Math.floorMod(epochDay + 3, 7);
+        int rotated = ((mask >>> weekday) | (mask << (7 - weekday))) & EVERY_DAY;
+        return epochDay + Integer.numberOfTrailingZeros(rotated);
+    }
+
+    private boolean isSkipped(long epochDay) {
+        return skipEpochDays.length > 0 && Arrays.binarySearch(skipEpochDays, epochDay) >= 0;
+    }
+}
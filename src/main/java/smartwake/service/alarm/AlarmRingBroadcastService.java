@@ -0,0 +1,191 @@
+package smartwake.service.alarm;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import smartwake.config.ApplicationProperties;
+import smartwake.domain.AlarmRingBroadcast;
+import smartwake.repository.AlarmRingBroadcastRepository;
+import smartwake.service.LogCursor;
+
+/**
+ * Delivers ring events to the event streams connected to every node.
+ * <p>
+ * When alarms are partitioned, an alarm rings on the node that owns its bucket, while the event streams of its owner
+ * may be connected to any node. The ring events of this node are queued, appended to the {@link AlarmRingBroadcast}
+ * log in one transaction every {@code broadcastMillis}, and the events appended by the other nodes are read back in id
+ * order, see {@link LogCursor}, and published on this node as {@link AlarmRingEvent}s.
+ * <p>
+ * Only the node that rings an alarm writes its events, in the order they happened, so the streams see the states of
+ * an alarm in order. Delivery is best effort: events that cannot be written are dropped, as clients resynchronize
+ * from the alarm list on reconnect anyway.
+ */
+@Service
+public class AlarmRingBroadcastService {
+
+    private static final long GAP_TIMEOUT_MILLIS = 60_000;
+
+    private static final int MAX_PENDING = 10_000;
+
+    private final Logger log = LoggerFactory.getLogger(AlarmRingBroadcastService.class);
+
+    private final AlarmRingBroadcastRepository broadcastRepository;
+
+    private final AlarmPartitionService partitionService;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties.Events properties;
+
+    private final LogCursor cursor = new LogCursor(GAP_TIMEOUT_MILLIS);
+
+    private List<AlarmRingBroadcast> pending = new ArrayList<>();
+
+    private boolean started;
+
+    private final Object lock = new Object();
+
+    public AlarmRingBroadcastService(
+        AlarmRingBroadcastRepository broadcastRepository,
+        AlarmPartitionService partitionService,
+        ApplicationEventPublisher eventPublisher,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this.broadcastRepository = broadcastRepository;
+        this.partitionService = partitionService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = applicationProperties.getEvents();
+    }
+
+    /**
+     * Start reading the log after its current end: the events broadcast earlier are stale for new streams.
+     * <p>
+     * This is done by the first exchange, as the schema may still be migrated in the background on startup.
+     */
+    public synchronized void start() {
+        if (partitionService.isEnabled()) {
+            cursor.reset(Objects.requireNonNullElse(broadcastRepository.findMaxId(), 0L));
+            started = true;
+        }
+    }
+
+    /**
+     * Queue a ring event of this node, for the streams connected to the other nodes.
+     *
+     * @param event the event.
+     */
+    public void broadcast(AlarmRingEvent event) {
+        if (!partitionService.isEnabled()) {
+            return;
+        }
+        AlarmRingBroadcast broadcast = new AlarmRingBroadcast()
+            .alarmId(event.alarmId())
+            .owner(event.owner())
+            .state(event.state())
+            .occurredAt(event.at().toEpochMilli())
+            .snoozedUntil(event.snoozedUntil() != null ? event.snoozedUntil().toEpochMilli() : null)
+            .origin(partitionService.getNodeId());
+        synchronized (lock) {
+            if (pending.size() < MAX_PENDING) {
+                pending.add(broadcast);
+            } else {
+                log.debug("Dropped the ring event of alarm {}, too many events waiting to be broadcast", event.alarmId());
+            }
+        }
+    }
+
+    /**
+     * Write the queued events of this node, then publish the events of the other nodes written since the previous
+     * exchange.
+     */
+    @Scheduled(fixedDelayString = "${application.events.broadcast-millis:1000}")
+    public void exchange() {
+        if (!partitionService.isEnabled()) {
+            return;
+        }
+        List<AlarmRingBroadcast> written;
+        synchronized (lock) {
+            written = pending;
+            pending = new ArrayList<>();
+        }
+        if (!written.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> broadcastRepository.saveAll(written));
+            } catch (DataAccessException e) {
+                log.warn("Could not broadcast {} ring events: {}", written.size(), e.getMessage());
+            }
+        }
+        receive(System.currentTimeMillis());
+    }
+
+    /**
+     * Events older than {@code broadcastRetentionMillis} have been read by every live node, and are deleted regularly.
+     */
+    @Scheduled(fixedDelayString = "${application.events.broadcast-retention-millis:600000}")
+    @Transactional
+    public void purge() {
+        if (!partitionService.isEnabled()) {
+            return;
+        }
+        int purged = broadcastRepository.deleteByOccurredAtBefore(System.currentTimeMillis() - properties.getBroadcastRetentionMillis());
+        if (purged > 0) {
+            log.debug("Purged {} ring broadcasts", purged);
+        }
+    }
+
+    private synchronized void receive(long now) {
+        try {
+            if (!started) {
+                start();
+            }
+            Set<Long> gaps = cursor.gaps(now);
+            if (!gaps.isEmpty()) {
+                for (AlarmRingBroadcast broadcast : broadcastRepository.findAllById(gaps)) {
+                    cursor.filled(broadcast.getId());
+                    publish(broadcast);
+                }
+            }
+            List<AlarmRingBroadcast> broadcasts = broadcastRepository.findByIdGreaterThanOrderByIdAsc(
+                cursor.getLastId(),
+                Limit.of(properties.getBroadcastBatchSize())
+            );
+            for (AlarmRingBroadcast broadcast : broadcasts) {
+                cursor.advance(broadcast.getId(), now);
+                publish(broadcast);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not read the ring broadcasts: {}", e.getMessage());
+        }
+    }
+
+    private void publish(AlarmRingBroadcast broadcast) {
+        if (partitionService.getNodeId().equals(broadcast.getOrigin())) {
+            return;
+        }
+        eventPublisher.publishEvent(
+            new AlarmRingEvent(
+                broadcast.getAlarmId(),
+                broadcast.getOwner(),
+                broadcast.getState(),
+                Instant.ofEpochMilli(broadcast.getOccurredAt()),
+                broadcast.getSnoozedUntil() != null ? Instant.ofEpochMilli(broadcast.getSnoozedUntil()) : null
+            )
+        );
+    }
+}
@@ -0,0 +1,15 @@
+package smartwake.service.alarm;
+
+import java.time.Instant;
+import smartwake.domain.enumeration.RingState;
+
+/**
+ * Published by the {@link AlarmRingService} every time a fired alarm changes {@link RingState}.
+ *
+ * @param alarmId the id of the alarm.
+ * @param owner the username of the {@link smartwake.domain.UserLogin} of the alarm, if any.
+ * @param state the new state.
+ * @param at when the state changed.
+ * @param snoozedUntil when the alarm rings again if it is snoozed, otherwise {@code null}.
+ */
+public record AlarmRingEvent(String alarmId, String owner, RingState state, Instant at, Instant snoozedUntil) {}
@@ -0,0 +1,393 @@
+package smartwake.service.alarm;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import smartwake.config.ApplicationProperties;
+import smartwake.domain.Alarm;
+import smartwake.domain.enumeration.RingState;
+import smartwake.repository.AlarmRepository;
+import smartwake.service.AlarmVersionService;
+import smartwake.service.CacheInvalidationService;
+
+/**
+ * Ring state machine of fired alarms: {@code RINGING -> SNOOZED -> RINGING -> ... -> DISMISSED}.
+ * <p>
+ * Snooze taps are the most frequent write of the application, so the state of ringing alarms is held in memory.
+ * Snoozed alarms wait in a priority queue keyed on the time they ring again, and state changes are written to the
+ * database later, in batches, by {@link #flush()}. Only the last state of each alarm is written, so an alarm
+ * snoozed several times between two flushes costs a single update.
+ * <p>
+ * Ringing and snoozed alarms are restored from the database when the application is ready. When alarms are
+ * partitioned, only the node that owns an alarm holds its ring state: the other nodes forward it the snooze and
+ * dismiss requests, and its ring events reach them through the {@link AlarmRingBroadcastService}. The ring states of
+ * a bucket are then restored when the bucket is gained, and written then dropped when it is lost.
+ */
+@Service
+public class AlarmRingService {
+
+    public static final String ACTIVE_METER_NAME = "alarm.ring.active";
+
+    public static final String UNFLUSHED_METER_NAME = "alarm.ring.unflushed";
+
+    private static final long MILLIS_PER_MINUTE = 60_000;
+
+    private final Logger log = LoggerFactory.getLogger(AlarmRingService.class);
+
+    private final AlarmRepository alarmRepository;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final AlarmVersionService alarmVersionService;
+
+    private final AlarmRingBroadcastService broadcastService;
+
+    private final CacheInvalidationService cacheInvalidationService;
+
+    private final AlarmPartitionService partitionService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties.Snooze properties;
+
+    private final Map<String, Ring> rings = new HashMap<>();
+
+    private final PriorityQueue<Wakeup> wakeups = new PriorityQueue<>(Comparator.comparingLong(Wakeup::at));
+
+    private Map<String, RingStatus> unflushed = new LinkedHashMap<>();
+
+    private final Object lock = new Object();
+
+    public AlarmRingService(
+        AlarmRepository alarmRepository,
+        ApplicationEventPublisher eventPublisher,
+        AlarmVersionService alarmVersionService,
+        AlarmRingBroadcastService broadcastService,
+        CacheInvalidationService cacheInvalidationService,
+        AlarmPartitionService partitionService,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.alarmRepository = alarmRepository;
+        this.eventPublisher = eventPublisher;
+        this.alarmVersionService = alarmVersionService;
+        this.broadcastService = broadcastService;
+        this.cacheInvalidationService = cacheInvalidationService;
+        this.partitionService = partitionService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = applicationProperties.getSnooze();
+        Gauge.builder(ACTIVE_METER_NAME, this, AlarmRingService::activeCount)
+            .description("Number of alarms ringing or snoozed")
+            .register(meterRegistry);
+        Gauge.builder(UNFLUSHED_METER_NAME, this, AlarmRingService::unflushedCount)
+            .description("Number of ring state changes not written to the database yet")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Status of a fired alarm.
+     *
+     * @param alarmId the id of the alarm.
+     * @param state the ring state.
+     * @param snoozedUntil when the alarm rings again if it is snoozed, otherwise {@code null}.
+     * @param snoozeCount how many times the alarm was snoozed since it fired.
+     */
+    public record RingStatus(String alarmId, RingState state, Instant snoozedUntil, int snoozeCount) {}
+
+    /**
+     * Restore the ringing and snoozed alarms owned by this node.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void restore() {
+        restore(partitionService::owns);
+        log.debug("Restored {} ringing or snoozed alarms", activeCount());
+    }
+
+    /**
+     * Restore the ring states of the buckets gained by this node, and write then drop the ring states of the buckets
+     * it lost, for their new owner to restore.
+     *
+     * @param event the change of buckets.
+     */
+    @EventListener
+    public void onPartitionsChanged(AlarmPartitionsChangedEvent event) {
+        if (!event.lost().isEmpty()) {
+            synchronized (lock) {
+                rings.keySet().removeIf(alarmId -> event.lost().contains(partitionService.bucketOf(alarmId)));
+            }
+            flush();
+        }
+        if (!event.gained().isEmpty()) {
+            Set<Integer> gained = event.gained();
+            transactionTemplate.executeWithoutResult(status -> restore(alarmId -> gained.contains(partitionService.bucketOf(alarmId))));
+        }
+    }
+
+    /**
+     * Start ringing an alarm that just fired.
+     *
+     * @param alarm the alarm.
+     * @param at when it fired.
+     */
+    public void ring(Alarm alarm, Instant at) {
+        String owner = alarm.getUserLogin() != null ? alarm.getUserLogin().getUsername() : null;
+        Ring ring = new Ring(alarm.getId(), owner, alarm.getSnoozeEnabled(), alarm.getSnoozeDuration());
+        RingStatus status;
+        synchronized (lock) {
+            rings.put(ring.alarmId, ring);
+            status = changed(ring);
+        }
+        publish(ring.owner, status, at);
+    }
+
+    /**
+     * Snooze a ringing alarm.
+     *
+     * @param alarmId the id of the alarm.
+     * @return the new status of the alarm.
+     * @throws InvalidRingTransitionException if the alarm is not ringing, or cannot be snoozed.
+     */
+    public RingStatus snooze(String alarmId) {
+        long now = System.currentTimeMillis();
+        Ring ring;
+        RingStatus status;
+        synchronized (lock) {
+            ring = rings.get(alarmId);
+            if (ring == null || ring.state != RingState.RINGING) {
+                throw new InvalidRingTransitionException("Alarm is not ringing");
+            }
+            if (!ring.snoozeEnabled) {
+                throw new InvalidRingTransitionException("Snooze is disabled for this alarm");
+            }
+            ring.state = RingState.SNOOZED;
+            ring.snoozedUntil = now + ring.snoozeMillis;
+            ring.snoozeCount++;
+            ring.generation++;
+            wakeups.add(new Wakeup(ring.snoozedUntil, alarmId, ring.generation));
+            status = changed(ring);
+        }
+        publish(ring.owner, status, Instant.ofEpochMilli(now));
+        return status;
+    }
+
+    /**
+     * Dismiss a ringing or snoozed alarm.
+     *
+     * @param alarmId the id of the alarm.
+     * @return the new status of the alarm.
+     * @throws InvalidRingTransitionException if the alarm is neither ringing nor snoozed.
+     */
+    public RingStatus dismiss(String alarmId) {
+        Ring ring;
+        RingStatus status;
+        synchronized (lock) {
+            ring = rings.remove(alarmId);
+            if (ring == null) {
+                throw new InvalidRingTransitionException("Alarm is not ringing");
+            }
+            ring.state = RingState.DISMISSED;
+            ring.snoozedUntil = 0;
+            ring.generation++;
+            status = changed(ring);
+        }
+        publish(ring.owner, status, Instant.now());
+        return status;
+    }
+
+    /**
+     * Forget the ring state of a deleted alarm.
+     *
+     * @param alarmId the id of the alarm.
+     */
+    public void forget(String alarmId) {
+        synchronized (lock) {
+            rings.remove(alarmId);
+            unflushed.remove(alarmId);
+        }
+    }
+
+    public Optional<RingStatus> getStatus(String alarmId) {
+        synchronized (lock) {
+            return Optional.ofNullable(rings.get(alarmId)).map(Ring::status);
+        }
+    }
+
+    /**
+     * Ring the snoozed alarms whose snooze has elapsed.
+     */
+    @Scheduled(fixedDelayString = "${application.snooze.tick-millis:100}")
+    public void tick() {
+        tick(System.currentTimeMillis());
+    }
+
+    /**
+     * Write the pending state changes to the database.
+     */
+    @Scheduled(fixedDelayString = "${application.snooze.flush-millis:1000}")
+    public void flush() {
+        Map<String, RingStatus> pending;
+        synchronized (lock) {
+            if (unflushed.isEmpty()) {
+                return;
+            }
+            pending = unflushed;
+            unflushed = new LinkedHashMap<>();
+        }
+        List<RingStatus> statuses = new ArrayList<>(pending.values());
+        for (int from = 0; from < statuses.size(); from += properties.getFlushBatchSize()) {
+            List<RingStatus> batch = statuses.subList(from, Math.min(from + properties.getFlushBatchSize(), statuses.size()));
+            try {
+                transactionTemplate.executeWithoutResult(transactionStatus -> write(batch));
+            } catch (RuntimeException e) {
+                log.warn("Could not write ring states, will retry: {}", e.getMessage());
+                synchronized (lock) {
+                    // a newer state, if any, wins over the one that could not be written
+                    batch.forEach(status -> unflushed.putIfAbsent(status.alarmId(), status));
+                }
+            }
+        }
+    }
+
+    /**
+     * Write the pending state changes before the application stops, so that a restart does not lose them.
+     */
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    public int activeCount() {
+        synchronized (lock) {
+            return rings.size();
+        }
+    }
+
+    public int unflushedCount() {
+        synchronized (lock) {
+            return unflushed.size();
+        }
+    }
+
+    int tick(long nowMillis) {
+        List<Ring> rung = new ArrayList<>();
+        synchronized (lock) {
+            while (!wakeups.isEmpty() && wakeups.peek().at() <= nowMillis) {
+                Wakeup wakeup = wakeups.poll();
+                Ring ring = rings.get(wakeup.alarmId());
+                // the alarm may have been dismissed, or snoozed again, since this wakeup was queued
+                if (ring != null && ring.generation == wakeup.generation() && ring.state == RingState.SNOOZED) {
+                    ring.state = RingState.RINGING;
+                    ring.snoozedUntil = 0;
+                    ring.generation++;
+                    changed(ring);
+                    rung.add(ring);
+                }
+            }
+        }
+        for (Ring ring : rung) {
+            publish(ring.owner, ring.status(), Instant.ofEpochMilli(nowMillis));
+        }
+        return rung.size();
+    }
+
+    private void restore(Predicate<String> restored) {
+        try (Stream<AlarmRepository.AlarmRing> alarms = alarmRepository.streamByRingStateIn(EnumSet.of(RingState.RINGING, RingState.SNOOZED))) {
+            synchronized (lock) {
+                alarms
+                    // the ring state held by this node is newer than the one written to the database
+                    .filter(alarm -> restored.test(alarm.getId()) && !rings.containsKey(alarm.getId()))
+                    .forEach(alarm -> {
+                        Ring ring = new Ring(alarm.getId(), alarm.getOwner(), alarm.getSnoozeEnabled(), alarm.getSnoozeDuration());
+                        ring.state = alarm.getRingState();
+                        if (ring.state == RingState.SNOOZED) {
+                            ring.snoozedUntil = alarm.getSnoozedUntil() != null ? alarm.getSnoozedUntil() : System.currentTimeMillis();
+                            wakeups.add(new Wakeup(ring.snoozedUntil, ring.alarmId, ring.generation));
+                        }
+                        rings.put(ring.alarmId, ring);
+                    });
+            }
+        }
+    }
+
+    private RingStatus changed(Ring ring) {
+        RingStatus status = ring.status();
+        unflushed.put(ring.alarmId, status);
+        return status;
+    }
+
+    private void write(List<RingStatus> batch) {
+        // the alarms are updated in place rather than loaded and saved, which would overwrite the changes their owner
+        // committed since; Hibernate evicts the updated alarms of this node from the entity cache
+        for (RingStatus status : batch) {
+            Long snoozedUntil = status.snoozedUntil() != null ? status.snoozedUntil().toEpochMilli() : null;
+            if (alarmRepository.updateRingState(status.alarmId(), status.state(), snoozedUntil) > 0) {
+                cacheInvalidationService.publish(Alarm.class.getName(), status.alarmId());
+            }
+        }
+        alarmRepository.findOwnerIds(batch.stream().map(RingStatus::alarmId).toList()).forEach(alarmVersionService::changed);
+    }
+
+    private void publish(String owner, RingStatus status, Instant at) {
+        AlarmRingEvent event = new AlarmRingEvent(status.alarmId(), owner, status.state(), at, status.snoozedUntil());
+        eventPublisher.publishEvent(event);
+        broadcastService.broadcast(event);
+    }
+
+    private record Wakeup(long at, String alarmId, long generation) {}
+
+    private final class Ring {
+
+        private final String alarmId;
+
+        private final String owner;
+
+        private final boolean snoozeEnabled;
+
+        private final long snoozeMillis;
+
+        private RingState state = RingState.RINGING;
+
+        private long snoozedUntil;
+
+        private int snoozeCount;
+
+        private long generation;
+
+        private Ring(String alarmId, String owner, Boolean snoozeEnabled, Integer snoozeMinutes) {
+            this.alarmId = alarmId;
+            this.owner = owner;
+            this.snoozeEnabled = !Boolean.FALSE.equals(snoozeEnabled);
+            this.snoozeMillis = (snoozeMinutes != null && snoozeMinutes > 0 ? snoozeMinutes : properties.getDefaultDurationMinutes()) *
+            MILLIS_PER_MINUTE;
+        }
+
+        private RingStatus status() {
+            return new RingStatus(alarmId, state, state == RingState.SNOOZED ? Instant.ofEpochMilli(snoozedUntil) : null, snoozeCount);
+        }
+    }
+}
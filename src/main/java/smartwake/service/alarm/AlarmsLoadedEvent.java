@@ -0,0 +1,13 @@
+package smartwake.service.alarm;
+
+import java.time.Instant;
+
+/**
+ * Published by the {@link AlarmDispatcher} once the alarms due after {@code loadedAfter} are in its timing wheel,
+ * either at startup or when this node gains buckets of alarms.
+ * <p>
+ * Enabled alarms with a {@code nextFireAt} at or before {@code loadedAfter} were missed and are left to the catch-up.
+ *
+ * @param loadedAfter the instant after which alarms were loaded.
+ */
+public record AlarmsLoadedEvent(Instant loadedAfter) {}
@@ -0,0 +1,226 @@
+package smartwake.service.alarm;
+
+import java.util.function.Consumer;
+
+/**
+ * A hierarchical timing wheel, in the spirit of the Linux kernel timer wheel.
+ * <p>
+ * Time is divided into ticks of {@code tickMillis}. Level {@code 0} has one bucket per tick, and each
+ * following level has buckets that are {@code wheelSize} times wider than the level below it.
+ * A timeout is stored in the lowest level that can hold its deadline, and is cascaded down one level
+ * every time the wheel reaches the start of its bucket, until it expires from level {@code 0}.
+ * <p>
+ * Scheduling and cancelling are {@code O(1)}: buckets are intrusive doubly-linked lists, and a
+ * {@link Timeout} handle knows the bucket it is linked into. Deadlines beyond the span of the top level
+ * are parked in the farthest bucket of the top level and re-placed when that bucket cascades.
+ * <p>
+ * This class is not thread-safe: callers are expected to guard it with their own lock.
+ *
+ * @param <T> the type of the payload attached to each timeout.
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private final long tickMillis;
+
+    private final int bits;
+
+    private final int mask;
+
+    private final Bucket<T>[][] levels;
+
+    private long currentTick;
+
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimingWheel(long tickMillis, int wheelSize, int levelCount, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("tickMillis must be positive");
+        }
+        if (wheelSize < 2 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("wheelSize must be a power of two");
+        }
+        if (levelCount < 1 || (long) Integer.numberOfTrailingZeros(wheelSize) * levelCount > 62) {
+            throw new IllegalArgumentException("levelCount is out of range");
+        }
+        this.tickMillis = tickMillis;
+        this.bits = Integer.numberOfTrailingZeros(wheelSize);
+        this.mask = wheelSize - 1;
+        this.levels = new Bucket[levelCount][wheelSize];
+        for (Bucket<T>[] level : levels) {
+            for (int i = 0; i < wheelSize; i++) {
+                level[i] = new Bucket<>();
+            }
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * Schedule a payload to expire at the given deadline.
+     * <p>
+     * Deadlines are rounded up to the next tick, and deadlines in the past expire on the next tick.
+     *
+     * @param payload the payload to hand back on expiry.
+     * @param deadlineMillis the deadline, in epoch milliseconds.
+     * @return the handle to use for cancellation.
+     */
+    public Timeout<T> schedule(T payload, long deadlineMillis) {
+        long deadlineTick = Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis);
+        Timeout<T> timeout = new Timeout<>(payload, deadlineMillis, Math.max(deadlineTick, currentTick + 1));
+        place(timeout);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Cancel a pending timeout.
+     *
+     * @param timeout the handle returned by {@link #schedule(Object, long)}.
+     * @return {@code true} if the timeout was pending, {@code false} if it already expired or was cancelled.
+     */
+    public boolean cancel(Timeout<T> timeout) {
+        if (timeout.bucket == null) {
+            return false;
+        }
+        timeout.bucket.remove(timeout);
+        size--;
+        return true;
+    }
+
+    /**
+     * Advance the wheel up to the given instant, handing every expired payload to the sink.
+     *
+     * @param nowMillis the current time, in epoch milliseconds.
+     * @param sink the consumer of expired payloads.
+     * @return the number of expired payloads.
+     */
+    public int advanceTo(long nowMillis, Consumer<T> sink) {
+        long targetTick = nowMillis / tickMillis;
+        int expired = 0;
+        while (currentTick < targetTick) {
+            currentTick++;
+            for (int level = levels.length - 1; level > 0; level--) {
+                int shift = level * bits;
+                if ((currentTick & ((1L << shift) - 1)) == 0) {
+                    cascade(levels[level][(int) ((currentTick >>> shift) & mask)]);
+                }
+            }
+            Bucket<T> bucket = levels[0][(int) (currentTick & mask)];
+            Timeout<T> timeout;
+            while ((timeout = bucket.poll()) != null) {
+                size--;
+                expired++;
+                sink.accept(timeout.payload);
+            }
+        }
+        return expired;
+    }
+
+    /**
+     * @return the number of pending timeouts.
+     */
+    public int size() {
+        return size;
+    }
+
+    public long getTickMillis() {
+        return tickMillis;
+    }
+
+    private void cascade(Bucket<T> bucket) {
+        Timeout<T> timeout;
+        while ((timeout = bucket.poll()) != null) {
+            place(timeout);
+        }
+    }
+
+    private void place(Timeout<T> timeout) {
+        long delta = Math.max(timeout.deadlineTick - currentTick, 0);
+        int level = 0;
+        while (level < levels.length - 1 && delta >= (1L << ((level + 1) * bits))) {
+            level++;
+        }
+        long tick = timeout.deadlineTick;
+        long span = 1L << ((level + 1) * bits);
+        if (delta >= span) {
+            // beyond the top level: park in the farthest bucket, it will be re-placed on cascade
+            tick = currentTick + span - 1;
+        }
+        levels[level][(int) ((tick >>> (level * bits)) & mask)].add(timeout);
+    }
+
+    /**
+     * Handle on a scheduled payload.
+     *
+     * @param <T> the type of the payload.
+     */
+    public static final class Timeout<T> {
+
+        private final T payload;
+
+        private final long deadlineMillis;
+
+        private final long deadlineTick;
+
+        private Bucket<T> bucket;
+
+        private Timeout<T> prev;
+
+        private Timeout<T> next;
+
+        private Timeout(T payload, long deadlineMillis, long deadlineTick) {
+            this.payload = payload;
+            this.deadlineMillis = deadlineMillis;
+            this.deadlineTick = deadlineTick;
+        }
+
+        public T getPayload() {
+            return payload;
+        }
+
+        public long getDeadlineMillis() {
+            return deadlineMillis;
+        }
+
+        public boolean isPending() {
+            return bucket != null;
+        }
+    }
+
+    private static final class Bucket<T> {
+
+        private Timeout<T> head;
+
+        private void add(Timeout<T> timeout) {
+            timeout.bucket = this;
+            timeout.prev = null;
+            timeout.next = head;
+            if (head != null) {
+                head.prev = timeout;
+            }
+            head = timeout;
+        }
+
+        private void remove(Timeout<T> timeout) {
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            }
+            timeout.bucket = null;
+            timeout.prev = null;
+            timeout.next = null;
+        }
+
+        private Timeout<T> poll() {
+            Timeout<T> timeout = head;
+            if (timeout != null) {
+                remove(timeout);
+            }
+            return timeout;
+        }
+    }
+}
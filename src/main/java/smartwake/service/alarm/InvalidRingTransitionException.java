@@ -0,0 +1,10 @@
+package smartwake.service.alarm;
+
+public class InvalidRingTransitionException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public InvalidRingTransitionException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,27 @@
+package smartwake.service.alarm;
+
+import java.time.Instant;
+import smartwake.domain.Alarm;
+
+/**
+ * Computes the value of {@link Alarm#getNextFireAt()}.
+ */
+public final class NextFireCalculator {
+
+    private NextFireCalculator() {}
+
+    /**
+     * Compute the next firing time of an alarm strictly after the given instant, following its {@link AlarmRecurrence}.
+     *
+     * @param alarm the alarm.
+     * @param after the instant after which the alarm should fire.
+     * @return the next firing time in UTC epoch milliseconds, or {@code null} if the alarm will not fire again.
+     */
+    public static Long nextFireAt(Alarm alarm, Instant after) {
+        if (!Boolean.TRUE.equals(alarm.getEnabled()) || alarm.getAlarmTime() == null) {
+            return null;
+        }
+        long fireAt = AlarmRecurrence.of(alarm).nextAfter(after.toEpochMilli());
+        return fireAt == AlarmRecurrence.NONE ? null : fireAt;
+    }
+}
@@ -0,0 +1,135 @@
+package smartwake.service.alarm;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Primitive, pre-computed view of the offset transitions of a time-zone.
+ * <p>
+ * {@link ZoneRules} allocates an {@link Instant} or a {@link LocalDateTime} for every lookup. Recurring alarms
+ * convert between local and UTC times on every firing, so the transitions of each zone are flattened once into
+ * sorted primitive arrays and looked up with a binary search instead. Outside of the pre-computed range, lookups
+ * fall back to the {@link ZoneRules}.
+ * <p>
+ * Local to UTC conversion follows {@link java.time.ZonedDateTime#ofLocal}: local times in a gap are shifted
+ * forward by the length of the gap, and local times in an overlap use the earlier offset.
+ */
+public final class ZoneOffsetTable {
+
+    private static final long MIN_EPOCH_SECOND = LocalDateTime.of(1970, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+
+    private static final long MAX_EPOCH_SECOND = LocalDateTime.of(2100, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+
+    private static final ConcurrentMap<ZoneId, ZoneOffsetTable> TABLES = new ConcurrentHashMap<>();
+
+    private final ZoneRules rules;
+
+    private final int initialOffset;
+
+    private final long[] transitionEpochSeconds;
+
+    private final long[] localWindowStarts;
+
+    private final long[] localWindowEnds;
+
+    private final int[] offsetsBefore;
+
+    private final int[] offsetsAfter;
+
+    private ZoneOffsetTable(ZoneRules rules) {
+        this.rules = rules;
+        this.initialOffset = rules.getOffset(Instant.ofEpochSecond(MIN_EPOCH_SECOND)).getTotalSeconds();
+        List<ZoneOffsetTransition> transitions = new ArrayList<>();
+        if (!rules.isFixedOffset()) {
+            ZoneOffsetTransition transition = rules.nextTransition(Instant.ofEpochSecond(MIN_EPOCH_SECOND));
+            while (transition != null && transition.toEpochSecond() < MAX_EPOCH_SECOND) {
+                transitions.add(transition);
+                transition = rules.nextTransition(transition.getInstant());
+            }
+        }
+        int count = transitions.size();
+        this.transitionEpochSeconds = new long[count];
+        this.localWindowStarts = new long[count];
+        this.localWindowEnds = new long[count];
+        this.offsetsBefore = new int[count];
+        this.offsetsAfter = new int[count];
+        for (int i = 0; i < count; i++) {
+            ZoneOffsetTransition transition = transitions.get(i);
+            long epochSecond = transition.toEpochSecond();
+            int before = transition.getOffsetBefore().getTotalSeconds();
+            int after = transition.getOffsetAfter().getTotalSeconds();
+            transitionEpochSeconds[i] = epochSecond;
+            localWindowStarts[i] = epochSecond + Math.min(before, after);
+            localWindowEnds[i] = epochSecond + Math.max(before, after);
+            offsetsBefore[i] = before;
+            offsetsAfter[i] = after;
+        }
+    }
+
+    /**
+     * Get the table of a zone, computing it on first use.
+     *
+     * @param zone the zone.
+     * @return the shared table of the zone.
+     */
+    public static ZoneOffsetTable of(ZoneId zone) {
+        return TABLES.computeIfAbsent(zone, z -> new ZoneOffsetTable(z.getRules()));
+    }
+
+    /**
+     * Get the offset in effect at an instant.
+     *
+     * @param epochSecond the instant, in UTC epoch seconds.
+     * @return the offset, in seconds.
+     */
+    public int offsetAt(long epochSecond) {
+        if (epochSecond < MIN_EPOCH_SECOND || epochSecond >= MAX_EPOCH_SECOND) {
+            return rules.getOffset(Instant.ofEpochSecond(epochSecond)).getTotalSeconds();
+        }
+        int index = Arrays.binarySearch(transitionEpochSeconds, epochSecond);
+        index = index >= 0 ? index : -index - 2;
+        return index < 0 ? initialOffset : offsetsAfter[index];
+    }
+
+    /**
+     * Convert an instant to local epoch seconds.
+     *
+     * @param epochSecond the instant, in UTC epoch seconds.
+     * @return the local date-time, as seconds since {@code 1970-01-01T00:00} local time.
+     */
+    public long toLocal(long epochSecond) {
+        return epochSecond + offsetAt(epochSecond);
+    }
+
+    /**
+     * Convert local epoch seconds to an instant.
+     *
+     * @param localEpochSecond the local date-time, as seconds since {@code 1970-01-01T00:00} local time.
+     * @return the instant, in UTC epoch seconds.
+     */
+    public long toEpochSecond(long localEpochSecond) {
+        if (localEpochSecond < MIN_EPOCH_SECOND || localEpochSecond >= MAX_EPOCH_SECOND) {
+            LocalDateTime local = LocalDateTime.ofEpochSecond(localEpochSecond, 0, ZoneOffset.UTC);
+            return local.atZone(rules.getOffset(local)).toEpochSecond();
+        }
+        int index = Arrays.binarySearch(localWindowStarts, localEpochSecond);
+        index = index >= 0 ? index : -index - 2;
+        if (index < 0) {
+            return localEpochSecond - initialOffset;
+        }
+        if (localEpochSecond < localWindowEnds[index]) {
+            // in a gap or an overlap: the offset before the transition applies
+            return localEpochSecond - offsetsBefore[index];
+        }
+        return localEpochSecond - offsetsAfter[index];
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Alarm scheduling and firing.
+ */
+package smartwake.service.alarm;
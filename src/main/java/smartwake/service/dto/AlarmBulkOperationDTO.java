@@ -0,0 +1,69 @@
+package smartwake.service.dto;
+
+import jakarta.validation.constraints.NotNull;
+import java.io.Serializable;
+
+/**
+ * A DTO representing one operation of a bulk change of alarms.
+ */
+public class AlarmBulkOperationDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public enum Action {
+        CREATE,
+        UPDATE,
+        PATCH,
+        DELETE,
+    }
+
+    @NotNull
+    private Action action;
+
+    private String id;
+
+    private AlarmDTO alarm;
+
+    public AlarmBulkOperationDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public AlarmBulkOperationDTO(Action action, String id, AlarmDTO alarm) {
+        this.action = action;
+        this.id = id;
+        this.alarm = alarm;
+    }
+
+    public Action getAction() {
+        return action;
+    }
+
+    public void setAction(Action action) {
+        this.action = action;
+    }
+
+    /**
+     * @return the id of the alarm to update, patch or delete; for updates and patches, the id of {@link #getAlarm()}
+     * is used when this one is {@code null}.
+     */
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public AlarmDTO getAlarm() {
+        return alarm;
+    }
+
+    public void setAlarm(AlarmDTO alarm) {
+        this.alarm = alarm;
+    }
+
+    @Override
+    public String toString() {
+        return "AlarmBulkOperationDTO{action=" + action + ", id='" + id + "'}";
+    }
+}
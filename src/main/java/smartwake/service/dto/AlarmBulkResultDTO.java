@@ -0,0 +1,105 @@
+package smartwake.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * A DTO representing the result of one operation of a bulk change of alarms.
+ */
+public class AlarmBulkResultDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private int index;
+
+    private AlarmBulkOperationDTO.Action action;
+
+    private String id;
+
+    private int status;
+
+    private String errorKey;
+
+    private String message;
+
+    public AlarmBulkResultDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public static AlarmBulkResultDTO success(int index, AlarmBulkOperationDTO.Action action, String id, int status) {
+        AlarmBulkResultDTO result = new AlarmBulkResultDTO();
+        result.index = index;
+        result.action = action;
+        result.id = id;
+        result.status = status;
+        return result;
+    }
+
+    public static AlarmBulkResultDTO failure(int index, AlarmBulkOperationDTO.Action action, String id, int status, String errorKey, String message) {
+        AlarmBulkResultDTO result = success(index, action, id, status);
+        result.errorKey = errorKey;
+        result.message = message;
+        return result;
+    }
+
+    /**
+     * @return the position of the operation in the request.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public AlarmBulkOperationDTO.Action getAction() {
+        return action;
+    }
+
+    public void setAction(AlarmBulkOperationDTO.Action action) {
+        this.action = action;
+    }
+
+    /**
+     * @return the id of the alarm, generated for created alarms.
+     */
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    /**
+     * @return the HTTP status the operation would have had as a single request.
+     */
+    public int getStatus() {
+        return status;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public String getErrorKey() {
+        return errorKey;
+    }
+
+    public void setErrorKey(String errorKey) {
+        this.errorKey = errorKey;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    @Override
+    public String toString() {
+        return "AlarmBulkResultDTO{index=" + index + ", action=" + action + ", id='" + id + "', status=" + status + ", errorKey='" + errorKey + "'}";
+    }
+}
@@ -0,0 +1,95 @@
+package smartwake.service.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO representing the changes of the alarms of a user since a position of their change sequence.
+ * <p>
+ * Clients apply {@link #getDeleted()} before {@link #getAlarms()}, then ask for the changes since {@link #getCursor()}.
+ */
+public class AlarmChangesDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private long cursor;
+
+    private boolean more;
+
+    private boolean reset;
+
+    private List<AlarmDTO> alarms = new ArrayList<>();
+
+    private List<String> deleted = new ArrayList<>();
+
+    public AlarmChangesDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public AlarmChangesDTO(long cursor) {
+        this.cursor = cursor;
+    }
+
+    /**
+     * @return the position to ask the next changes from.
+     */
+    public long getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(long cursor) {
+        this.cursor = cursor;
+    }
+
+    /**
+     * @return whether there are more changes after {@link #getCursor()}.
+     */
+    public boolean isMore() {
+        return more;
+    }
+
+    public void setMore(boolean more) {
+        this.more = more;
+    }
+
+    /**
+     * @return whether the changes since the requested position are no longer known, in which case the client lists
+     * all its alarms again before syncing from {@link #getCursor()}.
+     */
+    public boolean isReset() {
+        return reset;
+    }
+
+    public void setReset(boolean reset) {
+        this.reset = reset;
+    }
+
+    /**
+     * @return the alarms created or updated.
+     */
+    public List<AlarmDTO> getAlarms() {
+        return alarms;
+    }
+
+    public void setAlarms(List<AlarmDTO> alarms) {
+        this.alarms = alarms;
+    }
+
+    /**
+     * @return the ids of the alarms deleted, or given to another user.
+     */
+    public List<String> getDeleted() {
+        return deleted;
+    }
+
+    public void setDeleted(List<String> deleted) {
+        this.deleted = deleted;
+    }
+
+    @Override
+    public String toString() {
+        return "AlarmChangesDTO{cursor=" + cursor + ", more=" + more + ", reset=" + reset + ", alarms=" + alarms.size() +
+            ", deleted=" + deleted.size() + "}";
+    }
+}
@@ -0,0 +1,231 @@
+package smartwake.service.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.*;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.Objects;
+import java.util.SortedSet;
+import smartwake.domain.enumeration.RingState;
+
+/**
+ * A DTO for the {@link smartwake.domain.Alarm} entity.
+ * <p>
+ * Fields left {@code null} are left unchanged by a partial update; {@code skipDates} in particular is only replaced
+ * when present, an empty list clearing it.
+ */
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class AlarmDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String id;
+
+    private ZonedDateTime time;
+
+    private ZonedDateTime alarmTime;
+
+    private Boolean enabled;
+
+    private String sound;
+
+    private String label;
+
+    @Min(value = 0)
+    @Max(value = 127)
+    private Integer repeatMask;
+
+    private SortedSet<LocalDate> skipDates;
+
+    @Size(max = 64)
+    private String timeZone;
+
+    private Boolean snoozeEnabled;
+
+    private Integer snoozeDuration;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long nextFireAt;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private RingState ringState;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long snoozedUntil;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long changeSeq;
+
+    private UserLoginDTO userLogin;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public ZonedDateTime getTime() {
+        return time;
+    }
+
+    public void setTime(ZonedDateTime time) {
+        this.time = time;
+    }
+
+    public ZonedDateTime getAlarmTime() {
+        return alarmTime;
+    }
+
+    public void setAlarmTime(ZonedDateTime alarmTime) {
+        this.alarmTime = alarmTime;
+    }
+
+    public Boolean getEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(Boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getSound() {
+        return sound;
+    }
+
+    public void setSound(String sound) {
+        this.sound = sound;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public void setLabel(String label) {
+        this.label = label;
+    }
+
+    public Integer getRepeatMask() {
+        return repeatMask;
+    }
+
+    public void setRepeatMask(Integer repeatMask) {
+        this.repeatMask = repeatMask;
+    }
+
+    public SortedSet<LocalDate> getSkipDates() {
+        return skipDates;
+    }
+
+    public void setSkipDates(SortedSet<LocalDate> skipDates) {
+        this.skipDates = skipDates;
+    }
+
+    public String getTimeZone() {
+        return timeZone;
+    }
+
+    public void setTimeZone(String timeZone) {
+        this.timeZone = timeZone;
+    }
+
+    public Boolean getSnoozeEnabled() {
+        return snoozeEnabled;
+    }
+
+    public void setSnoozeEnabled(Boolean snoozeEnabled) {
+        this.snoozeEnabled = snoozeEnabled;
+    }
+
+    public Integer getSnoozeDuration() {
+        return snoozeDuration;
+    }
+
+    public void setSnoozeDuration(Integer snoozeDuration) {
+        this.snoozeDuration = snoozeDuration;
+    }
+
+    public Long getNextFireAt() {
+        return nextFireAt;
+    }
+
+    public void setNextFireAt(Long nextFireAt) {
+        this.nextFireAt = nextFireAt;
+    }
+
+    public RingState getRingState() {
+        return ringState;
+    }
+
+    public void setRingState(RingState ringState) {
+        this.ringState = ringState;
+    }
+
+    public Long getSnoozedUntil() {
+        return snoozedUntil;
+    }
+
+    public void setSnoozedUntil(Long snoozedUntil) {
+        this.snoozedUntil = snoozedUntil;
+    }
+
+    public Long getChangeSeq() {
+        return changeSeq;
+    }
+
+    public void setChangeSeq(Long changeSeq) {
+        this.changeSeq = changeSeq;
+    }
+
+    public UserLoginDTO getUserLogin() {
+        return userLogin;
+    }
+
+    public void setUserLogin(UserLoginDTO userLogin) {
+        this.userLogin = userLogin;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof AlarmDTO)) {
+            return false;
+        }
+
+        AlarmDTO alarmDTO = (AlarmDTO) o;
+        if (this.id == null) {
+            return false;
+        }
+        return Objects.equals(this.id, alarmDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "AlarmDTO{" +
+            "id='" + getId() + "'" +
+            ", time='" + getTime() + "'" +
+            ", alarmTime='" + getAlarmTime() + "'" +
+            ", enabled='" + getEnabled() + "'" +
+            ", sound='" + getSound() + "'" +
+            ", label='" + getLabel() + "'" +
+            ", repeatMask=" + getRepeatMask() +
+            ", skipDates='" + getSkipDates() + "'" +
+            ", timeZone='" + getTimeZone() + "'" +
+            ", snoozeEnabled='" + getSnoozeEnabled() + "'" +
+            ", snoozeDuration=" + getSnoozeDuration() +
+            ", nextFireAt=" + getNextFireAt() +
+            ", ringState='" + getRingState() + "'" +
+            ", userLogin=" + getUserLogin() +
+            "}";
+    }
+}
@@ -0,0 +1,65 @@
+package smartwake.service.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO representing the outcome of an import of alarms.
+ */
+public class AlarmImportResultDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private long imported;
+
+    private long rejected;
+
+    private List<LineError> errors = new ArrayList<>();
+
+    /**
+     * Reason why a line was not imported.
+     *
+     * @param line the number of the line, starting at 1; {@code 0} when a whole batch was rejected.
+     * @param message the reason.
+     */
+    public record LineError(long line, String message) implements Serializable {}
+
+    /**
+     * @return the number of alarms created.
+     */
+    public long getImported() {
+        return imported;
+    }
+
+    public void setImported(long imported) {
+        this.imported = imported;
+    }
+
+    /**
+     * @return the number of lines not imported.
+     */
+    public long getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(long rejected) {
+        this.rejected = rejected;
+    }
+
+    /**
+     * @return the reasons why lines were not imported, only the first ones when many were rejected.
+     */
+    public List<LineError> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<LineError> errors) {
+        this.errors = errors;
+    }
+
+    @Override
+    public String toString() {
+        return "AlarmImportResultDTO{imported=" + imported + ", rejected=" + rejected + ", errors=" + errors.size() + "}";
+    }
+}
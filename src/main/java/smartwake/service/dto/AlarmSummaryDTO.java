@@ -0,0 +1,179 @@
+package smartwake.service.dto;
+
+import java.io.Serializable;
+import java.time.ZonedDateTime;
+import java.util.Objects;
+import smartwake.domain.enumeration.RingState;
+
+/**
+ * A DTO for listing {@link smartwake.domain.Alarm} entities, without the fields only needed by the alarm itself:
+ * its skip dates, snooze deadline and change sequence position.
+ */
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class AlarmSummaryDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String id;
+
+    private ZonedDateTime time;
+
+    private ZonedDateTime alarmTime;
+
+    private Boolean enabled;
+
+    private String sound;
+
+    private String label;
+
+    private Integer repeatMask;
+
+    private String timeZone;
+
+    private Boolean snoozeEnabled;
+
+    private Integer snoozeDuration;
+
+    private Long nextFireAt;
+
+    private RingState ringState;
+
+    private UserLoginDTO userLogin;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public ZonedDateTime getTime() {
+        return time;
+    }
+
+    public void setTime(ZonedDateTime time) {
+        this.time = time;
+    }
+
+    public ZonedDateTime getAlarmTime() {
+        return alarmTime;
+    }
+
+    public void setAlarmTime(ZonedDateTime alarmTime) {
+        this.alarmTime = alarmTime;
+    }
+
+    public Boolean getEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(Boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getSound() {
+        return sound;
+    }
+
+    public void setSound(String sound) {
+        this.sound = sound;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public void setLabel(String label) {
+        this.label = label;
+    }
+
+    public Integer getRepeatMask() {
+        return repeatMask;
+    }
+
+    public void setRepeatMask(Integer repeatMask) {
+        this.repeatMask = repeatMask;
+    }
+
+    public String getTimeZone() {
+        return timeZone;
+    }
+
+    public void setTimeZone(String timeZone) {
+        this.timeZone = timeZone;
+    }
+
+    public Boolean getSnoozeEnabled() {
+        return snoozeEnabled;
+    }
+
+    public void setSnoozeEnabled(Boolean snoozeEnabled) {
+        this.snoozeEnabled = snoozeEnabled;
+    }
+
+    public Integer getSnoozeDuration() {
+        return snoozeDuration;
+    }
+
+    public void setSnoozeDuration(Integer snoozeDuration) {
+        this.snoozeDuration = snoozeDuration;
+    }
+
+    public Long getNextFireAt() {
+        return nextFireAt;
+    }
+
+    public void setNextFireAt(Long nextFireAt) {
+        this.nextFireAt = nextFireAt;
+    }
+
+    public RingState getRingState() {
+        return ringState;
+    }
+
+    public void setRingState(RingState ringState) {
+        this.ringState = ringState;
+    }
+
+    public UserLoginDTO getUserLogin() {
+        return userLogin;
+    }
+
+    public void setUserLogin(UserLoginDTO userLogin) {
+        this.userLogin = userLogin;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof AlarmSummaryDTO)) {
+            return false;
+        }
+
+        AlarmSummaryDTO alarmSummaryDTO = (AlarmSummaryDTO) o;
+        if (this.id == null) {
+            return false;
+        }
+        return Objects.equals(this.id, alarmSummaryDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "AlarmSummaryDTO{" +
+            "id='" + getId() + "'" +
+            ", alarmTime='" + getAlarmTime() + "'" +
+            ", enabled='" + getEnabled() + "'" +
+            ", label='" + getLabel() + "'" +
+            ", nextFireAt=" + getNextFireAt() +
+            "}";
+    }
+}
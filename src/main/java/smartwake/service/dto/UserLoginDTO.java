@@ -0,0 +1,52 @@
+package smartwake.service.dto;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A DTO for a reference to the {@link smartwake.domain.UserLogin} entity, holding only its id.
+ */
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class UserLoginDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof UserLoginDTO)) {
+            return false;
+        }
+
+        UserLoginDTO userLoginDTO = (UserLoginDTO) o;
+        if (this.id == null) {
+            return false;
+        }
+        return Objects.equals(this.id, userLoginDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "UserLoginDTO{" +
+            "id=" + getId() +
+            "}";
+    }
+}
@@ -0,0 +1,57 @@
+package smartwake.service.mapper;
+
+import java.util.List;
+import org.mapstruct.*;
+import smartwake.domain.Alarm;
+import smartwake.domain.UserLogin;
+import smartwake.repository.AlarmRepository;
+import smartwake.service.dto.AlarmDTO;
+import smartwake.service.dto.AlarmSummaryDTO;
+import smartwake.service.dto.UserLoginDTO;
+
+/**
+ * Mapper for the entity {@link Alarm} and its DTO {@link AlarmDTO}.
+ * <p>
+ * The owner of an alarm is mapped by id only, which a lazy {@link UserLogin} proxy returns without being loaded.
+ * The fields computed by the application are never copied to the entity.
+ */
+@Mapper(componentModel = "spring", collectionMappingStrategy = CollectionMappingStrategy.TARGET_IMMUTABLE)
+public interface AlarmMapper extends EntityMapper<AlarmDTO, Alarm> {
+    @Mapping(target = "userLogin", source = "userLogin", qualifiedByName = "userLoginId")
+    AlarmDTO toDto(Alarm s);
+
+    @Mapping(target = "userLogin", source = "userLogin", qualifiedByName = "toEntityUserLoginId")
+    @Mapping(target = "nextFireAt", ignore = true)
+    @Mapping(target = "ringState", ignore = true)
+    @Mapping(target = "snoozedUntil", ignore = true)
+    @Mapping(target = "changeSeq", ignore = true)
+    Alarm toEntity(AlarmDTO dto);
+
+    // a full update of a loaded alarm, which keeps its ring state; the owner is resolved by the caller
+    @InheritConfiguration(name = "toEntity")
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "userLogin", ignore = true)
+    void update(@MappingTarget Alarm entity, AlarmDTO dto);
+
+    // the owner of an alarm is only changed by a full update
+    @Named("partialUpdate")
+    @InheritConfiguration(name = "toEntity")
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "userLogin", ignore = true)
+    void partialUpdate(@MappingTarget Alarm entity, AlarmDTO dto);
+
+    @Mapping(target = "userLogin.id", source = "userLoginId")
+    AlarmSummaryDTO toSummaryDto(AlarmRepository.AlarmSummary summary);
+
+    List<AlarmSummaryDTO> toSummaryDto(List<AlarmRepository.AlarmSummary> summaries);
+
+    @Named("userLoginId")
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "id", source = "id")
+    UserLoginDTO toDtoUserLoginId(UserLogin userLogin);
+
+    @Named("toEntityUserLoginId")
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "id", source = "id")
+    UserLogin toEntityUserLoginId(UserLoginDTO userLoginDTO);
+}
@@ -1,22 +1,27 @@
 package smartwake.web.rest;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.validation.Valid;
 import java.util.*;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
 import smartwake.domain.User;
 import smartwake.repository.UserRepository;
 import smartwake.security.SecurityUtils;
 import smartwake.service.MailService;
+import smartwake.service.SingleFlight;
 import smartwake.service.UserService;
 import smartwake.service.dto.AdminUserDTO;
 import smartwake.service.dto.PasswordChangeDTO;
 import smartwake.web.rest.errors.*;
 import smartwake.web.rest.vm.KeyAndPasswordVM;
 import smartwake.web.rest.vm.ManagedUserVM;
+import smartwake.web.rest.vm.RefreshTokenVM;
 
 /**
  * REST controller for managing the current user's account.
@@ -40,10 +45,13 @@ public class AccountResource {
 
     private final MailService mailService;
 
-    public AccountResource(UserRepository userRepository, UserService userService, MailService mailService) {
+    private final SingleFlight<String, Optional<AdminUserDTO>> accountReads;
+
+    public AccountResource(UserRepository userRepository, UserService userService, MailService mailService, MeterRegistry meterRegistry) {
         this.userRepository = userRepository;
         this.userService = userService;
         this.mailService = mailService;
+        this.accountReads = new SingleFlight<>("account", meterRegistry);
     }
 
     /**
@@ -86,9 +94,8 @@ public class AccountResource {
      */
     @GetMapping("/account")
     public AdminUserDTO getAccount() {
-        return userService
-            .getUserWithAuthorities()
-            .map(AdminUserDTO::new)
+        return SecurityUtils.getCurrentUserLogin()
+            .flatMap(login -> accountReads.load(login, key -> userService.getUserWithAuthoritiesByLogin(key).map(AdminUserDTO::new)))
             .orElseThrow(() -> new AccountResourceException("User could not be found"));
     }
 
@@ -134,6 +141,19 @@ public class AccountResource {
         userService.changePassword(passwordChangeDto.getCurrentPassword(), passwordChangeDto.getNewPassword());
     }
 
+    /**
+     * {@code POST  /logout} : logs the current user out.
+     * <p>
+     * The access token of the request is revoked, and so is the refresh token issued with it when one is given.
+     *
+     * @param jwt the access token of the request.
+     * @param refreshTokenVM the refresh token issued with the access token, if any.
+     */
+    @PostMapping("/logout")
+    public void logout(@AuthenticationPrincipal Jwt jwt, @RequestBody(required = false) RefreshTokenVM refreshTokenVM) {
+        userService.logout(jwt, refreshTokenVM != null ? refreshTokenVM.getRefreshToken() : null);
+    }
+
     /**
      * {@code POST   /account/reset-password/init} : Send an email to reset the password of the user.
      *
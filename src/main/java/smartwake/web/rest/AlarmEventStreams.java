@@ -0,0 +1,230 @@
+package smartwake.web.rest;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import smartwake.config.ApplicationProperties;
+import smartwake.domain.enumeration.RingState;
+import smartwake.service.alarm.AlarmRingEvent;
+
+/**
+ * Server-Sent Events streams of the ring events of the alarms of each user.
+ * <p>
+ * Streams rely on Servlet async requests, so an idle stream holds no thread, only its {@link SseEmitter} and a
+ * small queue. Events are queued by the thread that published them and written by the task executor, one
+ * writer at a time per stream; when a client reads too slowly, its queue is bounded and the oldest events are
+ * dropped. Heartbeats are sent by a single scheduled task, and only to the streams that had no event since the
+ * previous heartbeat.
+ * <p>
+ * When alarms are partitioned, the ring events of the alarms owned by other nodes reach this node through the
+ * {@link smartwake.service.alarm.AlarmRingBroadcastService}, a few seconds later at most.
+ */
+@Component
+public class AlarmEventStreams {
+
+    public static final String CONNECTIONS_METER_NAME = "alarm.events.connections";
+
+    public static final String DROPPED_METER_NAME = "alarm.events.dropped";
+
+    private final Logger log = LoggerFactory.getLogger(AlarmEventStreams.class);
+
+    private final Executor taskExecutor;
+
+    private final ApplicationProperties.Events properties;
+
+    private final Map<String, List<Stream>> streamsByLogin = new ConcurrentHashMap<>();
+
+    private final AtomicInteger connectionCount = new AtomicInteger();
+
+    private final Counter droppedCounter;
+
+    public AlarmEventStreams(
+        @Qualifier("taskExecutor") Executor taskExecutor,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.taskExecutor = taskExecutor;
+        this.properties = applicationProperties.getEvents();
+        Gauge.builder(CONNECTIONS_METER_NAME, connectionCount, AtomicInteger::get)
+            .description("Number of open alarm event streams")
+            .register(meterRegistry);
+        this.droppedCounter = Counter.builder(DROPPED_METER_NAME)
+            .description("Number of alarm events dropped because a client read them too slowly")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Ring event sent to the clients.
+     *
+     * @param alarmId the id of the alarm.
+     * @param state the new ring state.
+     * @param at when the state changed.
+     * @param snoozedUntil when the alarm rings again if it is snoozed, otherwise {@code null}.
+     */
+    public record AlarmEvent(String alarmId, RingState state, Instant at, Instant snoozedUntil) {}
+
+    /**
+     * Open a stream of the ring events of the alarms of a user.
+     * <p>
+     * When the user already has {@code maxConnectionsPerUser} streams, the oldest one is completed.
+     *
+     * @param login the login of the user.
+     * @return the emitter of the stream.
+     */
+    public SseEmitter open(String login) {
+        SseEmitter emitter = new SseEmitter(properties.getTimeoutMillis());
+        Stream stream = new Stream(login, emitter);
+        List<Stream> streams = streamsByLogin.compute(login, (key, current) -> {
+            List<Stream> updated = current != null ? current : new CopyOnWriteArrayList<>();
+            updated.add(stream);
+            return updated;
+        });
+        connectionCount.incrementAndGet();
+        while (streams.size() > properties.getMaxConnectionsPerUser()) {
+            Stream oldest = streams.get(0);
+            oldest.emitter.complete();
+            close(oldest);
+        }
+        emitter.onCompletion(() -> close(stream));
+        emitter.onTimeout(() -> close(stream));
+        emitter.onError(e -> close(stream));
+        return emitter;
+    }
+
+    @EventListener
+    public void onAlarmRing(AlarmRingEvent event) {
+        if (event.owner() == null) {
+            return;
+        }
+        List<Stream> streams = streamsByLogin.get(event.owner());
+        if (streams == null) {
+            return;
+        }
+        AlarmEvent data = new AlarmEvent(event.alarmId(), event.state(), event.at(), event.snoozedUntil());
+        for (Stream stream : streams) {
+            stream.offer(SseEmitter.event().name(eventName(event.state())).data(data, MediaType.APPLICATION_JSON), true);
+        }
+    }
+
+    /**
+     * Send a heartbeat to the streams that had no event since the previous heartbeat, so that proxies keep them open.
+     */
+    @Scheduled(fixedDelayString = "${application.events.heartbeat-millis:30000}")
+    public void heartbeat() {
+        for (List<Stream> streams : streamsByLogin.values()) {
+            for (Stream stream : streams) {
+                if (!stream.active) {
+                    stream.offer(SseEmitter.event().comment(""), false);
+                }
+                stream.active = false;
+            }
+        }
+    }
+
+    public int getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    private static String eventName(RingState state) {
+        return switch (state) {
+            case RINGING -> "fire";
+            case SNOOZED -> "snooze";
+            case DISMISSED -> "dismiss";
+        };
+    }
+
+    private void close(Stream stream) {
+        streamsByLogin.computeIfPresent(stream.login, (login, current) -> {
+            if (current.remove(stream)) {
+                connectionCount.decrementAndGet();
+            }
+            return current.isEmpty() ? null : current;
+        });
+    }
+
+    private final class Stream {
+
+        private final String login;
+
+        private final SseEmitter emitter;
+
+        private final ArrayDeque<SseEmitter.SseEventBuilder> pending = new ArrayDeque<>();
+
+        private boolean writing;
+
+        private volatile boolean active;
+
+        private Stream(String login, SseEmitter emitter) {
+            this.login = login;
+            this.emitter = emitter;
+        }
+
+        private void offer(SseEmitter.SseEventBuilder event, boolean activity) {
+            if (activity) {
+                active = true;
+            }
+            synchronized (this) {
+                if (pending.size() >= properties.getQueueCapacity()) {
+                    pending.poll();
+                    droppedCounter.increment();
+                }
+                pending.add(event);
+                if (writing) {
+                    return;
+                }
+                writing = true;
+            }
+            try {
+                taskExecutor.execute(this::write);
+            } catch (RejectedExecutionException e) {
+                synchronized (this) {
+                    writing = false;
+                }
+                log.debug("Could not write alarm events of {}: {}", login, e.getMessage());
+            }
+        }
+
+        private void write() {
+            while (true) {
+                SseEmitter.SseEventBuilder event;
+                synchronized (this) {
+                    event = pending.poll();
+                    if (event == null) {
+                        writing = false;
+                        return;
+                    }
+                }
+                try {
+                    emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    log.debug("Closing alarm event stream of {}: {}", login, e.getMessage());
+                    synchronized (this) {
+                        pending.clear();
+                        writing = false;
+                    }
+                    emitter.completeWithError(e);
+                    close(this);
+                    return;
+                }
+            }
+        }
+    }
+}
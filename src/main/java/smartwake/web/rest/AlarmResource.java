@@ -1,18 +1,52 @@
 package smartwake.web.rest;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
-import smartwake.domain.Alarm;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import smartwake.repository.AlarmRepository;
+import smartwake.security.AuthoritiesConstants;
+import smartwake.security.SecurityUtils;
+import smartwake.service.AlarmService;
+import smartwake.service.AlarmSyncService;
+import smartwake.service.AlarmTransferService;
+import smartwake.service.AlarmVersionService;
+import smartwake.service.SingleFlight;
+import smartwake.service.alarm.AlarmRingService;
+import smartwake.service.alarm.InvalidRingTransitionException;
+import smartwake.service.dto.AlarmBulkOperationDTO;
+import smartwake.service.dto.AlarmBulkResultDTO;
+import smartwake.service.dto.AlarmChangesDTO;
+import smartwake.service.dto.AlarmDTO;
+import smartwake.service.dto.AlarmImportResultDTO;
+import smartwake.service.dto.AlarmSummaryDTO;
 import smartwake.web.rest.errors.BadRequestAlertException;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.ResponseUtil;
@@ -22,157 +56,291 @@ import tech.jhipster.web.util.ResponseUtil;
  */
 @RestController
 @RequestMapping("/api/alarms")
-@Transactional
 public class AlarmResource {
 
     private final Logger log = LoggerFactory.getLogger(AlarmResource.class);
 
     private static final String ENTITY_NAME = "alarm";
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+
+    private static final int MAX_PAGE_SIZE = 200;
+
+    private static final int MAX_BULK_OPERATIONS = 500;
+
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
+    private final AlarmService alarmService;
+
     private final AlarmRepository alarmRepository;
 
-    public AlarmResource(AlarmRepository alarmRepository) {
+    private final AlarmRingService alarmRingService;
+
+    private final AlarmRingForwarder alarmRingForwarder;
+
+    private final AlarmSyncService alarmSyncService;
+
+    private final AlarmEventStreams alarmEventStreams;
+
+    private final AlarmTransferService alarmTransferService;
+
+    private final AlarmVersionService alarmVersionService;
+
+    private final SingleFlight<String, Optional<AlarmDTO>> alarmReads;
+
+    public AlarmResource(
+        AlarmService alarmService,
+        AlarmRepository alarmRepository,
+        AlarmRingService alarmRingService,
+        AlarmRingForwarder alarmRingForwarder,
+        AlarmSyncService alarmSyncService,
+        AlarmEventStreams alarmEventStreams,
+        AlarmTransferService alarmTransferService,
+        AlarmVersionService alarmVersionService,
+        MeterRegistry meterRegistry
+    ) {
+        this.alarmService = alarmService;
+        this.alarmSyncService = alarmSyncService;
         this.alarmRepository = alarmRepository;
+        this.alarmRingService = alarmRingService;
+        this.alarmRingForwarder = alarmRingForwarder;
+        this.alarmEventStreams = alarmEventStreams;
+        this.alarmTransferService = alarmTransferService;
+        this.alarmVersionService = alarmVersionService;
+        this.alarmReads = new SingleFlight<>("alarm", meterRegistry);
     }
 
     /**
      * {@code POST  /alarms} : Create a new alarm.
      *
-     * @param alarm the alarm to create.
-     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new alarm, or with status {@code 400 (Bad Request)} if the alarm has already an ID.
+     * @param alarmDTO the alarmDTO to create.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new alarmDTO, or with status {@code 400 (Bad Request)} if the alarm has already an ID.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PostMapping("")
-    public ResponseEntity<Alarm> createAlarm(@RequestBody Alarm alarm) throws URISyntaxException {
-        log.debug("REST request to save Alarm : {}", alarm);
-        if (alarm.getId() != null) {
+    public ResponseEntity<AlarmDTO> createAlarm(@Valid @RequestBody AlarmDTO alarmDTO) throws URISyntaxException {
+        log.debug("REST request to save Alarm : {}", alarmDTO);
+        if (alarmDTO.getId() != null) {
             throw new BadRequestAlertException("A new alarm cannot already have an ID", ENTITY_NAME, "idexists");
         }
-        alarm = alarmRepository.save(alarm);
-        return ResponseEntity.created(new URI("/api/alarms/" + alarm.getId()))
-            .headers(HeaderUtil.createEntityCreationAlert(applicationName, false, ENTITY_NAME, alarm.getId()))
-            .body(alarm);
+        validateTimeZone(alarmDTO);
+        alarmDTO = alarmService.save(alarmDTO);
+        return ResponseEntity.created(new URI("/api/alarms/" + alarmDTO.getId()))
+            .headers(HeaderUtil.createEntityCreationAlert(applicationName, false, ENTITY_NAME, alarmDTO.getId()))
+            .body(alarmDTO);
     }
 
     /**
      * {@code PUT  /alarms/:id} : Updates an existing alarm.
      *
      * @param id the id of the alarm to save.
-     * @param alarm the alarm to update.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated alarm,
+     * @param alarmDTO the alarmDTO to update.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated alarmDTO,
      * or with status {@code 400 (Bad Request)} if the alarm is not valid,
      * or with status {@code 500 (Internal Server Error)} if the alarm couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
-    public ResponseEntity<Alarm> updateAlarm(@PathVariable(value = "id", required = false) final String id, @RequestBody Alarm alarm)
-        throws URISyntaxException {
-        log.debug("REST request to update Alarm : {}, {}", id, alarm);
-        if (alarm.getId() == null) {
+    public ResponseEntity<AlarmDTO> updateAlarm(
+        @PathVariable(value = "id", required = false) final String id,
+        @Valid @RequestBody AlarmDTO alarmDTO
+    ) throws URISyntaxException {
+        log.debug("REST request to update Alarm : {}, {}", id, alarmDTO);
+        if (alarmDTO.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
-        if (!Objects.equals(id, alarm.getId())) {
+        if (!Objects.equals(id, alarmDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
         if (!alarmRepository.existsById(id)) {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
+        validateTimeZone(alarmDTO);
 
-        alarm = alarmRepository.save(alarm);
+        alarmDTO = alarmService.update(alarmDTO);
         return ResponseEntity.ok()
-            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, alarm.getId()))
-            .body(alarm);
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, alarmDTO.getId()))
+            .body(alarmDTO);
     }
 
     /**
      * {@code PATCH  /alarms/:id} : Partial updates given fields of an existing alarm, field will ignore if it is null
      *
      * @param id the id of the alarm to save.
-     * @param alarm the alarm to update.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated alarm,
+     * @param alarmDTO the alarmDTO to update.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated alarmDTO,
      * or with status {@code 400 (Bad Request)} if the alarm is not valid,
      * or with status {@code 404 (Not Found)} if the alarm is not found,
      * or with status {@code 500 (Internal Server Error)} if the alarm couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
-    public ResponseEntity<Alarm> partialUpdateAlarm(
+    public ResponseEntity<AlarmDTO> partialUpdateAlarm(
         @PathVariable(value = "id", required = false) final String id,
-        @RequestBody Alarm alarm
+        @NotNull @RequestBody AlarmDTO alarmDTO
     ) throws URISyntaxException {
-        log.debug("REST request to partial update Alarm partially : {}, {}", id, alarm);
-        if (alarm.getId() == null) {
+        log.debug("REST request to partial update Alarm partially : {}, {}", id, alarmDTO);
+        if (alarmDTO.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
-        if (!Objects.equals(id, alarm.getId())) {
+        if (!Objects.equals(id, alarmDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
         if (!alarmRepository.existsById(id)) {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
+        validateTimeZone(alarmDTO);
 
-        Optional<Alarm> result = alarmRepository
-            .findById(alarm.getId())
-            .map(existingAlarm -> {
-                if (alarm.getTime() != null) {
-                    existingAlarm.setTime(alarm.getTime());
-                }
-                if (alarm.getAlarmTime() != null) {
-                    existingAlarm.setAlarmTime(alarm.getAlarmTime());
-                }
-                if (alarm.getEnabled() != null) {
-                    existingAlarm.setEnabled(alarm.getEnabled());
-                }
-                if (alarm.getSound() != null) {
-                    existingAlarm.setSound(alarm.getSound());
-                }
-                if (alarm.getLabel() != null) {
-                    existingAlarm.setLabel(alarm.getLabel());
-                }
-                if (alarm.getRepeatDays() != null) {
-                    existingAlarm.setRepeatDays(alarm.getRepeatDays());
-                }
-                if (alarm.getSnoozeEnabled() != null) {
-                    existingAlarm.setSnoozeEnabled(alarm.getSnoozeEnabled());
-                }
-                if (alarm.getSnoozeDuration() != null) {
-                    existingAlarm.setSnoozeDuration(alarm.getSnoozeDuration());
-                }
+        Optional<AlarmDTO> result = alarmService.partialUpdate(alarmDTO);
 
-                return existingAlarm;
-            })
-            .map(alarmRepository::save);
+        return ResponseUtil.wrapOrNotFound(result, HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, alarmDTO.getId()));
+    }
 
-        return ResponseUtil.wrapOrNotFound(result, HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, alarm.getId()));
+    /**
+     * {@code POST  /alarms/bulk} : Apply a list of create, update, patch and delete operations in one transaction.
+     *
+     * @param operations the operations to apply, in order.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each operation,
+     * or with status {@code 400 (Bad Request)} if there are too many operations.
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<List<AlarmBulkResultDTO>> bulkAlarms(@NotNull @RequestBody List<AlarmBulkOperationDTO> operations) {
+        log.debug("REST request to apply {} Alarm operations", operations.size());
+        if (operations.size() > MAX_BULK_OPERATIONS) {
+            throw new BadRequestAlertException("Too many operations", ENTITY_NAME, "bulktoolarge");
+        }
+        return ResponseEntity.ok(alarmService.bulk(operations));
     }
 
     /**
-     * {@code GET  /alarms} : get all the alarms.
+     * {@code GET  /alarms} : get a page of the alarms of the current user.
+     * <p>
+     * Alarms are listed in {@code (alarmTime, id)} order. The {@code Link} header holds the {@code first} page and,
+     * if there are more alarms, the {@code next} page, addressed by an opaque cursor; no total count is returned.
+     * The {@code ETag} changes whenever an alarm of the current user changes.
      *
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of alarms in body.
+     * @param cursor the cursor of the page, from a {@code Link} header, or none for the first page.
+     * @param size the page size.
+     * @param request the request, checked against its {@code If-None-Match} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of alarms in body,
+     * or with status {@code 304 (Not Modified)} if no alarm changed since the {@code If-None-Match} version,
+     * or with status {@code 400 (Bad Request)} if the cursor is not valid.
      */
     @GetMapping("")
-    public List<Alarm> getAllAlarms() {
-        log.debug("REST request to get all Alarms");
-        return alarmRepository.findAll();
+    public ResponseEntity<List<AlarmSummaryDTO>> getAllAlarms(
+        @RequestParam(value = "cursor", required = false) String cursor,
+        @RequestParam(value = "size", defaultValue = "" + DEFAULT_PAGE_SIZE) int size,
+        WebRequest request
+    ) {
+        log.debug("REST request to get a page of Alarms after : {}", cursor);
+        String login = currentLogin();
+        String eTag = alarmsETag(login);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        ZonedDateTime afterAlarmTime = null;
+        String afterId = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            String[] position = decodeCursor(cursor);
+            afterAlarmTime = position[0].isEmpty() ? null : Instant.parse(position[0]).atZone(ZoneOffset.UTC);
+            afterId = position[1];
+        }
+
+        // one more alarm than asked tells whether there is a next page
+        List<AlarmSummaryDTO> alarms = alarmService.findAllOfOwner(login, afterAlarmTime, afterId, pageSize + 1);
+        List<String> links = new ArrayList<>();
+        if (alarms.size() > pageSize) {
+            alarms = alarms.subList(0, pageSize);
+            links.add(link(encodeCursor(alarms.get(pageSize - 1)), pageSize, "next"));
+        }
+        links.add(link(null, pageSize, "first"));
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.LINK, String.join(",", links));
+        return ResponseEntity.ok().headers(headers).eTag(eTag).body(alarms);
+    }
+
+    /**
+     * {@code GET  /alarms/changes} : get the changes of the alarms of the current user since a sync cursor.
+     *
+     * @param since the cursor returned by the previous sync, or {@code 0} for the first one.
+     * @param size the maximum number of changes to return.
+     * @param request the request, checked against its {@code If-None-Match} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the changes and the next cursor,
+     * or with status {@code 304 (Not Modified)} if no alarm changed since the {@code If-None-Match} version.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<AlarmChangesDTO> getAlarmChanges(
+        @RequestParam(value = "since", defaultValue = "0") long since,
+        @RequestParam(value = "size", defaultValue = "" + MAX_PAGE_SIZE) int size,
+        WebRequest request
+    ) {
+        log.debug("REST request to get Alarm changes since : {}", since);
+        String login = currentLogin();
+        String eTag = alarmsETag(login);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(alarmSyncService.getChanges(login, since, Math.max(1, Math.min(size, MAX_PAGE_SIZE))));
+    }
+
+    /**
+     * {@code GET  /alarms/events} : stream the fire, snooze and dismiss events of the alarms of the current user.
+     *
+     * @return the {@link SseEmitter} of the {@code text/event-stream} response.
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAlarmEvents() {
+        String login = currentLogin();
+        log.debug("REST request to stream Alarm events of : {}", login);
+        return alarmEventStreams.open(login);
+    }
+
+    /**
+     * {@code GET  /alarms/export} : export all the alarms, one JSON alarm per line.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the {@code application/x-ndjson} alarms.
+     */
+    @GetMapping(value = "/export", produces = NDJSON_VALUE)
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<StreamingResponseBody> exportAlarms() {
+        log.debug("REST request to export Alarms");
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(NDJSON_VALUE))
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"alarms.ndjson\"")
+            .body(alarmTransferService::exportAlarms);
+    }
+
+    /**
+     * {@code POST  /alarms/import} : create an alarm for each line of an {@code application/x-ndjson} body.
+     *
+     * @param request the request, read as a stream.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the number of alarms imported and the rejected lines.
+     * @throws IOException if the body cannot be read.
+     */
+    @PostMapping(value = "/import", consumes = NDJSON_VALUE)
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<AlarmImportResultDTO> importAlarms(HttpServletRequest request) throws IOException {
+        log.debug("REST request to import Alarms");
+        return ResponseEntity.ok(alarmTransferService.importAlarms(request.getInputStream()));
     }
 
     /**
      * {@code GET  /alarms/:id} : get the "id" alarm.
      *
      * @param id the id of the alarm to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the alarm, or with status {@code 404 (Not Found)}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the alarmDTO, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Alarm> getAlarm(@PathVariable("id") String id) {
+    public ResponseEntity<AlarmDTO> getAlarm(@PathVariable("id") String id) {
         log.debug("REST request to get Alarm : {}", id);
-        Optional<Alarm> alarm = alarmRepository.findById(id);
-        return ResponseUtil.wrapOrNotFound(alarm);
+        Optional<AlarmDTO> alarmDTO = alarmReads.load(id, alarmService::findOne);
+        return ResponseUtil.wrapOrNotFound(alarmDTO);
     }
 
     /**
@@ -184,7 +352,98 @@ public class AlarmResource {
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteAlarm(@PathVariable("id") String id) {
         log.debug("REST request to delete Alarm : {}", id);
-        alarmRepository.deleteById(id);
+        alarmService.delete(id);
         return ResponseEntity.noContent().headers(HeaderUtil.createEntityDeletionAlert(applicationName, false, ENTITY_NAME, id)).build();
     }
+
+    /**
+     * {@code POST  /alarms/:id/snooze} : snooze the "id" ringing alarm.
+     *
+     * @param id the id of the alarm to snooze.
+     * @param request the request, forwarded to the node that owns the alarm if it is not this one.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the ring status of the alarm,
+     * or with status {@code 400 (Bad Request)} if the alarm is not ringing or cannot be snoozed,
+     * or with status {@code 503 (Service Unavailable)} if the node that owns the alarm cannot be reached.
+     */
+    @PostMapping("/{id}/snooze")
+    public ResponseEntity<AlarmRingService.RingStatus> snoozeAlarm(@PathVariable("id") String id, HttpServletRequest request) {
+        log.debug("REST request to snooze Alarm : {}", id);
+        try {
+            if (alarmRingForwarder.mustForward(id)) {
+                return ResponseEntity.ok(alarmRingForwarder.snooze(id, request));
+            }
+            return ResponseEntity.ok(alarmRingService.snooze(id));
+        } catch (InvalidRingTransitionException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "ringtransitioninvalid");
+        }
+    }
+
+    /**
+     * {@code POST  /alarms/:id/dismiss} : dismiss the "id" ringing or snoozed alarm.
+     *
+     * @param id the id of the alarm to dismiss.
+     * @param request the request, forwarded to the node that owns the alarm if it is not this one.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the ring status of the alarm,
+     * or with status {@code 400 (Bad Request)} if the alarm is neither ringing nor snoozed,
+     * or with status {@code 503 (Service Unavailable)} if the node that owns the alarm cannot be reached.
+     */
+    @PostMapping("/{id}/dismiss")
+    public ResponseEntity<AlarmRingService.RingStatus> dismissAlarm(@PathVariable("id") String id, HttpServletRequest request) {
+        log.debug("REST request to dismiss Alarm : {}", id);
+        try {
+            if (alarmRingForwarder.mustForward(id)) {
+                return ResponseEntity.ok(alarmRingForwarder.dismiss(id, request));
+            }
+            return ResponseEntity.ok(alarmRingService.dismiss(id));
+        } catch (InvalidRingTransitionException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "ringtransitioninvalid");
+        }
+    }
+
+    private static String currentLogin() {
+        return SecurityUtils.getCurrentUserLogin().orElseThrow(() -> new AccessDeniedException("No user logged in"));
+    }
+
+    private String alarmsETag(String login) {
+        return "\"" + Long.toHexString(alarmVersionService.getVersion(login)) + "\"";
+    }
+
+    private static String link(String cursor, int size, String relType) {
+        String uri = ServletUriComponentsBuilder.fromCurrentRequest()
+            .replaceQueryParam("cursor", cursor != null ? List.of(cursor) : List.of())
+            .replaceQueryParam("size", size)
+            .toUriString();
+        return "<" + uri + ">; rel=\"" + relType + "\"";
+    }
+
+    private static String encodeCursor(AlarmSummaryDTO last) {
+        String alarmTime = last.getAlarmTime() != null ? last.getAlarmTime().toInstant().toString() : "";
+        return Base64.getUrlEncoder().withoutPadding().encodeToString((alarmTime + " " + last.getId()).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor) {
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(" ", 2);
+            if (position.length == 2 && !position[1].isEmpty()) {
+                if (!position[0].isEmpty()) {
+                    Instant.parse(position[0]);
+                }
+                return position;
+            }
+        } catch (IllegalArgumentException | DateTimeException e) {
+            // reported below
+        }
+        throw new BadRequestAlertException("Invalid cursor", ENTITY_NAME, "cursorinvalid");
+    }
+
+    private void validateTimeZone(AlarmDTO alarmDTO) {
+        if (alarmDTO.getTimeZone() == null) {
+            return;
+        }
+        try {
+            ZoneId.of(alarmDTO.getTimeZone());
+        } catch (DateTimeException e) {
+            throw new BadRequestAlertException("Invalid time zone", ENTITY_NAME, "timezoneinvalid");
+        }
+    }
 }
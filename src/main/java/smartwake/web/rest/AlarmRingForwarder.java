@@ -0,0 +1,130 @@
+package smartwake.web.rest;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.time.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.web.client.ClientHttpRequestFactories;
+import org.springframework.boot.web.client.ClientHttpRequestFactorySettings;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.server.ResponseStatusException;
+import smartwake.config.ApplicationProperties;
+import smartwake.service.alarm.AlarmPartitionService;
+import smartwake.service.alarm.AlarmRingService;
+import smartwake.service.alarm.InvalidRingTransitionException;
+import smartwake.web.rest.errors.AlarmOwnerUnavailableException;
+
+/**
+ * Forwards the snooze and dismiss requests of an alarm to the node that owns it.
+ * <p>
+ * When alarms are partitioned, the ring state of an alarm is only held by the node that owns its bucket. The other
+ * nodes forward these requests, with the credentials of the caller, to the {@code address} the owner registered in
+ * the partition membership. A request is forwarded at most once, so a bucket changing owner meanwhile is answered
+ * with {@code 503 (Service Unavailable)}, rather than bouncing between nodes.
+ */
+@Component
+public class AlarmRingForwarder {
+
+    public static final String FORWARDED_BY_HEADER = "X-Alarm-Forwarded-By";
+
+    private final Logger log = LoggerFactory.getLogger(AlarmRingForwarder.class);
+
+    private final AlarmPartitionService partitionService;
+
+    private final RestClient restClient;
+
+    @Autowired
+    public AlarmRingForwarder(
+        AlarmPartitionService partitionService,
+        RestClient.Builder restClientBuilder,
+        ApplicationProperties applicationProperties
+    ) {
+        this(partitionService, restClient(restClientBuilder, applicationProperties.getPartition().getForwardTimeoutMillis()));
+    }
+
+    AlarmRingForwarder(AlarmPartitionService partitionService, RestClient restClient) {
+        this.partitionService = partitionService;
+        this.restClient = restClient;
+    }
+
+    /**
+     * Check whether a request about an alarm must be handled by another node.
+     *
+     * @param alarmId the id of the alarm.
+     * @return {@code true} if alarms are partitioned and this node does not own the alarm.
+     */
+    public boolean mustForward(String alarmId) {
+        return !partitionService.owns(alarmId);
+    }
+
+    /**
+     * Snooze an alarm on the node that owns it.
+     *
+     * @param alarmId the id of the alarm.
+     * @param request the request to forward.
+     * @return the new status of the alarm.
+     * @throws InvalidRingTransitionException if the alarm is not ringing, or cannot be snoozed.
+     * @throws AlarmOwnerUnavailableException if the owner of the alarm cannot be reached.
+     */
+    public AlarmRingService.RingStatus snooze(String alarmId, HttpServletRequest request) {
+        return forward(alarmId, "snooze", request);
+    }
+
+    /**
+     * Dismiss an alarm on the node that owns it.
+     *
+     * @param alarmId the id of the alarm.
+     * @param request the request to forward.
+     * @return the new status of the alarm.
+     * @throws InvalidRingTransitionException if the alarm is neither ringing nor snoozed.
+     * @throws AlarmOwnerUnavailableException if the owner of the alarm cannot be reached.
+     */
+    public AlarmRingService.RingStatus dismiss(String alarmId, HttpServletRequest request) {
+        return forward(alarmId, "dismiss", request);
+    }
+
+    private AlarmRingService.RingStatus forward(String alarmId, String action, HttpServletRequest request) {
+        if (request.getHeader(FORWARDED_BY_HEADER) != null) {
+            log.debug("Alarm {} is not owned by the node {} forwarded to", alarmId, partitionService.getNodeId());
+            throw new AlarmOwnerUnavailableException();
+        }
+        String address = partitionService.findOwnerAddress(alarmId).orElseThrow(AlarmOwnerUnavailableException::new);
+        log.debug("Forwarding the {} of Alarm {} to {}", action, alarmId, address);
+        try {
+            RestClient.RequestBodySpec forwarded = restClient
+                .post()
+                .uri(address + "/api/alarms/{id}/{action}", alarmId, action)
+                .accept(MediaType.APPLICATION_JSON)
+                .header(FORWARDED_BY_HEADER, partitionService.getNodeId());
+            String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+            if (authorization != null) {
+                forwarded.header(HttpHeaders.AUTHORIZATION, authorization);
+            }
+            return forwarded.retrieve().body(AlarmRingService.RingStatus.class);
+        } catch (HttpClientErrorException.BadRequest e) {
+            ProblemDetail problem = e.getResponseBodyAs(ProblemDetail.class);
+            throw new InvalidRingTransitionException(problem != null && problem.getTitle() != null ? problem.getTitle() : e.getStatusText());
+        } catch (HttpClientErrorException e) {
+            throw new ResponseStatusException(e.getStatusCode(), e.getStatusText(), e);
+        } catch (RestClientException e) {
+            log.warn("Could not forward the {} of Alarm {} to {}: {}", action, alarmId, address, e.getMessage());
+            throw new AlarmOwnerUnavailableException(e);
+        }
+    }
+
+    private static RestClient restClient(RestClient.Builder restClientBuilder, long timeoutMillis) {
+        Duration timeout = Duration.ofMillis(timeoutMillis);
+        return restClientBuilder
+            .requestFactory(
+                ClientHttpRequestFactories.get(ClientHttpRequestFactorySettings.DEFAULTS.withConnectTimeout(timeout).withReadTimeout(timeout))
+            )
+            .build();
+    }
+}
@@ -0,0 +1,22 @@
+package smartwake.web.rest.errors;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * This exception is thrown when a request about an alarm can only be handled by the node that owns it, and that node
+ * cannot be reached.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class AlarmOwnerUnavailableException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public AlarmOwnerUnavailableException() {
+        super("The node that owns this alarm is unavailable, try again later");
+    }
+
+    public AlarmOwnerUnavailableException(Throwable cause) {
+        super("The node that owns this alarm is unavailable, try again later", cause);
+    }
+}
@@ -4,7 +4,7 @@ import { Button, Row, Col } from 'reactstrap';
 import { TextFormat } from 'react-jhipster';
 import { FontAwesomeIcon } from '@fortawesome/react-fontawesome';
 
-import { APP_DATE_FORMAT, APP_LOCAL_DATE_FORMAT } from 'app/config/constants';
+import { APP_DATE_FORMAT } from 'app/config/constants';
 import { useAppDispatch, useAppSelector } from 'app/config/store';
 
 import { getEntity } from './alarm.reducer';
@@ -49,11 +49,17 @@ export const AlarmDetail = () => {
           </dt>
           <dd>{alarmEntity.label}</dd>
           <dt>
-            <span id="repeatDays">Repeat Days</span>
+            <span id="repeatMask">Repeat Mask</span>
           </dt>
-          <dd>
-            {alarmEntity.repeatDays ? <TextFormat value={alarmEntity.repeatDays} type="date" format={APP_LOCAL_DATE_FORMAT} /> : null}
-          </dd>
+          <dd>{alarmEntity.repeatMask}</dd>
+          <dt>
+            <span id="skipDates">Skip Dates</span>
+          </dt>
+          <dd>{alarmEntity.skipDates ? alarmEntity.skipDates.join(', ') : ''}</dd>
+          <dt>
+            <span id="timeZone">Time Zone</span>
+          </dt>
+          <dd>{alarmEntity.timeZone}</dd>
           <dt>
             <span id="snoozeEnabled">Snooze Enabled</span>
           </dt>
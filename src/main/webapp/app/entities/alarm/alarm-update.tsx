@@ -51,6 +51,14 @@ export const AlarmUpdate = () => {
   const saveEntity = values => {
     values.time = convertDateTimeToServer(values.time);
     values.alarmTime = convertDateTimeToServer(values.alarmTime);
+    if (values.repeatMask === '') {
+      values.repeatMask = null;
+    } else if (values.repeatMask !== undefined && typeof values.repeatMask !== 'number') {
+      values.repeatMask = Number(values.repeatMask);
+    }
+    if (values.timeZone === '') {
+      values.timeZone = null;
+    }
     if (values.snoozeDuration !== undefined && typeof values.snoozeDuration !== 'number') {
       values.snoozeDuration = Number(values.snoozeDuration);
     }
@@ -116,7 +124,28 @@ export const AlarmUpdate = () => {
               <ValidatedField label="Enabled" id="alarm-enabled" name="enabled" data-cy="enabled" check type="checkbox" />
               <ValidatedField label="Sound" id="alarm-sound" name="sound" data-cy="sound" type="text" />
               <ValidatedField label="Label" id="alarm-label" name="label" data-cy="label" type="text" />
-              <ValidatedField label="Repeat Days" id="alarm-repeatDays" name="repeatDays" data-cy="repeatDays" type="date" />
+              <ValidatedField
+                label="Repeat Mask"
+                id="alarm-repeatMask"
+                name="repeatMask"
+                data-cy="repeatMask"
+                type="text"
+                validate={{
+                  min: { value: 0, message: 'This field should be at least 0.' },
+                  max: { value: 127, message: 'This field cannot be more than 127.' },
+                  validate: v => v === '' || v === null || v === undefined || isNumber(v) || 'This field should be a number.',
+                }}
+              />
+              <ValidatedField
+                label="Time Zone"
+                id="alarm-timeZone"
+                name="timeZone"
+                data-cy="timeZone"
+                type="text"
+                validate={{
+                  maxLength: { value: 64, message: 'This field cannot be longer than 64 characters.' },
+                }}
+              />
               <ValidatedField
                 label="Snooze Enabled"
                 id="alarm-snoozeEnabled"
@@ -4,7 +4,7 @@ import { Button, Table } from 'reactstrap';
 import { Translate, TextFormat, getSortState } from 'react-jhipster';
 import { FontAwesomeIcon } from '@fortawesome/react-fontawesome';
 import { faSort, faSortUp, faSortDown } from '@fortawesome/free-solid-svg-icons';
-import { APP_DATE_FORMAT, APP_LOCAL_DATE_FORMAT } from 'app/config/constants';
+import { APP_DATE_FORMAT } from 'app/config/constants';
 import { ASC, DESC, SORT } from 'app/shared/util/pagination.constants';
 import { overrideSortStateWithQueryParams } from 'app/shared/util/entity-utils';
 import { useAppDispatch, useAppSelector } from 'app/config/store';
@@ -101,8 +101,11 @@ export const Alarm = () => {
                 <th className="hand" onClick={sort('label')}>
                   Label <FontAwesomeIcon icon={getSortIconByFieldName('label')} />
                 </th>
-                <th className="hand" onClick={sort('repeatDays')}>
-                  Repeat Days <FontAwesomeIcon icon={getSortIconByFieldName('repeatDays')} />
+                <th className="hand" onClick={sort('repeatMask')}>
+                  Repeat Mask <FontAwesomeIcon icon={getSortIconByFieldName('repeatMask')} />
+                </th>
+                <th className="hand" onClick={sort('timeZone')}>
+                  Time Zone <FontAwesomeIcon icon={getSortIconByFieldName('timeZone')} />
                 </th>
                 <th className="hand" onClick={sort('snoozeEnabled')}>
                   Snooze Enabled <FontAwesomeIcon icon={getSortIconByFieldName('snoozeEnabled')} />
@@ -129,7 +132,8 @@ export const Alarm = () => {
                   <td>{alarm.enabled ? 'true' : 'false'}</td>
                   <td>{alarm.sound}</td>
                   <td>{alarm.label}</td>
-                  <td>{alarm.repeatDays ? <TextFormat type="date" value={alarm.repeatDays} format={APP_LOCAL_DATE_FORMAT} /> : null}</td>
+                  <td>{alarm.repeatMask}</td>
+                  <td>{alarm.timeZone}</td>
                   <td>{alarm.snoozeEnabled ? 'true' : 'false'}</td>
                   <td>{alarm.snoozeDuration}</td>
                   <td>{alarm.userLogin ? <Link to={`/user-login/${alarm.userLogin.id}`}>{alarm.userLogin.id}</Link> : ''}</td>
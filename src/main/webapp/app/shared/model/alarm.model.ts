@@ -8,7 +8,9 @@ export interface IAlarm {
   enabled?: boolean | null;
   sound?: string | null;
   label?: string | null;
-  repeatDays?: dayjs.Dayjs | null;
+  repeatMask?: number | null;
+  skipDates?: string[] | null;
+  timeZone?: string | null;
   snoozeEnabled?: boolean | null;
   snoozeDuration?: number | null;
   userLogin?: IUserLogin | null;
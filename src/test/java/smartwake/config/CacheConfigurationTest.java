@@ -0,0 +1,109 @@
+package smartwake.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import org.ehcache.config.CacheRuntimeConfiguration;
+import org.ehcache.config.EvictionAdvisor;
+import org.ehcache.config.ResourceType;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Test class for the per region configuration of {@link CacheConfiguration}.
+ */
+class CacheConfigurationTest {
+
+    private CacheManager cacheManager;
+
+    private ApplicationProperties applicationProperties;
+
+    private CacheConfiguration cacheConfiguration;
+
+    @BeforeEach
+    void setup() {
+        cacheManager = Caching.getCachingProvider(EhcacheCachingProvider.class.getName()).getCacheManager();
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getCache().getEhcache().setMaxEntries(50);
+        applicationProperties = new ApplicationProperties();
+        cacheConfiguration = new CacheConfiguration(jHipsterProperties, applicationProperties);
+    }
+
+    @AfterEach
+    void teardown() {
+        cacheManager.close();
+    }
+
+    @Test
+    void testRegionWithoutOverrideIsHeapOnly() {
+        CacheRuntimeConfiguration<?, ?> configuration = create("plain");
+
+        assertThat(configuration.getResourcePools().getPoolForResource(ResourceType.Core.HEAP).getSize()).isEqualTo(50);
+        assertThat(configuration.getResourcePools().getPoolForResource(ResourceType.Core.OFFHEAP)).isNull();
+    }
+
+    @Test
+    void testRegionWithOffHeapIsTiered() {
+        ApplicationProperties.Cache.Region region = new ApplicationProperties.Cache.Region();
+        region.setHeapEntries(2L);
+        region.setOffHeapMegabytes(1);
+        applicationProperties.getCache().getRegions().put("tiered", region);
+
+        CacheRuntimeConfiguration<?, ?> configuration = create("tiered");
+
+        assertThat(configuration.getResourcePools().getPoolForResource(ResourceType.Core.HEAP).getSize()).isEqualTo(2);
+        assertThat(configuration.getResourcePools().getPoolForResource(ResourceType.Core.OFFHEAP).getSize()).isEqualTo(1);
+
+        Cache<Object, Object> cache = cacheManager.getCache("tiered");
+        for (long i = 0; i < 100; i++) {
+            cache.put(i, "value-" + i);
+        }
+        assertThat(cache.get(0L)).isEqualTo("value-0");
+        assertThat(cache.get(99L)).isEqualTo("value-99");
+    }
+
+    @Test
+    void testRegionOverridesTimeToLive() {
+        ApplicationProperties.Cache.Region region = new ApplicationProperties.Cache.Region();
+        region.setTimeToLiveSeconds(5L);
+        applicationProperties.getCache().getRegions().put("short-lived", region);
+
+        CacheRuntimeConfiguration<?, ?> configuration = create("short-lived");
+
+        assertThat(configuration.getExpiryPolicy().getExpiryForCreation(null, null)).isEqualTo(Duration.ofSeconds(5));
+        assertThat(create("plain").getExpiryPolicy().getExpiryForCreation(null, null)).isEqualTo(Duration.ofSeconds(3600));
+    }
+
+    @Test
+    void testRegionUsesConfiguredEvictionAdvisor() {
+        ApplicationProperties.Cache.Region region = new ApplicationProperties.Cache.Region();
+        region.setEvictionAdvisor(KeepAllEvictionAdvisor.class.getName());
+        applicationProperties.getCache().getRegions().put("advised", region);
+
+        CacheRuntimeConfiguration<?, ?> configuration = create("advised");
+
+        assertThat(configuration.getEvictionAdvisor()).isInstanceOf(KeepAllEvictionAdvisor.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private CacheRuntimeConfiguration<?, ?> create(String cacheName) {
+        Cache<Object, Object> cache = cacheManager.createCache(cacheName, cacheConfiguration.jcacheConfiguration(cacheName));
+        Eh107Configuration<Object, Object> configuration = cache.getConfiguration(Eh107Configuration.class);
+        return configuration.unwrap(CacheRuntimeConfiguration.class);
+    }
+
+    public static class KeepAllEvictionAdvisor implements EvictionAdvisor<Object, Object> {
+
+        @Override
+        public boolean adviseAgainstEviction(Object key, Object value) {
+            return true;
+        }
+    }
+}
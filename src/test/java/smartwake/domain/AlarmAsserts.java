@@ -59,7 +59,9 @@ public class AlarmAsserts {
             .satisfies(e -> assertThat(e.getEnabled()).as("check enabled").isEqualTo(actual.getEnabled()))
             .satisfies(e -> assertThat(e.getSound()).as("check sound").isEqualTo(actual.getSound()))
             .satisfies(e -> assertThat(e.getLabel()).as("check label").isEqualTo(actual.getLabel()))
-            .satisfies(e -> assertThat(e.getRepeatDays()).as("check repeatDays").isEqualTo(actual.getRepeatDays()))
+            .satisfies(e -> assertThat(e.getRepeatMask()).as("check repeatMask").isEqualTo(actual.getRepeatMask()))
+            .satisfies(e -> assertThat(e.getSkipDates()).as("check skipDates").isEqualTo(actual.getSkipDates()))
+            .satisfies(e -> assertThat(e.getTimeZone()).as("check timeZone").isEqualTo(actual.getTimeZone()))
             .satisfies(e -> assertThat(e.getSnoozeEnabled()).as("check snoozeEnabled").isEqualTo(actual.getSnoozeEnabled()))
             .satisfies(e -> assertThat(e.getSnoozeDuration()).as("check snoozeDuration").isEqualTo(actual.getSnoozeDuration()));
     }
@@ -13,6 +13,12 @@ class SecurityMetersServiceTests {
 
     private static final String INVALID_TOKENS_METER_EXPECTED_NAME = "security.authentication.invalid-tokens";
 
+    private static final String TOKEN_CACHE_METER_EXPECTED_NAME = "security.authentication.token-cache";
+
+    private static final String LOGIN_FAILURES_METER_EXPECTED_NAME = "security.authentication.login-failures";
+
+    private static final String LOGIN_THROTTLED_METER_EXPECTED_NAME = "security.authentication.login-throttled";
+
     private MeterRegistry meterRegistry;
 
     private SecurityMetersService securityMetersService;
@@ -36,9 +42,11 @@ class SecurityMetersServiceTests {
 
         meterRegistry.get(INVALID_TOKENS_METER_EXPECTED_NAME).tag("cause", "malformed").counter();
 
+        meterRegistry.get(INVALID_TOKENS_METER_EXPECTED_NAME).tag("cause", "revoked").counter();
+
         Collection<Counter> counters = meterRegistry.find(INVALID_TOKENS_METER_EXPECTED_NAME).counters();
 
-        assertThat(counters).hasSize(4);
+        assertThat(counters).hasSize(5);
     }
 
     @Test
@@ -66,5 +74,34 @@ class SecurityMetersServiceTests {
         securityMetersService.trackTokenMalformed();
 
         assertThat(meterRegistry.get(INVALID_TOKENS_METER_EXPECTED_NAME).tag("cause", "malformed").counter().count()).isEqualTo(1);
+
+        assertThat(meterRegistry.get(INVALID_TOKENS_METER_EXPECTED_NAME).tag("cause", "revoked").counter().count()).isZero();
+
+        securityMetersService.trackTokenRevoked();
+
+        assertThat(meterRegistry.get(INVALID_TOKENS_METER_EXPECTED_NAME).tag("cause", "revoked").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testTokenCacheCountersAreBoundToCorrectResults() {
+        securityMetersService.trackTokenCacheHit();
+        securityMetersService.trackTokenCacheHit();
+        securityMetersService.trackTokenCacheMiss();
+
+        assertThat(meterRegistry.get(TOKEN_CACHE_METER_EXPECTED_NAME).tag("result", "hit").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get(TOKEN_CACHE_METER_EXPECTED_NAME).tag("result", "miss").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testLoginCountersAreBoundToCorrectScopes() {
+        securityMetersService.trackLoginFailure();
+        securityMetersService.trackLoginFailure();
+        securityMetersService.trackLoginThrottledByLogin();
+        securityMetersService.trackLoginThrottledByAddress();
+        securityMetersService.trackLoginThrottledByAddress();
+
+        assertThat(meterRegistry.get(LOGIN_FAILURES_METER_EXPECTED_NAME).counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get(LOGIN_THROTTLED_METER_EXPECTED_NAME).tag("scope", "login").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(LOGIN_THROTTLED_METER_EXPECTED_NAME).tag("scope", "address").counter().count()).isEqualTo(2);
     }
 }
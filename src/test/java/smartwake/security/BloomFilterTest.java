@@ -0,0 +1,38 @@
+package smartwake.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link BloomFilter} class.
+ */
+class BloomFilterTest {
+
+    @Test
+    void testAddedValuesAreNeverMissed() {
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+
+        IntStream.range(0, 1000).forEach(i -> filter.put("user-" + i));
+
+        assertThat(IntStream.range(0, 1000).allMatch(i -> filter.mightContain("user-" + i))).isTrue();
+    }
+
+    @Test
+    void testFalsePositivesStayNearTheConfiguredProbability() {
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+        IntStream.range(0, 1000).forEach(i -> filter.put("user-" + i));
+
+        long falsePositives = IntStream.range(0, 10_000).filter(i -> filter.mightContain("other-" + i)).count();
+
+        assertThat(falsePositives).isLessThan(300);
+    }
+
+    @Test
+    void testEmptyFilterContainsNothing() {
+        BloomFilter filter = new BloomFilter(10, 0.01);
+
+        assertThat(filter.mightContain("user")).isFalse();
+    }
+}
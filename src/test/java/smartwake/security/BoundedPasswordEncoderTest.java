@@ -0,0 +1,114 @@
+package smartwake.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Test class for the {@link BoundedPasswordEncoder} class.
+ */
+class BoundedPasswordEncoderTest {
+
+    private MeterRegistry meterRegistry;
+
+    private CountDownLatch started;
+
+    private CountDownLatch release;
+
+    private BoundedPasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        started = new CountDownLatch(1);
+        release = new CountDownLatch(1);
+        passwordEncoder = new BoundedPasswordEncoder(new BlockingPasswordEncoder(), 1, 1, meterRegistry);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        release.countDown();
+        passwordEncoder.close();
+    }
+
+    @Test
+    void testHashingIsDelegatedAndTimed() {
+        BoundedPasswordEncoder bcrypt = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 1, 1, meterRegistry);
+        try {
+            String encoded = bcrypt.encode("secret");
+
+            assertThat(bcrypt.matches("secret", encoded)).isTrue();
+            assertThat(bcrypt.matches("other", encoded)).isFalse();
+            assertThat(meterRegistry.get(BoundedPasswordEncoder.HASHING_METER_NAME).tag("operation", "encode").timer().count()).isEqualTo(1);
+            assertThat(meterRegistry.get(BoundedPasswordEncoder.HASHING_METER_NAME).tag("operation", "matches").timer().count()).isEqualTo(
+                2
+            );
+        } finally {
+            bcrypt.close();
+        }
+    }
+
+    @Test
+    void testHashingIsRejectedWhenTheQueueIsFull() throws Exception {
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> passwordEncoder.encode("running"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> passwordEncoder.encode("queued"));
+        awaitQueueDepth(1);
+
+        assertThatExceptionOfType(PasswordHashingRejectedException.class).isThrownBy(() -> passwordEncoder.encode("rejected"));
+        assertThat(meterRegistry.get(BoundedPasswordEncoder.REJECTED_METER_NAME).counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("{blocking}running");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("{blocking}queued");
+        assertThat(meterRegistry.get(BoundedPasswordEncoder.QUEUE_METER_NAME).gauge().value()).isZero();
+    }
+
+    @Test
+    void testUpgradeEncodingIsDelegated() {
+        BoundedPasswordEncoder bcrypt = new BoundedPasswordEncoder(new BCryptPasswordEncoder(5), 1, 1, meterRegistry);
+        try {
+            assertThat(bcrypt.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret"))).isTrue();
+            assertThat(bcrypt.upgradeEncoding(new BCryptPasswordEncoder(5).encode("secret"))).isFalse();
+        } finally {
+            bcrypt.close();
+        }
+    }
+
+    private void awaitQueueDepth(int depth) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (meterRegistry.get(BoundedPasswordEncoder.QUEUE_METER_NAME).gauge().value() < depth && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(meterRegistry.get(BoundedPasswordEncoder.QUEUE_METER_NAME).gauge().value()).isEqualTo(depth);
+    }
+
+    private final class BlockingPasswordEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "{blocking}" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+}
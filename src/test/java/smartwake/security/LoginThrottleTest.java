@@ -0,0 +1,57 @@
+package smartwake.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import smartwake.config.ApplicationProperties;
+
+/**
+ * Test class for the {@link LoginThrottle} class.
+ */
+class LoginThrottleTest {
+
+    private ApplicationProperties applicationProperties;
+
+    @BeforeEach
+    public void setup() {
+        applicationProperties = new ApplicationProperties();
+        applicationProperties.getSecurity().setLoginFailuresPerLogin(2);
+    }
+
+    @Test
+    void testLoginIsThrottledAfterTooManyFailures() {
+        LoginThrottle loginThrottle = new LoginThrottle(applicationProperties);
+
+        loginThrottle.reserve("User", "10.0.0.1");
+        loginThrottle.reserve("user", "10.0.0.2");
+
+        assertThatThrownBy(() -> loginThrottle.reserve("USER", "10.0.0.3"))
+            .isInstanceOfSatisfying(LoginThrottledException.class, e -> assertThat(e.getScope()).isEqualTo(LoginThrottle.Scope.LOGIN));
+    }
+
+    @Test
+    void testAddressIsNotThrottledByDefault() {
+        LoginThrottle loginThrottle = new LoginThrottle(applicationProperties);
+
+        for (int i = 0; i < 100; i++) {
+            LoginThrottle.Attempt attempt = loginThrottle.reserve("user-" + i, "10.0.0.1");
+            assertThat(attempt.address()).isNull();
+        }
+    }
+
+    @Test
+    void testAddressIsThrottledWhenEnabled() {
+        applicationProperties.getSecurity().setLoginFailuresPerAddress(3);
+        LoginThrottle loginThrottle = new LoginThrottle(applicationProperties);
+
+        for (int i = 0; i < 3; i++) {
+            loginThrottle.reserve("user-" + i, "10.0.0.1");
+        }
+
+        assertThatThrownBy(() -> loginThrottle.reserve("user-3", "10.0.0.1"))
+            .isInstanceOfSatisfying(LoginThrottledException.class, e -> assertThat(e.getScope()).isEqualTo(LoginThrottle.Scope.ADDRESS));
+        loginThrottle.reserve("user-3", "10.0.0.2");
+    }
+}
@@ -0,0 +1,104 @@
+package smartwake.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link SlidingWindowCounter} class.
+ */
+class SlidingWindowCounterTest {
+
+    private static final long WINDOW = 1000;
+
+    @Test
+    void testCountsEventsOfTheCurrentWindow() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(WINDOW, 4);
+
+        assertThat(counter.incrementIfBelow("a", 10_100, 2)).isTrue();
+        assertThat(counter.incrementIfBelow("a", 10_200, 2)).isTrue();
+        assertThat(counter.incrementIfBelow("b", 10_300, 2)).isTrue();
+
+        assertThat(counter.incrementIfBelow("a", 10_400, 2)).isFalse();
+        assertThat(counter.incrementIfBelow("b", 10_400, 2)).isTrue();
+        assertThat(counter.incrementIfBelow("b", 10_400, 2)).isFalse();
+    }
+
+    @Test
+    void testWeightsThePreviousWindowByItsCoveredPart() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(WINDOW, 4);
+        for (int i = 0; i < 4; i++) {
+            counter.incrementIfBelow("a", 10_500, 4);
+        }
+
+        assertThat(counter.incrementIfBelow("a", 11_250, 3)).isFalse();
+        assertThat(counter.incrementIfBelow("a", 11_750, 1)).isFalse();
+        assertThat(counter.incrementIfBelow("a", 11_750, 1.5)).isTrue();
+        assertThat(counter.incrementIfBelow("a", 13_000, 1)).isTrue();
+        assertThat(counter.incrementIfBelow("a", 13_000, 1)).isFalse();
+    }
+
+    @Test
+    void testIncrementIfBelowStopsAtTheLimit() throws Exception {
+        SlidingWindowCounter counter = new SlidingWindowCounter(WINDOW, 4);
+        AtomicInteger counted = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Boolean>> attempts = Collections.nCopies(64, () -> counter.incrementIfBelow("a", 10_100, 5));
+            for (Future<Boolean> attempt : executor.invokeAll(attempts)) {
+                if (attempt.get()) {
+                    counted.incrementAndGet();
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(counted.get()).isEqualTo(5);
+        assertThat(counter.incrementIfBelow("a", 10_200, 6)).isTrue();
+    }
+
+    @Test
+    void testDecrementTakesBackFromTheWindowOfTheEvent() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(WINDOW, 4);
+        counter.incrementIfBelow("a", 10_500, 5);
+        counter.incrementIfBelow("a", 10_600, 5);
+        counter.incrementIfBelow("a", 11_100, 5);
+
+        counter.decrement("a", 10_500, 11_200);
+        assertThat(counter.incrementIfBelow("a", 11_500, 1.5)).isFalse();
+        counter.decrement("a", 11_100, 11_200);
+        assertThat(counter.incrementIfBelow("a", 11_500, 0.5)).isFalse();
+        counter.decrement("a", 8_000, 11_200);
+        assertThat(counter.incrementIfBelow("a", 11_500, 0.5)).isFalse();
+        assertThat(counter.incrementIfBelow("a", 11_500, 1)).isTrue();
+    }
+
+    @Test
+    void testResetForgetsTheKey() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(WINDOW, 4);
+        counter.incrementIfBelow("a", 10_100, 1);
+
+        counter.reset("a");
+
+        assertThat(counter.incrementIfBelow("a", 10_200, 1)).isTrue();
+    }
+
+    @Test
+    void testEvictsKeysIdleForTwoWindows() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(WINDOW, 4);
+        counter.incrementIfBelow("idle", 10_100, 1);
+        counter.incrementIfBelow("active", 11_100, 1);
+
+        assertThat(counter.evictIdle(12_100)).isEqualTo(1);
+        assertThat(counter.evictIdle(12_100)).isZero();
+        assertThat(counter.incrementIfBelow("active", 12_100, 0.5)).isFalse();
+    }
+}
@@ -0,0 +1,95 @@
+package smartwake.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.InvalidDataAccessResourceUsageException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import smartwake.config.ApplicationProperties;
+import smartwake.domain.TokenRevocation;
+import smartwake.repository.TokenRevocationRepository;
+
+/**
+ * Test class for the {@link TokenRevocationStore} class.
+ */
+class TokenRevocationStoreTest {
+
+    private TokenRevocationRepository tokenRevocationRepository;
+
+    private TokenRevocationStore tokenRevocationStore;
+
+    @BeforeEach
+    public void setup() {
+        tokenRevocationRepository = mock(TokenRevocationRepository.class);
+        when(tokenRevocationRepository.save(any(TokenRevocation.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        tokenRevocationStore = new TokenRevocationStore(tokenRevocationRepository, new ApplicationProperties(), 3600, 86400);
+    }
+
+    @Test
+    void testRevokedTokenIsRevoked() {
+        Jwt token = jwt("revoked", "user", Instant.now());
+
+        tokenRevocationStore.revokeToken(token);
+
+        assertThat(tokenRevocationStore.isRevoked(token)).isTrue();
+        assertThat(tokenRevocationStore.isRevoked(jwt("other", "user", Instant.now()))).isFalse();
+        assertThat(tokenRevocationStore.isRevoked(jwt("revoked-elsewhere", "other-user", Instant.now()))).isFalse();
+    }
+
+    @Test
+    void testRevokedUserKeepsTokensIssuedAfterTheRevocation() {
+        tokenRevocationStore.revokeUser("user");
+
+        assertThat(tokenRevocationStore.isRevoked(jwt("before", "user", Instant.now().minusSeconds(10)))).isTrue();
+        assertThat(tokenRevocationStore.isRevoked(jwt("after", "user", Instant.now().plusSeconds(10)))).isFalse();
+    }
+
+    @Test
+    void testRevocationsAreLoadedOnRebuild() {
+        long now = System.currentTimeMillis();
+        when(tokenRevocationRepository.findAll()).thenReturn(
+            List.of(new TokenRevocation().revocationKey("token:loaded").subject("user").revokedAt(now).expiresAt(now + 60_000))
+        );
+
+        tokenRevocationStore.rebuild();
+
+        assertThat(tokenRevocationStore.isRevoked(jwt("loaded", "user", Instant.now()))).isTrue();
+    }
+
+    @Test
+    void testRevocationsAreLoadedOnFirstRefreshOnceReadable() {
+        long now = System.currentTimeMillis();
+        when(tokenRevocationRepository.findAll())
+            .thenThrow(new InvalidDataAccessResourceUsageException("Table \"TOKEN_REVOCATION\" not found"))
+            .thenReturn(List.of(new TokenRevocation().revocationKey("token:loaded").subject("user").revokedAt(now).expiresAt(now + 60_000)));
+
+        tokenRevocationStore.refresh();
+        assertThat(tokenRevocationStore.isRevoked(jwt("loaded", "user", Instant.now()))).isFalse();
+
+        tokenRevocationStore.refresh();
+        assertThat(tokenRevocationStore.isRevoked(jwt("loaded", "user", Instant.now()))).isTrue();
+    }
+
+    @Test
+    void testRevocationsMadeThroughOtherNodesAreRefreshed() {
+        tokenRevocationStore.refresh();
+        long now = System.currentTimeMillis();
+        when(tokenRevocationRepository.findByRevokedAtGreaterThanEqual(any())).thenReturn(
+            List.of(new TokenRevocation().revocationKey("user:user").subject("user").revokedAt(now).expiresAt(now + 60_000))
+        );
+
+        tokenRevocationStore.refresh();
+
+        assertThat(tokenRevocationStore.isRevoked(jwt("before", "user", Instant.now().minusSeconds(10)))).isTrue();
+    }
+
+    private static Jwt jwt(String id, String subject, Instant issuedAt) {
+        return Jwt.withTokenValue(id).header("alg", "HS512").jti(id).subject(subject).issuedAt(issuedAt).expiresAt(issuedAt.plusSeconds(60)).build();
+    }
+}
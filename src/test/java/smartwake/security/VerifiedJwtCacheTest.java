@@ -0,0 +1,135 @@
+package smartwake.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+/**
+ * Test class for the {@link VerifiedJwtCache} class.
+ */
+class VerifiedJwtCacheTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T07:00:00Z");
+
+    private MovingClock clock;
+
+    @BeforeEach
+    void setup() {
+        clock = new MovingClock();
+    }
+
+    @Test
+    void testVerifiedTokenIsReturnedUntilItExpires() {
+        VerifiedJwtCache cache = new VerifiedJwtCache(10, clock);
+        Jwt jwt = jwt("token", NOW.plusSeconds(60));
+
+        cache.put(jwt);
+
+        assertThat(cache.get("token")).isSameAs(jwt);
+        assertThat(cache.get("other")).isNull();
+
+        clock.now = NOW.plusSeconds(60);
+
+        assertThat(cache.get("token")).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void testExpiredTokenIsNotCached() {
+        VerifiedJwtCache cache = new VerifiedJwtCache(10, clock);
+
+        cache.put(jwt("token", NOW));
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void testTokenWithoutExpiryIsNotCached() {
+        VerifiedJwtCache cache = new VerifiedJwtCache(10, clock);
+
+        cache.put(jwt("token", null));
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void testFullCacheDropsExpiredTokensFirst() {
+        VerifiedJwtCache cache = new VerifiedJwtCache(2, clock);
+        cache.put(jwt("short", NOW.plusSeconds(10)));
+        cache.put(jwt("long", NOW.plusSeconds(60)));
+        clock.now = NOW.plusSeconds(30);
+
+        cache.put(jwt("new", NOW.plusSeconds(90)));
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("long")).isNotNull();
+        assertThat(cache.get("new")).isNotNull();
+    }
+
+    @Test
+    void testCacheIsBounded() {
+        VerifiedJwtCache cache = new VerifiedJwtCache(2, clock);
+
+        cache.put(jwt("first", NOW.plusSeconds(60)));
+        cache.put(jwt("second", NOW.plusSeconds(60)));
+        cache.put(jwt("third", NOW.plusSeconds(60)));
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("third")).isNotNull();
+    }
+
+    @Test
+    void testFullCacheIsSweptInBatches() {
+        VerifiedJwtCache cache = new VerifiedJwtCache(1000, clock);
+        for (int i = 0; i < 1000; i++) {
+            cache.put(jwt("expiring-" + i, NOW.plusSeconds(10)));
+        }
+        clock.now = NOW.plusSeconds(30);
+
+        cache.put(jwt("new", NOW.plusSeconds(90)));
+
+        assertThat(cache.size()).isEqualTo(1000 - 32 + 1);
+        assertThat(cache.get("new")).isNotNull();
+    }
+
+    @Test
+    void testDisabledCacheHoldsNothing() {
+        VerifiedJwtCache cache = new VerifiedJwtCache(0, clock);
+
+        cache.put(jwt("token", NOW.plusSeconds(60)));
+
+        assertThat(cache.get("token")).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    private static Jwt jwt(String token, Instant expiresAt) {
+        return new Jwt(token, NOW.minusSeconds(1), expiresAt, Map.of("alg", "HS512"), Map.of("sub", "user"));
+    }
+
+    private static final class MovingClock extends Clock {
+
+        private Instant now = NOW;
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
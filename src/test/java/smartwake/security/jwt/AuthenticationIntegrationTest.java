@@ -5,10 +5,12 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 import org.springframework.boot.test.context.SpringBootTest;
+import smartwake.config.ApplicationProperties;
 import smartwake.config.SecurityConfiguration;
 import smartwake.config.SecurityJwtConfiguration;
 import smartwake.config.WebConfigurer;
 import smartwake.management.SecurityMetersService;
+import smartwake.security.LoginThrottle;
 import smartwake.web.rest.AuthenticateController;
 import tech.jhipster.config.JHipsterProperties;
 
@@ -21,10 +23,12 @@ import tech.jhipster.config.JHipsterProperties;
     },
     classes = {
         JHipsterProperties.class,
+        ApplicationProperties.class,
         WebConfigurer.class,
         SecurityConfiguration.class,
         SecurityJwtConfiguration.class,
         SecurityMetersService.class,
+        LoginThrottle.class,
         AuthenticateController.class,
         JwtAuthenticationTestUtils.class,
     }
@@ -12,6 +12,7 @@ import java.util.Collections;
 import javax.crypto.Mac;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
+import org.mockito.Mockito;
 import org.springframework.context.annotation.Bean;
 import org.springframework.security.crypto.codec.Hex;
 import org.springframework.security.oauth2.jwt.JwsHeader;
@@ -20,6 +21,8 @@ import org.springframework.security.oauth2.jwt.JwtEncoder;
 import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
 import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
 import org.springframework.web.servlet.handler.HandlerMappingIntrospector;
+import smartwake.security.TokenRevocationStore;
+import smartwake.service.RefreshTokenService;
 
 public class JwtAuthenticationTestUtils {
 
@@ -35,6 +38,16 @@ public class JwtAuthenticationTestUtils {
         return new SimpleMeterRegistry();
     }
 
+    @Bean
+    private RefreshTokenService refreshTokenService() {
+        return Mockito.mock(RefreshTokenService.class);
+    }
+
+    @Bean
+    private TokenRevocationStore tokenRevocationStore() {
+        return Mockito.mock(TokenRevocationStore.class);
+    }
+
     public static String createValidToken(String jwtKey) {
         return createValidTokenForUser(jwtKey, "anonymous");
     }
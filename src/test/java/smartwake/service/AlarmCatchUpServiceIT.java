@@ -0,0 +1,78 @@
+package smartwake.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+import smartwake.IntegrationTest;
+import smartwake.config.ApplicationProperties;
+import smartwake.domain.Alarm;
+import smartwake.repository.AlarmRepository;
+import smartwake.service.alarm.AlarmRecurrence;
+
+/**
+ * Integration tests for {@link AlarmCatchUpService}.
+ */
+@IntegrationTest
+@Transactional
+class AlarmCatchUpServiceIT {
+
+    @Autowired
+    private AlarmRepository alarmRepository;
+
+    @Autowired
+    private AlarmCatchUpService alarmCatchUpService;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    private int batchSize;
+
+    @BeforeEach
+    public void setup() {
+        batchSize = applicationProperties.getCatchUp().getBatchSize();
+        applicationProperties.getCatchUp().setBatchSize(1);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        applicationProperties.getCatchUp().setBatchSize(batchSize);
+    }
+
+    @Test
+    void assertThatMissedAlarmsAreFiredOrSkipped() {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        ZonedDateTime recently = now.minusSeconds(60).atZone(ZoneOffset.UTC);
+        ZonedDateTime twoHoursAgo = now.minus(2, ChronoUnit.HOURS).atZone(ZoneOffset.UTC);
+
+        alarmRepository.save(new Alarm().enabled(true).alarmTime(recently).nextFireAt(recently.toInstant().toEpochMilli()));
+        Alarm tooLate = alarmRepository.save(
+            new Alarm()
+                .enabled(true)
+                .alarmTime(twoHoursAgo.minusDays(3))
+                .repeatMask(AlarmRecurrence.EVERY_DAY)
+                .nextFireAt(twoHoursAgo.toInstant().toEpochMilli())
+        );
+        Alarm upcoming = alarmRepository.save(new Alarm().enabled(true).nextFireAt(now.plusSeconds(60).toEpochMilli()));
+        alarmRepository.flush();
+        long firedBefore = alarmCatchUpService.getFiredCount();
+        long skippedBefore = alarmCatchUpService.getSkippedCount();
+
+        alarmCatchUpService.catchUp(now);
+
+        assertThat(alarmCatchUpService.getState()).isEqualTo(AlarmCatchUpService.State.DONE);
+        assertThat(alarmCatchUpService.getFiredCount() - firedBefore).isEqualTo(1);
+        assertThat(alarmCatchUpService.getSkippedCount() - skippedBefore).isEqualTo(1);
+        assertThat(alarmRepository.findById(tooLate.getId()).orElseThrow().getNextFireAt()).isEqualTo(
+            twoHoursAgo.plusDays(1).toInstant().toEpochMilli()
+        );
+        assertThat(alarmRepository.findById(upcoming.getId()).orElseThrow().getNextFireAt()).isEqualTo(now.plusSeconds(60).toEpochMilli());
+    }
+}
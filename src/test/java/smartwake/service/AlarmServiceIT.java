@@ -0,0 +1,94 @@
+package smartwake.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.annotation.Transactional;
+import smartwake.IntegrationTest;
+import smartwake.domain.Alarm;
+import smartwake.repository.AlarmRepository;
+import smartwake.service.alarm.AlarmFiredEvent;
+import smartwake.service.dto.AlarmDTO;
+import smartwake.service.mapper.AlarmMapper;
+
+/**
+ * Integration tests for {@link AlarmService}.
+ */
+@IntegrationTest
+@Transactional
+class AlarmServiceIT {
+
+    @Autowired
+    private AlarmRepository alarmRepository;
+
+    @Autowired
+    private AlarmService alarmService;
+
+    @Autowired
+    private AlarmMapper alarmMapper;
+
+    @Test
+    void assertThatNextFireAtIsComputedOnSave() {
+        ZonedDateTime alarmTime = ZonedDateTime.now(ZoneOffset.UTC).plusHours(1).truncatedTo(ChronoUnit.SECONDS);
+
+        AlarmDTO alarm = alarmService.save(alarmMapper.toDto(new Alarm().alarmTime(alarmTime).enabled(true)));
+        assertThat(alarm.getNextFireAt()).isEqualTo(alarmTime.toInstant().toEpochMilli());
+
+        alarm.setEnabled(false);
+        alarm = alarmService.save(alarm);
+        assertThat(alarm.getNextFireAt()).isNull();
+
+        alarm.setEnabled(true);
+        alarm.setAlarmTime(alarmTime.minusDays(1));
+        alarm = alarmService.save(alarm);
+        assertThat(alarm.getNextFireAt()).isNull();
+    }
+
+    @Test
+    void assertThatNextFireAtIsAdvancedAfterFiring() {
+        ZonedDateTime alarmTime = ZonedDateTime.now(ZoneOffset.UTC).plusMinutes(1);
+        AlarmDTO alarm = alarmService.save(alarmMapper.toDto(new Alarm().alarmTime(alarmTime).enabled(true)));
+
+        alarmService.onAlarmFired(new AlarmFiredEvent(alarm.getId(), alarmTime.toInstant()));
+
+        assertThat(alarmRepository.findById(alarm.getId()).orElseThrow().getNextFireAt()).isNull();
+    }
+
+    @Test
+    void assertThatDueAlarmsAreStreamedEarliestFirst() {
+        long now = Instant.now().toEpochMilli();
+        Alarm later = alarmRepository.save(new Alarm().enabled(true).nextFireAt(now - 1_000));
+        Alarm earlier = alarmRepository.save(new Alarm().enabled(true).nextFireAt(now - 2_000));
+        alarmRepository.save(new Alarm().enabled(true).nextFireAt(now + 60_000));
+        alarmRepository.save(new Alarm().enabled(false).nextFireAt(now - 3_000));
+        alarmRepository.flush();
+
+        List<String> due;
+        try (
+            Stream<AlarmRepository.AlarmTrigger> triggers = alarmRepository.streamByEnabledIsTrueAndNextFireAtLessThanEqualOrderByNextFireAtAsc(
+                now,
+                Limit.of(10)
+            )
+        ) {
+            due = triggers.map(AlarmRepository.AlarmTrigger::getId).toList();
+        }
+        assertThat(due).containsExactly(earlier.getId(), later.getId());
+
+        try (
+            Stream<AlarmRepository.AlarmTrigger> triggers = alarmRepository.streamByEnabledIsTrueAndNextFireAtLessThanEqualOrderByNextFireAtAsc(
+                now,
+                Limit.of(1)
+            )
+        ) {
+            assertThat(triggers.map(AlarmRepository.AlarmTrigger::getId)).containsExactly(earlier.getId());
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package smartwake.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+import smartwake.IntegrationTest;
+import smartwake.domain.Alarm;
+import smartwake.domain.UserLogin;
+import smartwake.repository.AlarmChangeSequenceRepository;
+import smartwake.service.dto.AlarmBulkOperationDTO;
+import smartwake.service.dto.AlarmChangesDTO;
+import smartwake.service.dto.AlarmDTO;
+import smartwake.service.mapper.AlarmMapper;
+
+/**
+ * Integration tests for {@link AlarmSyncService}.
+ */
+@IntegrationTest
+@Transactional
+class AlarmSyncServiceIT {
+
+    @Autowired
+    private AlarmService alarmService;
+
+    @Autowired
+    private AlarmSyncService alarmSyncService;
+
+    @Autowired
+    private AlarmMapper alarmMapper;
+
+    @Autowired
+    private AlarmChangeSequenceRepository changeSequenceRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    private UserLogin userLogin;
+
+    private UserLogin otherUserLogin;
+
+    @BeforeEach
+    public void init() {
+        userLogin = new UserLogin().username("sync-user").password("password");
+        em.persist(userLogin);
+        otherUserLogin = new UserLogin().username("sync-other").password("password");
+        em.persist(otherUserLogin);
+    }
+
+    @Test
+    void assertThatChangesAreListedSinceCursor() {
+        assertThat(alarmSyncService.getChanges("sync-user", 0, 10).getAlarms()).isEmpty();
+
+        AlarmDTO first = alarmService.save(alarmMapper.toDto(new Alarm().label("first").enabled(true).userLogin(userLogin)));
+        AlarmDTO second = alarmService.save(alarmMapper.toDto(new Alarm().label("second").enabled(true).userLogin(userLogin)));
+        alarmService.save(alarmMapper.toDto(new Alarm().label("other").enabled(true).userLogin(otherUserLogin)));
+        em.flush();
+
+        AlarmChangesDTO changes = alarmSyncService.getChanges("sync-user", 0, 10);
+        assertThat(changes.getAlarms()).extracting(AlarmDTO::getId).containsExactly(first.getId(), second.getId());
+        assertThat(changes.getCursor()).isEqualTo(2);
+        assertThat(changes.isMore()).isFalse();
+
+        AlarmChangesDTO page = alarmSyncService.getChanges("sync-user", 0, 1);
+        assertThat(page.getAlarms()).extracting(AlarmDTO::getId).containsExactly(first.getId());
+        assertThat(page.isMore()).isTrue();
+
+        alarmService.delete(first.getId());
+        alarmService.bulk(
+            List.of(new AlarmBulkOperationDTO(AlarmBulkOperationDTO.Action.PATCH, second.getId(), alarmMapper.toDto(new Alarm().label("second updated"))))
+        );
+        em.flush();
+
+        changes = alarmSyncService.getChanges("sync-user", changes.getCursor(), 10);
+        assertThat(changes.getDeleted()).containsExactly(first.getId());
+        assertThat(changes.getAlarms()).extracting(AlarmDTO::getLabel).containsExactly("second updated");
+        assertThat(changes.getCursor()).isEqualTo(4);
+
+        AlarmChangesDTO unchanged = alarmSyncService.getChanges("sync-user", changes.getCursor(), 10);
+        assertThat(unchanged.getAlarms()).isEmpty();
+        assertThat(unchanged.getDeleted()).isEmpty();
+        assertThat(unchanged.isReset()).isFalse();
+    }
+
+    @Test
+    void assertThatAlarmGivenToAnotherUserIsDeletedForFormerOwner() {
+        AlarmDTO alarm = alarmService.save(alarmMapper.toDto(new Alarm().label("given").enabled(true).userLogin(userLogin)));
+        em.flush();
+        em.clear();
+
+        alarm.setUserLogin(alarmMapper.toDtoUserLoginId(otherUserLogin));
+        alarmService.update(alarm);
+        em.flush();
+
+        assertThat(alarmSyncService.getChanges("sync-user", 1, 10).getDeleted()).containsExactly(alarm.getId());
+        assertThat(alarmSyncService.getChanges("sync-other", 0, 10).getAlarms()).extracting(AlarmDTO::getId).containsExactly(alarm.getId());
+    }
+
+    @Test
+    void assertThatPurgedChangesRequireReset() {
+        alarmService.save(alarmMapper.toDto(new Alarm().label("first").enabled(true).userLogin(userLogin)));
+        em.flush();
+        changeSequenceRepository.findById(userLogin.getId()).orElseThrow().setPurgedSeq(1L);
+        alarmService.save(alarmMapper.toDto(new Alarm().label("second").enabled(true).userLogin(userLogin)));
+        em.flush();
+        em.clear();
+
+        AlarmChangesDTO changes = alarmSyncService.getChanges("sync-user", 0, 10);
+        assertThat(changes.isReset()).isTrue();
+        assertThat(changes.getCursor()).isEqualTo(2);
+        assertThat(alarmSyncService.getChanges("sync-user", 1, 10).getAlarms()).hasSize(1);
+    }
+}
@@ -0,0 +1,109 @@
+package smartwake.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.annotation.Transactional;
+import smartwake.IntegrationTest;
+import smartwake.config.ApplicationProperties;
+import smartwake.domain.Alarm;
+import smartwake.domain.CacheInvalidation;
+import smartwake.domain.User;
+import smartwake.domain.UserLogin;
+import smartwake.repository.AlarmRepository;
+import smartwake.repository.CacheInvalidationRepository;
+import smartwake.repository.UserLoginRepository;
+import smartwake.repository.UserRepository;
+
+/**
+ * Integration tests for {@link CacheInvalidationService}.
+ */
+@IntegrationTest
+@Transactional
+class CacheInvalidationServiceIT {
+
+    @Autowired
+    private CacheInvalidationRepository cacheInvalidationRepository;
+
+    @Autowired
+    private CacheInvalidationService cacheInvalidationService;
+
+    @Autowired
+    private AlarmService alarmService;
+
+    @Autowired
+    private AlarmRepository alarmRepository;
+
+    @Autowired
+    private UserLoginRepository userLoginRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    private Cache usersByLogin;
+
+    @BeforeEach
+    public void setup() {
+        applicationProperties.getCache().getInvalidation().setEnabled(true);
+        cacheInvalidationService.start();
+        usersByLogin = cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        applicationProperties.getCache().getInvalidation().setEnabled(false);
+        usersByLogin.clear();
+    }
+
+    @Test
+    void assertThatInvalidationsOfOtherNodesAreApplied() {
+        usersByLogin.put("invalidated-user", new User());
+        usersByLogin.put("other-user", new User());
+        cacheInvalidationRepository.saveAndFlush(invalidation(UserRepository.USERS_BY_LOGIN_CACHE, "invalidated-user"));
+        cacheInvalidationRepository.saveAndFlush(invalidation(User.class.getName(), "1"));
+        cacheInvalidationRepository.saveAndFlush(invalidation(User.class.getName() + ".authorities", "1"));
+
+        cacheInvalidationService.poll();
+
+        assertThat(usersByLogin.get("invalidated-user")).isNull();
+        assertThat(usersByLogin.get("other-user")).isNotNull();
+    }
+
+    @Test
+    void assertThatLocalEvictionsArePublished() {
+        usersByLogin.put("evicted-user", new User());
+        long before = cacheInvalidationRepository.count();
+
+        cacheInvalidationService.evict(UserRepository.USERS_BY_LOGIN_CACHE, "evicted-user");
+        usersByLogin.put("evicted-user", new User());
+        cacheInvalidationService.poll();
+
+        assertThat(cacheInvalidationRepository.count()).isEqualTo(before + 1);
+        assertThat(usersByLogin.get("evicted-user")).isNotNull();
+    }
+
+    @Test
+    void assertThatAlarmChangesArePublished() {
+        UserLogin owner = userLoginRepository.saveAndFlush(new UserLogin().username("invalidated-owner").password("password"));
+        Alarm alarm = alarmRepository.saveAndFlush(new Alarm().enabled(true).userLogin(owner));
+
+        alarmService.delete(alarm.getId());
+
+        assertThat(cacheInvalidationRepository.findAll())
+            .extracting(CacheInvalidation::getCacheName, CacheInvalidation::getCacheKey)
+            .contains(tuple(Alarm.class.getName(), alarm.getId()), tuple(AlarmVersionService.ALARM_VERSIONS_CACHE, "invalidated-owner"));
+    }
+
+    private static CacheInvalidation invalidation(String cacheName, String cacheKey) {
+        return new CacheInvalidation().cacheName(cacheName).cacheKey(cacheKey).origin("other-node").createdAt(System.currentTimeMillis());
+    }
+}
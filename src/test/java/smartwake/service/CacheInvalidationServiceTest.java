@@ -0,0 +1,142 @@
+package smartwake.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.metamodel.Metamodel;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.configuration.MutableConfiguration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.jcache.JCacheCacheManager;
+import smartwake.config.ApplicationProperties;
+import smartwake.domain.CacheInvalidation;
+import smartwake.repository.CacheInvalidationRepository;
+
+/**
+ * Test class for the {@link CacheInvalidationService} class.
+ */
+class CacheInvalidationServiceTest {
+
+    private CacheInvalidationRepository cacheInvalidationRepository;
+
+    private CacheManager jcacheManager;
+
+    private Cache<Object, Object> cache;
+
+    private ApplicationProperties applicationProperties;
+
+    private CacheInvalidationService cacheInvalidationService;
+
+    @BeforeEach
+    public void setup() {
+        cacheInvalidationRepository = mock(CacheInvalidationRepository.class);
+        when(cacheInvalidationRepository.save(any(CacheInvalidation.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        jcacheManager = Caching.getCachingProvider(EhcacheCachingProvider.class.getName()).getCacheManager();
+        cache = jcacheManager.createCache("users", new MutableConfiguration<>());
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        when(entityManagerFactory.getMetamodel()).thenReturn(mock(Metamodel.class));
+        applicationProperties = new ApplicationProperties();
+        applicationProperties.getCache().getInvalidation().setEnabled(true);
+        cacheInvalidationService = new CacheInvalidationService(
+            cacheInvalidationRepository,
+            new JCacheCacheManager(jcacheManager),
+            jcacheManager,
+            entityManagerFactory,
+            applicationProperties
+        );
+    }
+
+    @AfterEach
+    public void teardown() {
+        jcacheManager.close();
+    }
+
+    @Test
+    void testInvalidationsOfOtherNodesAreApplied() {
+        cache.put("evicted", "user");
+        cache.put("kept", "user");
+        when(cacheInvalidationRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any())).thenReturn(List.of(invalidation(1, "evicted")));
+
+        cacheInvalidationService.poll();
+
+        assertThat(cache.containsKey("evicted")).isFalse();
+        assertThat(cache.containsKey("kept")).isTrue();
+    }
+
+    @Test
+    void testOwnInvalidationsAreOnlyAppliedLocally() {
+        AtomicReference<CacheInvalidation> published = new AtomicReference<>();
+        when(cacheInvalidationRepository.save(any(CacheInvalidation.class))).thenAnswer(invocation -> {
+            published.set(invocation.<CacheInvalidation>getArgument(0).id(1L));
+            return published.get();
+        });
+        cache.put("user", "old");
+
+        cacheInvalidationService.evict("users", "user");
+        cache.put("user", "new");
+        when(cacheInvalidationRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any())).thenReturn(List.of(published.get()));
+        cacheInvalidationService.poll();
+
+        assertThat(published.get().getCacheKey()).isEqualTo("user");
+        assertThat(cache.get("user")).isEqualTo("new");
+    }
+
+    @Test
+    void testFirstPollStartsAfterTheEndOfTheLog() {
+        cache.put("user", "user");
+        when(cacheInvalidationRepository.findMaxId()).thenReturn(5L);
+        when(cacheInvalidationRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any())).thenReturn(List.of(invalidation(5, "user")));
+
+        cacheInvalidationService.poll();
+
+        assertThat(cache.containsKey("user")).isTrue();
+        verify(cacheInvalidationRepository).findByIdGreaterThanOrderByIdAsc(eq(5L), any());
+    }
+
+    @Test
+    void testSkippedIdsAreReadAgain() {
+        cache.put("late", "user");
+        cache.put("early", "user");
+        when(cacheInvalidationRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any())).thenReturn(List.of(invalidation(2, "early")));
+        cacheInvalidationService.poll();
+        assertThat(cache.containsKey("late")).isTrue();
+
+        when(cacheInvalidationRepository.findAllById(Set.of(1L))).thenReturn(List.of(invalidation(1, "late")));
+        cacheInvalidationService.poll();
+
+        assertThat(cache.containsKey("late")).isFalse();
+        verify(cacheInvalidationRepository).findByIdGreaterThanOrderByIdAsc(eq(2L), any());
+    }
+
+    @Test
+    void testDisabledInvalidationIsOnlyLocal() {
+        applicationProperties.getCache().getInvalidation().setEnabled(false);
+        cache.put("user", "old");
+
+        cacheInvalidationService.evict("users", "user");
+        cacheInvalidationService.poll();
+
+        assertThat(cache.containsKey("user")).isFalse();
+        verify(cacheInvalidationRepository, never()).save(any());
+        verify(cacheInvalidationRepository, never()).findByIdGreaterThanOrderByIdAsc(anyLong(), any());
+    }
+
+    private static CacheInvalidation invalidation(long id, String key) {
+        return new CacheInvalidation().id(id).cacheName("users").cacheKey(key).origin("other-node").createdAt(System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,130 @@
+package smartwake.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import smartwake.IntegrationTest;
+import smartwake.config.ApplicationProperties;
+import smartwake.domain.Alarm;
+import smartwake.domain.User;
+import smartwake.repository.AlarmRepository;
+import smartwake.repository.UserRepository;
+
+/**
+ * Integration tests for {@link CacheWarmUpService}.
+ * <p>
+ * The warm-up reads through transactions of its own, so the data of these tests is committed, then deleted.
+ */
+@IntegrationTest
+class CacheWarmUpServiceIT {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AlarmRepository alarmRepository;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private CacheWarmUpService cacheWarmUpService;
+
+    @Autowired
+    private CacheWarmUpHealthIndicator cacheWarmUpHealthIndicator;
+
+    @Autowired
+    private SchemaMigrationMonitor schemaMigrationMonitor;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    private User user;
+
+    private Alarm alarm;
+
+    @BeforeEach
+    public void setup() {
+        user = new User();
+        user.setLogin("warm-up-" + RandomStringUtils.randomAlphanumeric(8).toLowerCase());
+        user.setEmail(user.getLogin() + "@example.com");
+        user.setPassword(RandomStringUtils.randomAlphanumeric(60));
+        user.setActivated(true);
+        user = userRepository.saveAndFlush(user);
+        refreshTokenService.issue(user.getLogin(), false);
+        alarm = alarmRepository.saveAndFlush(new Alarm().enabled(true).nextFireAt(Instant.now().plus(1, ChronoUnit.HOURS).toEpochMilli()));
+        cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).clear();
+        cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE).clear();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        applicationProperties.getWarmUp().setEnabled(true);
+        alarmRepository.deleteById(alarm.getId());
+        refreshTokenService.revokeAll(user);
+        userRepository.deleteById(user.getId());
+        cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).clear();
+        cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE).clear();
+    }
+
+    @Test
+    void assertThatActiveUsersAndUpcomingAlarmsAreLoaded() {
+        long alarmsBefore = cacheWarmUpService.getAlarmCount();
+
+        cacheWarmUpService.warmUp();
+
+        assertThat(cacheWarmUpService.getState()).isEqualTo(CacheWarmUpService.State.DONE);
+        assertThat(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).get(user.getLogin(), User.class))
+            .isNotNull()
+            .satisfies(cached -> assertThat(cached.getAuthorities()).isNotNull());
+        assertThat(cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE).get(user.getEmail(), User.class)).isNotNull();
+        assertThat(cacheWarmUpService.getAlarmCount() - alarmsBefore).isPositive();
+        assertThat(cacheWarmUpHealthIndicator.health().getStatus().getCode()).isEqualTo("UP");
+    }
+
+    @Test
+    void assertThatDisabledWarmUpLoadsNothing() {
+        applicationProperties.getWarmUp().setEnabled(false);
+
+        cacheWarmUpService.warmUp();
+
+        assertThat(cacheWarmUpService.getState()).isEqualTo(CacheWarmUpService.State.DONE);
+        assertThat(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).get(user.getLogin())).isNull();
+    }
+
+    @Test
+    void assertThatWarmUpWaitsForTheSchemaMigration() throws Exception {
+        CountDownLatch migrated = new CountDownLatch(1);
+        schemaMigrationMonitor
+            .track(task -> new Thread(task).start())
+            .execute(() -> {
+                try {
+                    migrated.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+
+        CompletableFuture<Void> warmUp = CompletableFuture.runAsync(cacheWarmUpService::warmUp);
+        Thread.sleep(200);
+        assertThat(warmUp).isNotDone();
+        assertThat(cacheWarmUpHealthIndicator.health().getStatus().getCode()).isEqualTo("OUT_OF_SERVICE");
+
+        migrated.countDown();
+        warmUp.get(30, TimeUnit.SECONDS);
+        assertThat(cacheWarmUpService.getState()).isEqualTo(CacheWarmUpService.State.DONE);
+    }
+}
@@ -0,0 +1,99 @@
+package smartwake.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+    private MeterRegistry meterRegistry;
+
+    private SingleFlight<String, String> singleFlight;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new SingleFlight<>("test", meterRegistry);
+    }
+
+    @Test
+    void testConcurrentLoadsOfTheSameKeyAreCoalesced() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> singleFlight.load("key", key -> awaitAndLoad(key, release, loads)));
+        await(() -> singleFlight.inFlightCount() == 1);
+        CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> singleFlight.load("key", key -> awaitAndLoad(key, release, loads)));
+        await(() -> coalescedCount() == 1);
+
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("value of key");
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("value of key");
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(meterRegistry.get(SingleFlight.LOADS_METER_NAME).tag("name", "test").counter().count()).isEqualTo(1);
+        assertThat(singleFlight.inFlightCount()).isZero();
+    }
+
+    @Test
+    void testCompletedLoadsAreNotShared() {
+        AtomicInteger loads = new AtomicInteger();
+        singleFlight.load("key", key -> "value " + loads.incrementAndGet());
+
+        assertThat(singleFlight.load("key", key -> "value " + loads.incrementAndGet())).isEqualTo("value 2");
+        assertThat(coalescedCount()).isZero();
+    }
+
+    @Test
+    void testFailedLoadFailsEveryWaitingCaller() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() ->
+            singleFlight.load("key", key -> {
+                awaitQuietly(release);
+                throw new IllegalStateException("load failed");
+            })
+        );
+        await(() -> singleFlight.inFlightCount() == 1);
+        CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> singleFlight.load("key", key -> "not loaded"));
+        await(() -> coalescedCount() == 1);
+
+        release.countDown();
+
+        assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> second.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(singleFlight.load("key", key -> "loaded again")).isEqualTo("loaded again");
+    }
+
+    private double coalescedCount() {
+        return meterRegistry.get(SingleFlight.COALESCED_METER_NAME).tag("name", "test").counter().count();
+    }
+
+    private static String awaitAndLoad(String key, CountDownLatch release, AtomicInteger loads) {
+        awaitQuietly(release);
+        loads.incrementAndGet();
+        return "value of " + key;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
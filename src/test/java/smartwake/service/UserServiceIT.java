@@ -8,17 +8,27 @@ import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
 import org.springframework.data.auditing.AuditingHandler;
 import org.springframework.data.auditing.DateTimeProvider;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import smartwake.IntegrationTest;
 import smartwake.domain.User;
 import smartwake.repository.UserRepository;
+import smartwake.security.AuthoritiesConstants;
+import smartwake.service.dto.AdminUserDTO;
 import tech.jhipster.security.RandomUtil;
 
 /**
@@ -46,9 +56,15 @@ class UserServiceIT {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private CacheManager cacheManager;
+
     @Autowired
     private AuditingHandler auditingHandler;
 
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     @MockBean
     private DateTimeProvider dateTimeProvider;
 
@@ -178,4 +194,82 @@ class UserServiceIT {
         Optional<User> maybeDbUser = userRepository.findById(dbUser.getId());
         assertThat(maybeDbUser).contains(dbUser);
     }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void assertThatChangedUserIsPutIntoTheCachesAfterCommit() {
+        AdminUserDTO userDTO = new AdminUserDTO();
+        userDTO.setLogin(DEFAULT_LOGIN);
+        userDTO.setEmail(DEFAULT_EMAIL);
+        userDTO.setAuthorities(Set.of(AuthoritiesConstants.USER));
+        User created = userService.createUser(userDTO);
+        try {
+            assertThat(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).get(DEFAULT_LOGIN, User.class))
+                .isNotNull()
+                .satisfies(cached -> assertThat(cached.getAuthorities()).extracting("name").containsExactly(AuthoritiesConstants.USER));
+
+            userDTO.setId(created.getId());
+            userDTO.setLogin("johndoe-renamed");
+            userDTO.setEmail("johndoe-renamed@localhost");
+            userDTO.setActivated(true);
+            userService.updateUser(userDTO);
+
+            assertThat(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).get(DEFAULT_LOGIN)).isNull();
+            assertThat(cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE).get(DEFAULT_EMAIL)).isNull();
+            assertThat(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).get("johndoe-renamed", User.class))
+                .isNotNull()
+                .satisfies(cached -> assertThat(cached.getAuthorities()).isNotEmpty());
+            assertThat(cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE).get("johndoe-renamed@localhost", User.class))
+                .isNotNull()
+                .extracting(User::getLogin)
+                .isEqualTo("johndoe-renamed");
+        } finally {
+            userService.deleteUser("johndoe-renamed");
+            userService.deleteUser(DEFAULT_LOGIN);
+        }
+        assertThat(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).get("johndoe-renamed")).isNull();
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void assertThatALateWriteThroughDoesNotOverwriteANewerUser() {
+        AdminUserDTO userDTO = new AdminUserDTO();
+        userDTO.setLogin(DEFAULT_LOGIN);
+        userDTO.setEmail(DEFAULT_EMAIL);
+        userDTO.setAuthorities(Set.of(AuthoritiesConstants.USER));
+        User created = userService.createUser(userDTO);
+        TransactionTemplate newTransaction = new TransactionTemplate(transactionManager);
+        newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            userDTO.setId(created.getId());
+            userDTO.setActivated(true);
+            userDTO.setLastName("stale");
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                // another transaction commits, and writes through, a newer change before the write-through of this one
+                TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            when(dateTimeProvider.getNow()).thenReturn(Optional.of(LocalDateTime.now().plusMinutes(1)));
+                            AdminUserDTO newerDTO = new AdminUserDTO();
+                            newerDTO.setId(created.getId());
+                            newerDTO.setLogin(DEFAULT_LOGIN);
+                            newerDTO.setEmail(DEFAULT_EMAIL);
+                            newerDTO.setActivated(true);
+                            newerDTO.setAuthorities(Set.of(AuthoritiesConstants.USER));
+                            newerDTO.setLastName("newer");
+                            newTransaction.executeWithoutResult(inner -> userService.updateUser(newerDTO));
+                        }
+                    }
+                );
+                userService.updateUser(userDTO);
+            });
+
+            assertThat(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).get(DEFAULT_LOGIN, User.class))
+                .extracting(User::getLastName)
+                .isEqualTo("newer");
+        } finally {
+            userService.deleteUser(DEFAULT_LOGIN);
+        }
+    }
 }
@@ -0,0 +1,119 @@
+package smartwake.service.alarm;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import smartwake.config.ApplicationProperties;
+
+class AlarmAdmissionControllerTest {
+
+    private ApplicationProperties applicationProperties;
+
+    private MeterRegistry meterRegistry;
+
+    private List<AlarmFiredEvent> published;
+
+    private long now;
+
+    @BeforeEach
+    public void setup() {
+        applicationProperties = new ApplicationProperties();
+        applicationProperties.getAdmission().setSpreadMillis(0);
+        applicationProperties.getAdmission().setBurst(2);
+        applicationProperties.getAdmission().setPermitsPerSecond(10);
+        meterRegistry = new SimpleMeterRegistry();
+        published = new ArrayList<>();
+        now = System.currentTimeMillis();
+    }
+
+    @Test
+    void testEventsArePacedByTheTokenBucket() {
+        AlarmAdmissionController controller = createController();
+        for (int i = 0; i < 5; i++) {
+            controller.submit(event("alarm-" + i, now), now);
+        }
+        assertThat(controller.queueSize()).isEqualTo(5);
+
+        assertThat(controller.drain(now)).isEqualTo(2);
+        // 10 permits per second: one more permit after 100ms
+        assertThat(controller.drain(now + 100)).isEqualTo(1);
+        assertThat(controller.drain(now + 300)).isEqualTo(2);
+
+        assertThat(published).extracting(AlarmFiredEvent::alarmId).containsExactly("alarm-0", "alarm-1", "alarm-2", "alarm-3", "alarm-4");
+        assertThat(meterRegistry.get(AlarmAdmissionController.QUEUE_METER_NAME).gauge().value()).isZero();
+        assertThat(meterRegistry.get(AlarmAdmissionController.DELAY_METER_NAME).timer().max(TimeUnit.MILLISECONDS)).isEqualTo(300);
+    }
+
+    @Test
+    void testEventsAreSpreadWithinTheWindow() {
+        applicationProperties.getAdmission().setSpreadMillis(500);
+        applicationProperties.getAdmission().setBurst(1000);
+        AlarmAdmissionController controller = createController();
+        for (int i = 0; i < 100; i++) {
+            controller.submit(event("alarm-" + i, now), now);
+        }
+
+        int releasedAtOnce = controller.drain(now);
+        assertThat(releasedAtOnce).isLessThan(10);
+        assertThat(controller.drain(now + 250)).isPositive();
+        controller.drain(now + 499);
+
+        assertThat(published).hasSize(100);
+    }
+
+    @Test
+    void testLateEventsArePublishedWithoutPermits() {
+        applicationProperties.getAdmission().setMaxLatenessMillis(1000);
+        AlarmAdmissionController controller = createController();
+        for (int i = 0; i < 50; i++) {
+            controller.submit(event("alarm-" + i, now), now);
+        }
+
+        assertThat(controller.drain(now)).isEqualTo(2);
+        assertThat(controller.drain(now + 500)).isEqualTo(2);
+        assertThat(controller.drain(now + 1000)).isEqualTo(46);
+
+        assertThat(controller.queueSize()).isZero();
+        assertThat(meterRegistry.get(AlarmAdmissionController.LATE_METER_NAME).counter().count()).isEqualTo(44);
+        assertThat(meterRegistry.get(AlarmAdmissionController.DELAY_METER_NAME).timer().max(TimeUnit.MILLISECONDS)).isEqualTo(1000);
+    }
+
+    @Test
+    void testOverflowIsPublishedOnTheCallingThread() {
+        applicationProperties.getAdmission().setQueueCapacity(1);
+        AlarmAdmissionController controller = createController();
+
+        controller.submit(event("queued", now), now);
+        controller.submit(event("overflow", now), now);
+
+        assertThat(published).extracting(AlarmFiredEvent::alarmId).containsExactly("overflow");
+        assertThat(controller.queueSize()).isEqualTo(1);
+        assertThat(meterRegistry.get(AlarmAdmissionController.OVERFLOW_METER_NAME).counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testDisabledControllerPublishesImmediately() {
+        applicationProperties.getAdmission().setEnabled(false);
+        AlarmAdmissionController controller = createController();
+
+        controller.submit(event("alarm", now), now);
+
+        assertThat(published).hasSize(1);
+        assertThat(controller.queueSize()).isZero();
+    }
+
+    private AlarmAdmissionController createController() {
+        return new AlarmAdmissionController(event -> published.add((AlarmFiredEvent) event), applicationProperties, meterRegistry);
+    }
+
+    private static AlarmFiredEvent event(String alarmId, long scheduledAt) {
+        return new AlarmFiredEvent(alarmId, Instant.ofEpochMilli(scheduledAt));
+    }
+}
@@ -0,0 +1,214 @@
+package smartwake.service.alarm;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import smartwake.IntegrationTest;
+import smartwake.config.ApplicationProperties;
+import smartwake.domain.Alarm;
+import smartwake.repository.AlarmPartitionLeaseRepository;
+import smartwake.repository.AlarmPartitionMemberRepository;
+import smartwake.repository.AlarmRepository;
+
+/**
+ * Integration tests for {@link AlarmPartitionService}, simulating several nodes sharing the same database.
+ */
+@IntegrationTest
+class AlarmPartitionServiceIT {
+
+    private static final int BUCKET_COUNT = 8;
+
+    private static final long LEASE_MILLIS = 1_000;
+
+    private static final Set<Integer> ALL_BUCKETS = IntStream.range(0, BUCKET_COUNT).boxed().collect(Collectors.toSet());
+
+    @Autowired
+    private AlarmPartitionLeaseRepository leaseRepository;
+
+    @Autowired
+    private AlarmPartitionMemberRepository memberRepository;
+
+    @Autowired
+    private AlarmRepository alarmRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager em;
+
+    private List<AlarmPartitionsChangedEvent> events;
+
+    @BeforeEach
+    @AfterEach
+    public void cleanup() {
+        leaseRepository.deleteAll();
+        memberRepository.deleteAll();
+        events = new ArrayList<>();
+    }
+
+    @Test
+    void assertThatBucketsAreSharedAndTakenOverWhenANodeDies() {
+        AlarmPartitionService node1 = createNode("node-1");
+        AlarmPartitionService node2 = createNode("node-2");
+
+        node1.initialize();
+        assertThat(node1.getOwnedBuckets()).isEqualTo(ALL_BUCKETS);
+        long now = System.currentTimeMillis();
+
+        // node-2 joins: node-1 gives up half of its buckets, which node-2 claims on its next heartbeat
+        assertThat(node2.heartbeat(now)).isEmpty();
+        assertThat(node1.heartbeat(now + 100)).hasSize(BUCKET_COUNT / 2);
+        assertThat(node2.heartbeat(now + 200)).hasSize(BUCKET_COUNT / 2);
+        Set<Integer> union = new HashSet<>(node1.getOwnedBuckets());
+        union.addAll(node2.getOwnedBuckets());
+        assertThat(union).isEqualTo(ALL_BUCKETS);
+        assertThat(node1.getOwnedBuckets()).doesNotContainAnyElementsOf(node2.getOwnedBuckets());
+        assertThat(events).extracting(AlarmPartitionsChangedEvent::lost).filteredOn(lost -> !lost.isEmpty()).hasSize(1);
+
+        // node-1 stops renewing: node-2 takes over every bucket once the leases of node-1 expired
+        assertThat(node2.heartbeat(now + 100 + LEASE_MILLIS - 1)).hasSize(BUCKET_COUNT / 2);
+        assertThat(node2.heartbeat(now + 100 + LEASE_MILLIS + 1)).isEqualTo(ALL_BUCKETS);
+    }
+
+    @Test
+    void assertThatReleasedBucketsAreTakenOverAtOnce() {
+        AlarmPartitionService node1 = createNode("node-1");
+        AlarmPartitionService node2 = createNode("node-2");
+        node1.initialize();
+        node2.heartbeat(System.currentTimeMillis());
+
+        node1.release();
+
+        assertThat(node1.getOwnedBuckets()).isEmpty();
+        assertThat(node2.heartbeat(System.currentTimeMillis())).isEqualTo(ALL_BUCKETS);
+    }
+
+    @Test
+    void assertThatEveryAlarmIsOwnedByExactlyOneNode() {
+        AlarmPartitionService node1 = createNode("node-1");
+        AlarmPartitionService node2 = createNode("node-2");
+        node1.initialize();
+        long now = System.currentTimeMillis();
+        node2.heartbeat(now);
+        node1.heartbeat(now + 100);
+        node2.heartbeat(now + 200);
+
+        for (int i = 0; i < 100; i++) {
+            String alarmId = "alarm-" + i;
+            assertThat(node1.owns(alarmId)).isNotEqualTo(node2.owns(alarmId));
+        }
+    }
+
+    @Test
+    void assertThatTheAddressOfTheOwnerIsFound() {
+        AlarmPartitionService node1 = createNode("node-1", "http://node-1:8080");
+        AlarmPartitionService node2 = createNode("node-2");
+        node1.initialize();
+
+        assertThat(node2.findOwnerAddress("alarm-1")).contains("http://node-1:8080");
+
+        node1.release();
+
+        assertThat(node2.findOwnerAddress("alarm-1")).isEmpty();
+    }
+
+    @Test
+    void assertThatTheAlarmsOfGainedBucketsAreSelectedByTheDatabase() {
+        AlarmPartitionService node = createNode("node-1");
+        long nextFireAt = System.currentTimeMillis() + 3_600_000;
+        List<Alarm> alarms = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            alarms.add(alarmRepository.saveAndFlush(new Alarm().enabled(true).nextFireAt(nextFireAt)));
+        }
+        try {
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+            transactionTemplate.executeWithoutResult(status ->
+                em.createNativeQuery("update alarm set partition_hash = null where id = :id").setParameter("id", alarms.get(0).getId()).executeUpdate()
+            );
+            node.storePartitionHashes();
+            assertThat(alarmRepository.findIdsWithoutPartitionHashAfter("", Limit.of(1))).isEmpty();
+
+            Set<Integer> buckets = new HashSet<>(List.of(node.bucketOf(alarms.get(0).getId()), node.bucketOf(alarms.get(1).getId())));
+            List<String> expected = alarms.stream().map(Alarm::getId).filter(id -> buckets.contains(node.bucketOf(id))).toList();
+            List<String> selected = transactionTemplate.execute(status -> {
+                try (
+                    Stream<AlarmRepository.AlarmTrigger> triggers = alarmRepository.streamOfBucketsByNextFireAtGreaterThan(
+                        nextFireAt - 1,
+                        BUCKET_COUNT,
+                        buckets
+                    )
+                ) {
+                    return triggers.map(AlarmRepository.AlarmTrigger::getId).toList();
+                }
+            });
+            assertThat(selected).containsExactlyInAnyOrderElementsOf(expected);
+
+            List<String> due = transactionTemplate.execute(status -> {
+                try (
+                    Stream<AlarmRepository.AlarmTrigger> triggers = alarmRepository.streamOfBucketsByNextFireAtBetween(
+                        nextFireAt - 1,
+                        nextFireAt,
+                        BUCKET_COUNT,
+                        buckets
+                    )
+                ) {
+                    return triggers.map(AlarmRepository.AlarmTrigger::getId).toList();
+                }
+            });
+            assertThat(due).containsExactlyInAnyOrderElementsOf(expected);
+            List<String> notDue = transactionTemplate.execute(status -> {
+                try (
+                    Stream<AlarmRepository.AlarmTrigger> triggers = alarmRepository.streamOfBucketsByNextFireAtBetween(
+                        nextFireAt - 2,
+                        nextFireAt - 1,
+                        BUCKET_COUNT,
+                        buckets
+                    )
+                ) {
+                    return triggers.map(AlarmRepository.AlarmTrigger::getId).toList();
+                }
+            });
+            assertThat(notDue).isEmpty();
+        } finally {
+            alarmRepository.deleteAll(alarms);
+        }
+    }
+
+    private AlarmPartitionService createNode(String nodeId) {
+        return createNode(nodeId, null);
+    }
+
+    private AlarmPartitionService createNode(String nodeId, String address) {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getPartition().setEnabled(true);
+        applicationProperties.getPartition().setNodeId(nodeId);
+        applicationProperties.getPartition().setAddress(address);
+        applicationProperties.getPartition().setBucketCount(BUCKET_COUNT);
+        applicationProperties.getPartition().setLeaseMillis(LEASE_MILLIS);
+        return new AlarmPartitionService(
+            leaseRepository,
+            memberRepository,
+            alarmRepository,
+            event -> events.add((AlarmPartitionsChangedEvent) event),
+            transactionManager,
+            applicationProperties,
+            new SimpleMeterRegistry()
+        );
+    }
+}
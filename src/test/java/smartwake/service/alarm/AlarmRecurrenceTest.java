@@ -0,0 +1,115 @@
+package smartwake.service.alarm;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Random;
+import java.util.TreeSet;
+import org.junit.jupiter.api.Test;
+import smartwake.domain.Alarm;
+
+class AlarmRecurrenceTest {
+
+    private static final ZoneId PARIS = ZoneId.of("Europe/Paris");
+
+    @Test
+    void testOneShotFiresOnlyOnce() {
+        ZonedDateTime alarmTime = ZonedDateTime.of(2024, 1, 5, 7, 0, 0, 0, ZoneOffset.UTC);
+        AlarmRecurrence recurrence = AlarmRecurrence.of(new Alarm().alarmTime(alarmTime));
+
+        assertThat(recurrence.isRecurring()).isFalse();
+        assertThat(recurrence.nextAfter(epochMilli(alarmTime.minusDays(3)))).isEqualTo(epochMilli(alarmTime));
+        assertThat(recurrence.nextAfter(epochMilli(alarmTime))).isEqualTo(AlarmRecurrence.NONE);
+    }
+
+    @Test
+    void testWeekdaysSkipTheWeekend() {
+        // 2024-01-05 is a Friday
+        ZonedDateTime friday = ZonedDateTime.of(2024, 1, 5, 7, 0, 0, 0, ZoneOffset.UTC);
+        int weekdays = AlarmRecurrence.maskOf(
+            DayOfWeek.MONDAY,
+            DayOfWeek.TUESDAY,
+            DayOfWeek.WEDNESDAY,
+            DayOfWeek.THURSDAY,
+            DayOfWeek.FRIDAY
+        );
+        AlarmRecurrence recurrence = AlarmRecurrence.of(new Alarm().alarmTime(friday).repeatMask(weekdays));
+
+        assertThat(recurrence.nextAfter(epochMilli(friday.minusDays(10)))).isEqualTo(epochMilli(friday));
+        assertThat(recurrence.nextAfter(epochMilli(friday))).isEqualTo(epochMilli(friday.plusDays(3)));
+    }
+
+    @Test
+    void testSkipDatesAreNotFired() {
+        ZonedDateTime monday = ZonedDateTime.of(2024, 1, 8, 7, 0, 0, 0, ZoneOffset.UTC);
+        TreeSet<LocalDate> skipDates = new TreeSet<>();
+        skipDates.add(LocalDate.of(2024, 1, 15));
+        skipDates.add(LocalDate.of(2024, 1, 22));
+        AlarmRecurrence recurrence = AlarmRecurrence.of(
+            new Alarm().alarmTime(monday).repeatMask(AlarmRecurrence.maskOf(DayOfWeek.MONDAY)).skipDates(skipDates)
+        );
+
+        assertThat(recurrence.nextAfter(epochMilli(monday))).isEqualTo(epochMilli(monday.plusWeeks(3)));
+    }
+
+    @Test
+    void testLocalTimeInDaylightSavingGapIsShiftedForward() {
+        // on 2024-03-31, Paris clocks jump from 02:00 to 03:00
+        ZonedDateTime alarmTime = ZonedDateTime.of(LocalDateTime.of(2024, 3, 30, 2, 30), PARIS);
+        AlarmRecurrence recurrence = AlarmRecurrence.of(
+            new Alarm().alarmTime(alarmTime).timeZone(PARIS.getId()).repeatMask(AlarmRecurrence.EVERY_DAY)
+        );
+
+        long gap = recurrence.nextAfter(epochMilli(alarmTime));
+        assertThat(gap).isEqualTo(epochMilli(ZonedDateTime.of(2024, 3, 31, 1, 30, 0, 0, ZoneOffset.UTC)));
+        assertThat(recurrence.nextAfter(gap)).isEqualTo(epochMilli(ZonedDateTime.of(2024, 4, 1, 0, 30, 0, 0, ZoneOffset.UTC)));
+    }
+
+    @Test
+    void testLocalTimeInDaylightSavingOverlapFiresOnce() {
+        // on 2024-10-27, Paris clocks go back from 03:00 to 02:00
+        ZonedDateTime alarmTime = ZonedDateTime.of(LocalDateTime.of(2024, 10, 26, 2, 30), PARIS);
+        AlarmRecurrence recurrence = AlarmRecurrence.of(
+            new Alarm().alarmTime(alarmTime).timeZone(PARIS.getId()).repeatMask(AlarmRecurrence.EVERY_DAY)
+        );
+
+        long overlap = recurrence.nextAfter(epochMilli(alarmTime));
+        assertThat(overlap).isEqualTo(epochMilli(ZonedDateTime.of(2024, 10, 27, 0, 30, 0, 0, ZoneOffset.UTC)));
+        assertThat(recurrence.nextAfter(overlap)).isEqualTo(epochMilli(ZonedDateTime.of(2024, 10, 28, 1, 30, 0, 0, ZoneOffset.UTC)));
+    }
+
+    @Test
+    void testMatchesZonedDateTimeArithmetic() {
+        Random random = new Random(42);
+        ZoneId[] zones = { PARIS, ZoneId.of("America/New_York"), ZoneId.of("Australia/Lord_Howe"), ZoneOffset.UTC };
+        for (int i = 0; i < 200; i++) {
+            ZoneId zone = zones[random.nextInt(zones.length)];
+            int mask = 1 + random.nextInt(AlarmRecurrence.EVERY_DAY);
+            LocalTime requested = LocalTime.ofSecondOfDay(random.nextInt(86_400));
+            ZonedDateTime alarmTime = ZonedDateTime.of(LocalDate.of(2024, 1, 1).plusDays(random.nextInt(365)), requested, zone);
+            LocalTime time = alarmTime.toLocalTime();
+            AlarmRecurrence recurrence = AlarmRecurrence.of(new Alarm().alarmTime(alarmTime).timeZone(zone.getId()).repeatMask(mask));
+
+            long fireAt = epochMilli(alarmTime) - 1;
+            LocalDate day = alarmTime.toLocalDate();
+            for (int j = 0; j < 20; j++) {
+                while ((mask & (1 << (day.getDayOfWeek().getValue() - 1))) == 0) {
+                    day = day.plusDays(1);
+                }
+                fireAt = recurrence.nextAfter(fireAt);
+                assertThat(fireAt).as("%s %s mask %s", zone, day, mask).isEqualTo(epochMilli(ZonedDateTime.of(day, time, zone)));
+                day = day.plusDays(1);
+            }
+        }
+    }
+
+    private static long epochMilli(ZonedDateTime dateTime) {
+        return dateTime.toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,117 @@
+package smartwake.service.alarm;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import smartwake.IntegrationTest;
+import smartwake.config.ApplicationProperties;
+import smartwake.domain.enumeration.RingState;
+import smartwake.repository.AlarmPartitionLeaseRepository;
+import smartwake.repository.AlarmPartitionMemberRepository;
+import smartwake.repository.AlarmRepository;
+import smartwake.repository.AlarmRingBroadcastRepository;
+
+/**
+ * Integration tests for {@link AlarmRingBroadcastService}, simulating several nodes sharing the same database.
+ */
+@IntegrationTest
+class AlarmRingBroadcastServiceIT {
+
+    @Autowired
+    private AlarmRingBroadcastRepository broadcastRepository;
+
+    @Autowired
+    private AlarmPartitionLeaseRepository leaseRepository;
+
+    @Autowired
+    private AlarmPartitionMemberRepository memberRepository;
+
+    @Autowired
+    private AlarmRepository alarmRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    @AfterEach
+    public void cleanup() {
+        broadcastRepository.deleteAll();
+    }
+
+    @Test
+    void assertThatRingEventsReachTheOtherNodes() {
+        List<Object> received1 = new ArrayList<>();
+        List<Object> received2 = new ArrayList<>();
+        AlarmRingBroadcastService node1 = createNode("node-1", received1);
+        AlarmRingBroadcastService node2 = createNode("node-2", received2);
+        node1.exchange();
+        node2.exchange();
+        Instant now = Instant.now();
+        AlarmRingEvent ringing = new AlarmRingEvent("alarm-1", "user", RingState.RINGING, now, null);
+        AlarmRingEvent snoozed = new AlarmRingEvent("alarm-1", "user", RingState.SNOOZED, now.plusSeconds(1), now.plusSeconds(301));
+
+        node1.broadcast(ringing);
+        node1.broadcast(snoozed);
+        node1.exchange();
+        node2.exchange();
+
+        assertThat(received1).isEmpty();
+        assertThat(received2).containsExactly(
+            new AlarmRingEvent("alarm-1", "user", RingState.RINGING, Instant.ofEpochMilli(now.toEpochMilli()), null),
+            new AlarmRingEvent(
+                "alarm-1",
+                "user",
+                RingState.SNOOZED,
+                Instant.ofEpochMilli(now.plusSeconds(1).toEpochMilli()),
+                Instant.ofEpochMilli(now.plusSeconds(301).toEpochMilli())
+            )
+        );
+
+        node2.exchange();
+        assertThat(received2).hasSize(2);
+    }
+
+    @Test
+    void assertThatEventsBroadcastBeforeStartAreNotReceived() {
+        List<Object> received = new ArrayList<>();
+        AlarmRingBroadcastService node1 = createNode("node-1", new ArrayList<>());
+        node1.broadcast(new AlarmRingEvent("alarm-1", "user", RingState.RINGING, Instant.now(), null));
+        node1.exchange();
+
+        AlarmRingBroadcastService node2 = createNode("node-2", received);
+        node2.exchange();
+
+        assertThat(received).isEmpty();
+    }
+
+    private AlarmRingBroadcastService createNode(String nodeId, List<Object> received) {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getPartition().setEnabled(true);
+        applicationProperties.getPartition().setNodeId(nodeId);
+        AlarmPartitionService partitionService = new AlarmPartitionService(
+            leaseRepository,
+            memberRepository,
+            alarmRepository,
+            event -> {},
+            transactionManager,
+            applicationProperties,
+            new SimpleMeterRegistry()
+        );
+        AlarmRingBroadcastService broadcastService = new AlarmRingBroadcastService(
+            broadcastRepository,
+            partitionService,
+            received::add,
+            transactionManager,
+            applicationProperties
+        );
+        return broadcastService;
+    }
+}
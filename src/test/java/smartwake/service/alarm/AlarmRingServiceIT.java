@@ -0,0 +1,102 @@
+package smartwake.service.alarm;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import jakarta.persistence.EntityManager;
+import java.time.Instant;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+import smartwake.IntegrationTest;
+import smartwake.domain.Alarm;
+import smartwake.domain.enumeration.RingState;
+import smartwake.repository.AlarmRepository;
+
+/**
+ * Integration tests for {@link AlarmRingService}.
+ */
+@IntegrationTest
+@Transactional
+class AlarmRingServiceIT {
+
+    @Autowired
+    private AlarmRepository alarmRepository;
+
+    @Autowired
+    private AlarmRingService alarmRingService;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private AlarmPartitionService partitionService;
+
+    @Test
+    void assertThatSnoozedAlarmRingsAgainUntilDismissed() {
+        Alarm alarm = alarmRepository.saveAndFlush(new Alarm().enabled(true).snoozeEnabled(true).snoozeDuration(5));
+        alarmRingService.ring(alarm, Instant.now());
+
+        long before = System.currentTimeMillis();
+        AlarmRingService.RingStatus snoozed = alarmRingService.snooze(alarm.getId());
+        assertThat(snoozed.state()).isEqualTo(RingState.SNOOZED);
+        assertThat(snoozed.snoozeCount()).isEqualTo(1);
+        assertThat(snoozed.snoozedUntil().toEpochMilli()).isBetween(before + 300_000, System.currentTimeMillis() + 300_000);
+        assertThatThrownBy(() -> alarmRingService.snooze(alarm.getId())).isInstanceOf(InvalidRingTransitionException.class);
+
+        alarmRingService.tick(snoozed.snoozedUntil().toEpochMilli() - 1);
+        assertThat(alarmRingService.getStatus(alarm.getId())).get().extracting(AlarmRingService.RingStatus::state).isEqualTo(RingState.SNOOZED);
+        alarmRingService.tick(snoozed.snoozedUntil().toEpochMilli());
+        assertThat(alarmRingService.getStatus(alarm.getId())).get().extracting(AlarmRingService.RingStatus::state).isEqualTo(RingState.RINGING);
+
+        assertThat(alarmRingService.snooze(alarm.getId()).snoozeCount()).isEqualTo(2);
+        assertThat(alarmRingService.dismiss(alarm.getId()).state()).isEqualTo(RingState.DISMISSED);
+        assertThat(alarmRingService.getStatus(alarm.getId())).isEmpty();
+        assertThatThrownBy(() -> alarmRingService.dismiss(alarm.getId())).isInstanceOf(InvalidRingTransitionException.class);
+    }
+
+    @Test
+    void assertThatStateChangesAreWrittenOnFlush() {
+        Alarm alarm = alarmRepository.saveAndFlush(new Alarm().enabled(true).snoozeDuration(5));
+        alarmRingService.ring(alarm, Instant.now());
+        AlarmRingService.RingStatus snoozed = alarmRingService.snooze(alarm.getId());
+        assertThat(alarmRepository.findById(alarm.getId()).orElseThrow().getRingState()).isNull();
+        // the owner changes the alarm behind the back of the loaded one
+        em.createQuery("update Alarm alarm set alarm.label = 'changed' where alarm.id = :id").setParameter("id", alarm.getId()).executeUpdate();
+
+        alarmRingService.flush();
+
+        em.clear();
+        Alarm persisted = alarmRepository.findById(alarm.getId()).orElseThrow();
+        assertThat(persisted.getLabel()).isEqualTo("changed");
+        assertThat(persisted.getRingState()).isEqualTo(RingState.SNOOZED);
+        assertThat(persisted.getSnoozedUntil()).isEqualTo(snoozed.snoozedUntil().toEpochMilli());
+        alarmRingService.dismiss(alarm.getId());
+    }
+
+    @Test
+    void assertThatDisabledSnoozeIsRejected() {
+        Alarm alarm = alarmRepository.saveAndFlush(new Alarm().enabled(true).snoozeEnabled(false));
+        alarmRingService.ring(alarm, Instant.now());
+
+        assertThatThrownBy(() -> alarmRingService.snooze(alarm.getId())).isInstanceOf(InvalidRingTransitionException.class);
+        alarmRingService.dismiss(alarm.getId());
+    }
+
+    @Test
+    void assertThatRingStatesFollowTheirBucket() {
+        long snoozedUntil = System.currentTimeMillis() + 300_000;
+        Alarm alarm = alarmRepository.saveAndFlush(new Alarm().enabled(true).ringState(RingState.SNOOZED).snoozedUntil(snoozedUntil));
+        Set<Integer> bucket = Set.of(partitionService.bucketOf(alarm.getId()));
+
+        alarmRingService.onPartitionsChanged(new AlarmPartitionsChangedEvent(bucket, Set.of()));
+        assertThat(alarmRingService.getStatus(alarm.getId()))
+            .get()
+            .extracting(AlarmRingService.RingStatus::snoozedUntil)
+            .isEqualTo(Instant.ofEpochMilli(snoozedUntil));
+
+        alarmRingService.onPartitionsChanged(new AlarmPartitionsChangedEvent(Set.of(), bucket));
+        assertThat(alarmRingService.getStatus(alarm.getId())).isEmpty();
+    }
+}
@@ -0,0 +1,116 @@
+package smartwake.service.alarm;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class HierarchicalTimingWheelTest {
+
+    private static final long START = 1_000_000L;
+
+    private HierarchicalTimingWheel<String> wheel;
+
+    private List<String> fired;
+
+    @BeforeEach
+    public void setup() {
+        // 10ms ticks, 8 buckets per level, 3 levels: the wheel spans 5120ms before overflowing
+        wheel = new HierarchicalTimingWheel<>(10, 8, 3, START);
+        fired = new ArrayList<>();
+    }
+
+    @Test
+    void testFiresOnlyOnceDeadlineIsReached() {
+        wheel.schedule("a", START + 55);
+
+        assertThat(wheel.advanceTo(START + 50, fired::add)).isZero();
+        assertThat(fired).isEmpty();
+
+        assertThat(wheel.advanceTo(START + 60, fired::add)).isEqualTo(1);
+        assertThat(fired).containsExactly("a");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void testCascadesFromUpperLevels() {
+        wheel.schedule("near", START + 30);
+        wheel.schedule("middle", START + 700);
+        wheel.schedule("far", START + 4000);
+
+        wheel.advanceTo(START + 699, fired::add);
+        assertThat(fired).containsExactly("near");
+
+        wheel.advanceTo(START + 700, fired::add);
+        assertThat(fired).containsExactly("near", "middle");
+
+        wheel.advanceTo(START + 3999, fired::add);
+        assertThat(fired).containsExactly("near", "middle");
+
+        wheel.advanceTo(START + 4000, fired::add);
+        assertThat(fired).containsExactly("near", "middle", "far");
+    }
+
+    @Test
+    void testDeadlinesBeyondTheTopLevelAreReparked() {
+        wheel.schedule("overflow", START + 20_000);
+
+        wheel.advanceTo(START + 19_990, fired::add);
+        assertThat(fired).isEmpty();
+        assertThat(wheel.size()).isEqualTo(1);
+
+        wheel.advanceTo(START + 20_000, fired::add);
+        assertThat(fired).containsExactly("overflow");
+    }
+
+    @Test
+    void testPastDeadlinesFireOnNextTick() {
+        wheel.schedule("late", START - 5_000);
+
+        wheel.advanceTo(START + 10, fired::add);
+        assertThat(fired).containsExactly("late");
+    }
+
+    @Test
+    void testCancel() {
+        HierarchicalTimingWheel.Timeout<String> timeout = wheel.schedule("a", START + 100);
+        wheel.schedule("b", START + 100);
+
+        assertThat(wheel.cancel(timeout)).isTrue();
+        assertThat(wheel.cancel(timeout)).isFalse();
+        assertThat(timeout.isPending()).isFalse();
+
+        wheel.advanceTo(START + 100, fired::add);
+        assertThat(fired).containsExactly("b");
+    }
+
+    @Test
+    void testRandomDeadlinesNeverFireEarlyOrLate() {
+        Random random = new Random(42);
+        List<Long> deadlines = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            long deadline = START + 1 + random.nextInt(30_000);
+            deadlines.add(deadline);
+            wheel.schedule(String.valueOf(i), deadline);
+        }
+        for (long now = START; now <= START + 30_010; now += 10) {
+            long current = now;
+            wheel.advanceTo(now, payload -> {
+                long deadline = deadlines.get(Integer.parseInt(payload));
+                assertThat(deadline).isLessThanOrEqualTo(current).isGreaterThan(current - 10);
+                fired.add(payload);
+            });
+        }
+        assertThat(fired).hasSize(1_000);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void testWheelSizeMustBeAPowerOfTwo() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new HierarchicalTimingWheel<>(10, 10, 3, START));
+    }
+}
@@ -0,0 +1,24 @@
+package smartwake.service.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import smartwake.web.rest.TestUtil;
+
+class AlarmDTOTest {
+
+    @Test
+    void dtoEqualsVerifier() throws Exception {
+        TestUtil.equalsVerifier(AlarmDTO.class);
+        AlarmDTO alarmDTO1 = new AlarmDTO();
+        alarmDTO1.setId("id1");
+        AlarmDTO alarmDTO2 = new AlarmDTO();
+        assertThat(alarmDTO1).isNotEqualTo(alarmDTO2);
+        alarmDTO2.setId(alarmDTO1.getId());
+        assertThat(alarmDTO1).isEqualTo(alarmDTO2);
+        alarmDTO2.setId("id2");
+        assertThat(alarmDTO1).isNotEqualTo(alarmDTO2);
+        alarmDTO1.setId(null);
+        assertThat(alarmDTO1).isNotEqualTo(alarmDTO2);
+    }
+}
@@ -0,0 +1,57 @@
+package smartwake.service.mapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static smartwake.domain.AlarmAsserts.*;
+import static smartwake.domain.AlarmTestSamples.*;
+
+import java.time.LocalDate;
+import java.util.TreeSet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import smartwake.domain.Alarm;
+import smartwake.domain.UserLogin;
+import smartwake.service.dto.AlarmDTO;
+
+class AlarmMapperTest {
+
+    private AlarmMapper alarmMapper;
+
+    @BeforeEach
+    void setUp() {
+        alarmMapper = new AlarmMapperImpl();
+    }
+
+    @Test
+    void shouldConvertToDtoAndBack() {
+        var expected = getAlarmSample1();
+        var actual = alarmMapper.toEntity(alarmMapper.toDto(expected));
+        assertAlarmAllPropertiesEquals(expected, actual);
+    }
+
+    @Test
+    void shouldMapOwnerByIdOnly() {
+        AlarmDTO alarmDTO = alarmMapper.toDto(getAlarmSample1().userLogin(new UserLogin().id(1L).username("owner").password("secret")));
+        assertThat(alarmDTO.getUserLogin().getId()).isEqualTo(1L);
+        assertThat(alarmMapper.toEntity(alarmDTO).getUserLogin().getUsername()).isNull();
+    }
+
+    @Test
+    void shouldKeepComputedAndMissingFieldsOnPartialUpdate() {
+        TreeSet<LocalDate> skipDates = new TreeSet<>();
+        skipDates.add(LocalDate.of(2024, 1, 15));
+        UserLogin owner = new UserLogin().id(1L);
+        Alarm alarm = getAlarmSample1().nextFireAt(1_000L).skipDates(skipDates).userLogin(owner);
+        AlarmDTO patch = new AlarmDTO();
+        patch.setLabel("patched");
+        patch.setNextFireAt(2_000L);
+        patch.setUserLogin(alarmMapper.toDtoUserLoginId(new UserLogin().id(2L)));
+
+        alarmMapper.partialUpdate(alarm, patch);
+
+        assertThat(alarm.getLabel()).isEqualTo("patched");
+        assertThat(alarm.getSound()).isEqualTo("sound1");
+        assertThat(alarm.getNextFireAt()).isEqualTo(1_000L);
+        assertThat(alarm.getSkipDates()).containsExactly(LocalDate.of(2024, 1, 15));
+        assertThat(alarm.getUserLogin()).isSameAs(owner);
+    }
+}
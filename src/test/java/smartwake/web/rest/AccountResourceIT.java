@@ -14,8 +14,11 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
@@ -25,6 +28,7 @@ import smartwake.domain.User;
 import smartwake.repository.AuthorityRepository;
 import smartwake.repository.UserRepository;
 import smartwake.security.AuthoritiesConstants;
+import smartwake.security.TokenRevocationStore;
 import smartwake.service.UserService;
 import smartwake.service.dto.AdminUserDTO;
 import smartwake.service.dto.PasswordChangeDTO;
@@ -55,6 +59,12 @@ class AccountResourceIT {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private TokenRevocationStore tokenRevocationStore;
+
+    @Autowired
+    private AuthenticateController authenticateController;
+
     @Autowired
     private MockMvc restAccountMockMvc;
 
@@ -544,6 +554,29 @@ class AccountResourceIT {
 
         User updatedUser = userRepository.findOneByLogin("change-password").orElse(null);
         assertThat(passwordEncoder.matches("new password", updatedUser.getPassword())).isTrue();
+        Jwt previousToken = Jwt.withTokenValue("previous")
+            .header("alg", "HS512")
+            .subject("change-password")
+            .issuedAt(Instant.now().minusSeconds(10))
+            .build();
+        assertThat(tokenRevocationStore.isRevoked(previousToken)).isTrue();
+    }
+
+    @Test
+    @Transactional
+    void testLogoutRevokesTheAccessToken() throws Exception {
+        String token = authenticateController.createToken(new UsernamePasswordAuthenticationToken("logout", null, List.of()), false);
+
+        restAccountMockMvc
+            .perform(get("/api/authenticate").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+            .andExpect(status().isOk())
+            .andExpect(content().string("logout"));
+
+        restAccountMockMvc.perform(post("/api/logout").header(HttpHeaders.AUTHORIZATION, "Bearer " + token)).andExpect(status().isOk());
+
+        restAccountMockMvc
+            .perform(get("/api/authenticate").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+            .andExpect(status().isUnauthorized());
     }
 
     @Test
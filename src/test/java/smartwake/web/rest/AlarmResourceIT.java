@@ -1,7 +1,10 @@
 package smartwake.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static smartwake.domain.AlarmAsserts.*;
@@ -11,22 +14,32 @@ import static smartwake.web.rest.TestUtil.sameInstant;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityManager;
 import java.time.Instant;
-import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.util.List;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.context.transaction.TestTransaction;
 import org.springframework.transaction.annotation.Transactional;
 import smartwake.IntegrationTest;
 import smartwake.domain.Alarm;
+import smartwake.domain.UserLogin;
+import smartwake.domain.enumeration.RingState;
 import smartwake.repository.AlarmRepository;
+import smartwake.security.AuthoritiesConstants;
+import smartwake.service.alarm.AlarmRingService;
+import smartwake.service.dto.AlarmBulkOperationDTO;
+import smartwake.service.dto.AlarmDTO;
+import smartwake.service.mapper.AlarmMapper;
 
 /**
  * Integration tests for the {@link AlarmResource} REST controller.
@@ -51,8 +64,11 @@ class AlarmResourceIT {
     private static final String DEFAULT_LABEL = "AAAAAAAAAA";
     private static final String UPDATED_LABEL = "BBBBBBBBBB";
 
-    private static final LocalDate DEFAULT_REPEAT_DAYS = LocalDate.ofEpochDay(0L);
-    private static final LocalDate UPDATED_REPEAT_DAYS = LocalDate.now(ZoneId.systemDefault());
+    private static final Integer DEFAULT_REPEAT_MASK = 0;
+    private static final Integer UPDATED_REPEAT_MASK = 1;
+
+    private static final String DEFAULT_TIME_ZONE = "UTC";
+    private static final String UPDATED_TIME_ZONE = "Europe/Paris";
 
     private static final Boolean DEFAULT_SNOOZE_ENABLED = false;
     private static final Boolean UPDATED_SNOOZE_ENABLED = true;
@@ -69,6 +85,12 @@ class AlarmResourceIT {
     @Autowired
     private AlarmRepository alarmRepository;
 
+    @Autowired
+    private AlarmMapper alarmMapper;
+
+    @Autowired
+    private AlarmRingService alarmRingService;
+
     @Autowired
     private EntityManager em;
 
@@ -90,7 +112,8 @@ class AlarmResourceIT {
             .enabled(DEFAULT_ENABLED)
             .sound(DEFAULT_SOUND)
             .label(DEFAULT_LABEL)
-            .repeatDays(DEFAULT_REPEAT_DAYS)
+            .repeatMask(DEFAULT_REPEAT_MASK)
+            .timeZone(DEFAULT_TIME_ZONE)
             .snoozeEnabled(DEFAULT_SNOOZE_ENABLED)
             .snoozeDuration(DEFAULT_SNOOZE_DURATION);
         return alarm;
@@ -109,7 +132,8 @@ class AlarmResourceIT {
             .enabled(UPDATED_ENABLED)
             .sound(UPDATED_SOUND)
             .label(UPDATED_LABEL)
-            .repeatDays(UPDATED_REPEAT_DAYS)
+            .repeatMask(UPDATED_REPEAT_MASK)
+            .timeZone(UPDATED_TIME_ZONE)
             .snoozeEnabled(UPDATED_SNOOZE_ENABLED)
             .snoozeDuration(UPDATED_SNOOZE_DURATION);
         return alarm;
@@ -125,18 +149,20 @@ class AlarmResourceIT {
     void createAlarm() throws Exception {
         long databaseSizeBeforeCreate = getRepositoryCount();
         // Create the Alarm
-        var returnedAlarm = om.readValue(
+        AlarmDTO alarmDTO = alarmMapper.toDto(alarm);
+        var returnedAlarmDTO = om.readValue(
             restAlarmMockMvc
-                .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(alarm)))
+                .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(alarmDTO)))
                 .andExpect(status().isCreated())
                 .andReturn()
                 .getResponse()
                 .getContentAsString(),
-            Alarm.class
+            AlarmDTO.class
         );
 
         // Validate the Alarm in the database
         assertIncrementedRepositoryCount(databaseSizeBeforeCreate);
+        var returnedAlarm = alarmMapper.toEntity(returnedAlarmDTO);
         assertAlarmUpdatableFieldsEquals(returnedAlarm, getPersistedAlarm(returnedAlarm));
     }
 
@@ -150,22 +176,37 @@ class AlarmResourceIT {
 
         // An entity with an existing ID cannot be created, so this API call must fail
         restAlarmMockMvc
-            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(alarm)))
+            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(alarmMapper.toDto(alarm))))
             .andExpect(status().isBadRequest());
 
         // Validate the Alarm in the database
         assertSameRepositoryCount(databaseSizeBeforeCreate);
     }
 
+    @Test
+    @Transactional
+    void createAlarmWithInvalidTimeZone() throws Exception {
+        alarm.setTimeZone("Mars/Olympus_Mons");
+
+        long databaseSizeBeforeCreate = getRepositoryCount();
+
+        restAlarmMockMvc
+            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(alarmMapper.toDto(alarm))))
+            .andExpect(status().isBadRequest());
+
+        assertSameRepositoryCount(databaseSizeBeforeCreate);
+    }
+
     @Test
     @Transactional
     void getAllAlarms() throws Exception {
         // Initialize the database
+        alarm.setUserLogin(createCurrentUserLogin());
         alarmRepository.saveAndFlush(alarm);
 
         // Get all the alarmList
         restAlarmMockMvc
-            .perform(get(ENTITY_API_URL + "?sort=id,desc"))
+            .perform(get(ENTITY_API_URL))
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
             .andExpect(jsonPath("$.[*].id").value(hasItem(alarm.getId())))
@@ -174,11 +215,136 @@ class AlarmResourceIT {
             .andExpect(jsonPath("$.[*].enabled").value(hasItem(DEFAULT_ENABLED.booleanValue())))
             .andExpect(jsonPath("$.[*].sound").value(hasItem(DEFAULT_SOUND)))
             .andExpect(jsonPath("$.[*].label").value(hasItem(DEFAULT_LABEL)))
-            .andExpect(jsonPath("$.[*].repeatDays").value(hasItem(DEFAULT_REPEAT_DAYS.toString())))
+            .andExpect(jsonPath("$.[*].repeatMask").value(hasItem(DEFAULT_REPEAT_MASK)))
+            .andExpect(jsonPath("$.[*].timeZone").value(hasItem(DEFAULT_TIME_ZONE)))
             .andExpect(jsonPath("$.[*].snoozeEnabled").value(hasItem(DEFAULT_SNOOZE_ENABLED.booleanValue())))
             .andExpect(jsonPath("$.[*].snoozeDuration").value(hasItem(DEFAULT_SNOOZE_DURATION)));
     }
 
+    @Test
+    @Transactional
+    void bulkAlarms() throws Exception {
+        alarmRepository.saveAndFlush(alarm);
+        Alarm deleted = alarmRepository.saveAndFlush(createEntity(em));
+        long databaseSizeBeforeBulk = getRepositoryCount();
+
+        List<AlarmBulkOperationDTO> operations = List.of(
+            new AlarmBulkOperationDTO(AlarmBulkOperationDTO.Action.CREATE, null, alarmMapper.toDto(createUpdatedEntity(em))),
+            new AlarmBulkOperationDTO(AlarmBulkOperationDTO.Action.PATCH, alarm.getId(), alarmMapper.toDto(new Alarm().label(UPDATED_LABEL))),
+            new AlarmBulkOperationDTO(AlarmBulkOperationDTO.Action.DELETE, deleted.getId(), null),
+            new AlarmBulkOperationDTO(
+                AlarmBulkOperationDTO.Action.UPDATE,
+                UUID.randomUUID().toString(),
+                alarmMapper.toDto(createUpdatedEntity(em))
+            ),
+            new AlarmBulkOperationDTO(AlarmBulkOperationDTO.Action.CREATE, null, alarmMapper.toDto(createEntity(em).timeZone("Not/AZone")))
+        );
+        restAlarmMockMvc
+            .perform(post(ENTITY_API_URL + "/bulk").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(operations)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].status").value(contains(201, 200, 204, 404, 400)))
+            .andExpect(jsonPath("$.[3].errorKey").value("idnotfound"))
+            .andExpect(jsonPath("$.[4].errorKey").value("timezoneinvalid"));
+
+        assertSameRepositoryCount(databaseSizeBeforeBulk);
+        assertThat(alarmRepository.findById(alarm.getId()).orElseThrow().getLabel()).isEqualTo(UPDATED_LABEL);
+        assertThat(alarmRepository.existsById(deleted.getId())).isFalse();
+    }
+
+    @Test
+    @Transactional
+    void getAllAlarmsPageByPage() throws Exception {
+        UserLogin userLogin = createCurrentUserLogin();
+        UserLogin otherUserLogin = UserLoginResourceIT.createEntity(em).username("other");
+        em.persist(otherUserLogin);
+        Alarm untimed = alarmRepository.save(createEntity(em).alarmTime(null).userLogin(userLogin));
+        Alarm first = alarmRepository.save(createEntity(em).alarmTime(DEFAULT_ALARM_TIME).userLogin(userLogin));
+        Alarm second = alarmRepository.save(createEntity(em).alarmTime(UPDATED_ALARM_TIME).userLogin(userLogin));
+        Alarm other = alarmRepository.save(createEntity(em).alarmTime(DEFAULT_ALARM_TIME).userLogin(otherUserLogin));
+        alarmRepository.flush();
+
+        String link = restAlarmMockMvc
+            .perform(get(ENTITY_API_URL + "?size=2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$.[0].id").value(untimed.getId()))
+            .andExpect(jsonPath("$.[1].id").value(first.getId()))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("rel=\"next\"")))
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.LINK);
+        String next = link.substring(link.indexOf('<') + 1, link.indexOf('>'));
+
+        restAlarmMockMvc
+            .perform(get(next))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(second.getId()))
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(other.getId()))))
+            .andExpect(header().string(HttpHeaders.LINK, not(containsString("rel=\"next\""))));
+    }
+
+    @Test
+    @Transactional
+    void getAlarmChanges() throws Exception {
+        alarm.setUserLogin(createCurrentUserLogin());
+        restAlarmMockMvc
+            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(alarmMapper.toDto(alarm))))
+            .andExpect(status().isCreated());
+
+        restAlarmMockMvc
+            .perform(get(ENTITY_API_URL + "/changes?since=0"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.cursor").value(1))
+            .andExpect(jsonPath("$.alarms.[0].label").value(DEFAULT_LABEL))
+            .andExpect(jsonPath("$.deleted").isEmpty());
+
+        restAlarmMockMvc
+            .perform(get(ENTITY_API_URL + "/changes?since=1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.cursor").value(1))
+            .andExpect(jsonPath("$.alarms").isEmpty());
+    }
+
+    @Test
+    @Transactional
+    void getAllAlarmsNotModifiedUntilAnAlarmChanges() throws Exception {
+        alarm.setUserLogin(createCurrentUserLogin());
+        alarmRepository.saveAndFlush(alarm);
+
+        String eTag = restAlarmMockMvc
+            .perform(get(ENTITY_API_URL))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+        restAlarmMockMvc.perform(get(ENTITY_API_URL).header(HttpHeaders.IF_NONE_MATCH, eTag)).andExpect(status().isNotModified());
+        restAlarmMockMvc
+            .perform(get(ENTITY_API_URL + "/changes").header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified());
+
+        AlarmDTO patch = alarmMapper.toDto(new Alarm().id(alarm.getId()).label(UPDATED_LABEL));
+        restAlarmMockMvc
+            .perform(patch(ENTITY_API_URL_ID, alarm.getId()).contentType("application/merge-patch+json").content(om.writeValueAsBytes(patch)))
+            .andExpect(status().isOk());
+        // versions change once the transaction of the change completes
+        TestTransaction.end();
+        TestTransaction.start();
+
+        restAlarmMockMvc
+            .perform(get(ENTITY_API_URL).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, not(eTag)));
+    }
+
+    @Test
+    @Transactional
+    void getAllAlarmsWithInvalidCursor() throws Exception {
+        restAlarmMockMvc.perform(get(ENTITY_API_URL + "?cursor=invalid")).andExpect(status().isBadRequest());
+    }
+
     @Test
     @Transactional
     void getAlarm() throws Exception {
@@ -196,7 +362,8 @@ class AlarmResourceIT {
             .andExpect(jsonPath("$.enabled").value(DEFAULT_ENABLED.booleanValue()))
             .andExpect(jsonPath("$.sound").value(DEFAULT_SOUND))
             .andExpect(jsonPath("$.label").value(DEFAULT_LABEL))
-            .andExpect(jsonPath("$.repeatDays").value(DEFAULT_REPEAT_DAYS.toString()))
+            .andExpect(jsonPath("$.repeatMask").value(DEFAULT_REPEAT_MASK))
+            .andExpect(jsonPath("$.timeZone").value(DEFAULT_TIME_ZONE))
             .andExpect(jsonPath("$.snoozeEnabled").value(DEFAULT_SNOOZE_ENABLED.booleanValue()))
             .andExpect(jsonPath("$.snoozeDuration").value(DEFAULT_SNOOZE_DURATION));
     }
@@ -226,7 +393,8 @@ class AlarmResourceIT {
             .enabled(UPDATED_ENABLED)
             .sound(UPDATED_SOUND)
             .label(UPDATED_LABEL)
-            .repeatDays(UPDATED_REPEAT_DAYS)
+            .repeatMask(UPDATED_REPEAT_MASK)
+            .timeZone(UPDATED_TIME_ZONE)
             .snoozeEnabled(UPDATED_SNOOZE_ENABLED)
             .snoozeDuration(UPDATED_SNOOZE_DURATION);
 
@@ -234,7 +402,7 @@ class AlarmResourceIT {
             .perform(
                 put(ENTITY_API_URL_ID, updatedAlarm.getId())
                     .contentType(MediaType.APPLICATION_JSON)
-                    .content(om.writeValueAsBytes(updatedAlarm))
+                    .content(om.writeValueAsBytes(alarmMapper.toDto(updatedAlarm)))
             )
             .andExpect(status().isOk());
 
@@ -243,6 +411,31 @@ class AlarmResourceIT {
         assertPersistedAlarmToMatchAllProperties(updatedAlarm);
     }
 
+    @Test
+    @Transactional
+    void putSnoozedAlarmKeepsItsRingState() throws Exception {
+        long snoozedUntil = Instant.now().plusSeconds(300).toEpochMilli();
+        alarmRepository.saveAndFlush(alarm.ringState(RingState.SNOOZED).snoozedUntil(snoozedUntil));
+        em.detach(alarm);
+
+        AlarmDTO alarmDTO = alarmMapper.toDto(alarm);
+        alarmDTO.setLabel(UPDATED_LABEL);
+        alarmDTO.setRingState(null);
+        alarmDTO.setSnoozedUntil(null);
+        restAlarmMockMvc
+            .perform(put(ENTITY_API_URL_ID, alarm.getId()).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(alarmDTO)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.ringState").value(RingState.SNOOZED.toString()))
+            .andExpect(jsonPath("$.snoozedUntil").value(snoozedUntil));
+
+        em.flush();
+        em.clear();
+        Alarm persistedAlarm = alarmRepository.findById(alarm.getId()).orElseThrow();
+        assertThat(persistedAlarm.getLabel()).isEqualTo(UPDATED_LABEL);
+        assertThat(persistedAlarm.getRingState()).isEqualTo(RingState.SNOOZED);
+        assertThat(persistedAlarm.getSnoozedUntil()).isEqualTo(snoozedUntil);
+    }
+
     @Test
     @Transactional
     void putNonExistingAlarm() throws Exception {
@@ -251,7 +444,7 @@ class AlarmResourceIT {
 
         // If the entity doesn't have an ID, it will throw BadRequestAlertException
         restAlarmMockMvc
-            .perform(put(ENTITY_API_URL_ID, alarm.getId()).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(alarm)))
+            .perform(put(ENTITY_API_URL_ID, alarm.getId()).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(alarmMapper.toDto(alarm))))
             .andExpect(status().isBadRequest());
 
         // Validate the Alarm in the database
@@ -269,7 +462,7 @@ class AlarmResourceIT {
             .perform(
                 put(ENTITY_API_URL_ID, UUID.randomUUID().toString())
                     .contentType(MediaType.APPLICATION_JSON)
-                    .content(om.writeValueAsBytes(alarm))
+                    .content(om.writeValueAsBytes(alarmMapper.toDto(alarm)))
             )
             .andExpect(status().isBadRequest());
 
@@ -285,7 +478,7 @@ class AlarmResourceIT {
 
         // If url ID doesn't match entity ID, it will throw BadRequestAlertException
         restAlarmMockMvc
-            .perform(put(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(alarm)))
+            .perform(put(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(alarmMapper.toDto(alarm))))
             .andExpect(status().isMethodNotAllowed());
 
         // Validate the Alarm in the database
@@ -308,14 +501,15 @@ class AlarmResourceIT {
             .time(UPDATED_TIME)
             .enabled(UPDATED_ENABLED)
             .sound(UPDATED_SOUND)
-            .repeatDays(UPDATED_REPEAT_DAYS)
+            .repeatMask(UPDATED_REPEAT_MASK)
+            .timeZone(UPDATED_TIME_ZONE)
             .snoozeEnabled(UPDATED_SNOOZE_ENABLED);
 
         restAlarmMockMvc
             .perform(
                 patch(ENTITY_API_URL_ID, partialUpdatedAlarm.getId())
                     .contentType("application/merge-patch+json")
-                    .content(om.writeValueAsBytes(partialUpdatedAlarm))
+                    .content(om.writeValueAsBytes(alarmMapper.toDto(partialUpdatedAlarm)))
             )
             .andExpect(status().isOk());
 
@@ -343,7 +537,8 @@ class AlarmResourceIT {
             .enabled(UPDATED_ENABLED)
             .sound(UPDATED_SOUND)
             .label(UPDATED_LABEL)
-            .repeatDays(UPDATED_REPEAT_DAYS)
+            .repeatMask(UPDATED_REPEAT_MASK)
+            .timeZone(UPDATED_TIME_ZONE)
             .snoozeEnabled(UPDATED_SNOOZE_ENABLED)
             .snoozeDuration(UPDATED_SNOOZE_DURATION);
 
@@ -351,7 +546,7 @@ class AlarmResourceIT {
             .perform(
                 patch(ENTITY_API_URL_ID, partialUpdatedAlarm.getId())
                     .contentType("application/merge-patch+json")
-                    .content(om.writeValueAsBytes(partialUpdatedAlarm))
+                    .content(om.writeValueAsBytes(alarmMapper.toDto(partialUpdatedAlarm)))
             )
             .andExpect(status().isOk());
 
@@ -370,7 +565,7 @@ class AlarmResourceIT {
         // If the entity doesn't have an ID, it will throw BadRequestAlertException
         restAlarmMockMvc
             .perform(
-                patch(ENTITY_API_URL_ID, alarm.getId()).contentType("application/merge-patch+json").content(om.writeValueAsBytes(alarm))
+                patch(ENTITY_API_URL_ID, alarm.getId()).contentType("application/merge-patch+json").content(om.writeValueAsBytes(alarmMapper.toDto(alarm)))
             )
             .andExpect(status().isBadRequest());
 
@@ -389,7 +584,7 @@ class AlarmResourceIT {
             .perform(
                 patch(ENTITY_API_URL_ID, UUID.randomUUID().toString())
                     .contentType("application/merge-patch+json")
-                    .content(om.writeValueAsBytes(alarm))
+                    .content(om.writeValueAsBytes(alarmMapper.toDto(alarm)))
             )
             .andExpect(status().isBadRequest());
 
@@ -405,7 +600,7 @@ class AlarmResourceIT {
 
         // If url ID doesn't match entity ID, it will throw BadRequestAlertException
         restAlarmMockMvc
-            .perform(patch(ENTITY_API_URL).contentType("application/merge-patch+json").content(om.writeValueAsBytes(alarm)))
+            .perform(patch(ENTITY_API_URL).contentType("application/merge-patch+json").content(om.writeValueAsBytes(alarmMapper.toDto(alarm))))
             .andExpect(status().isMethodNotAllowed());
 
         // Validate the Alarm in the database
@@ -429,6 +624,91 @@ class AlarmResourceIT {
         assertDecrementedRepositoryCount(databaseSizeBeforeDelete);
     }
 
+    @Test
+    @Transactional
+    void snoozeAndDismissRingingAlarm() throws Exception {
+        alarm.setSnoozeEnabled(true);
+        alarmRepository.saveAndFlush(alarm);
+        alarmRingService.ring(alarm, Instant.now());
+
+        restAlarmMockMvc
+            .perform(post(ENTITY_API_URL_ID + "/snooze", alarm.getId()).accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.state").value(RingState.SNOOZED.toString()))
+            .andExpect(jsonPath("$.snoozeCount").value(1));
+
+        restAlarmMockMvc
+            .perform(post(ENTITY_API_URL_ID + "/dismiss", alarm.getId()).accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.state").value(RingState.DISMISSED.toString()));
+    }
+
+    @Test
+    @Transactional
+    void streamAlarmEventsOfCurrentUser() throws Exception {
+        alarm.setUserLogin(createCurrentUserLogin());
+        alarmRepository.saveAndFlush(alarm);
+
+        MvcResult result = restAlarmMockMvc
+            .perform(get(ENTITY_API_URL + "/events").accept(MediaType.TEXT_EVENT_STREAM))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        alarmRingService.ring(alarm, Instant.now());
+        alarmRingService.dismiss(alarm.getId());
+
+        String content = result.getResponse().getContentAsString();
+        assertThat(content).contains("event:fire", "event:dismiss", alarm.getId());
+    }
+
+    @Test
+    @WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+    void importAndExportAlarms() throws Exception {
+        // imports commit their own transactions, and exports stream from another thread
+        String label = "IMPORTED-" + UUID.randomUUID();
+        String lines =
+            om.writeValueAsString(alarmMapper.toDto(createEntity(em).label(label))) +
+            "\n{not json\n" +
+            om.writeValueAsString(alarmMapper.toDto(createEntity(em).label(label).timeZone("Nowhere/Invalid"))) +
+            "\n";
+        try {
+            restAlarmMockMvc
+                .perform(post(ENTITY_API_URL + "/import").contentType("application/x-ndjson").content(lines))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.rejected").value(2))
+                .andExpect(jsonPath("$.errors.[0].line").value(2))
+                .andExpect(jsonPath("$.errors.[1].line").value(3));
+
+            MvcResult result = restAlarmMockMvc
+                .perform(get(ENTITY_API_URL + "/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+            restAlarmMockMvc
+                .perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string(containsString("\"label\":\"" + label + "\"")));
+        } finally {
+            alarmRepository.deleteAll(alarmRepository.findAll().stream().filter(alarm -> label.equals(alarm.getLabel())).toList());
+        }
+    }
+
+    @Test
+    @Transactional
+    void snoozeAlarmThatIsNotRinging() throws Exception {
+        alarmRepository.saveAndFlush(alarm);
+
+        restAlarmMockMvc
+            .perform(post(ENTITY_API_URL_ID + "/snooze", alarm.getId()).accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isBadRequest());
+    }
+
+    private UserLogin createCurrentUserLogin() {
+        UserLogin userLogin = UserLoginResourceIT.createEntity(em).username("user");
+        em.persist(userLogin);
+        return userLogin;
+    }
+
     protected long getRepositoryCount() {
         return alarmRepository.count();
     }
@@ -0,0 +1,105 @@
+package smartwake.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withBadRequest;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServiceUnavailable;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+import smartwake.domain.enumeration.RingState;
+import smartwake.service.alarm.AlarmPartitionService;
+import smartwake.service.alarm.AlarmRingService;
+import smartwake.service.alarm.InvalidRingTransitionException;
+import smartwake.web.rest.errors.AlarmOwnerUnavailableException;
+
+/**
+ * Test class for the {@link AlarmRingForwarder}.
+ */
+class AlarmRingForwarderTest {
+
+    private static final String OWNER_ADDRESS = "http://node-1:8080";
+
+    private AlarmPartitionService partitionService;
+
+    private MockRestServiceServer server;
+
+    private AlarmRingForwarder forwarder;
+
+    private MockHttpServletRequest request;
+
+    @BeforeEach
+    public void setup() {
+        partitionService = mock(AlarmPartitionService.class);
+        when(partitionService.getNodeId()).thenReturn("node-2");
+        when(partitionService.findOwnerAddress("alarm-1")).thenReturn(Optional.of(OWNER_ADDRESS));
+        RestClient.Builder restClientBuilder = RestClient.builder();
+        server = MockRestServiceServer.bindTo(restClientBuilder).build();
+        forwarder = new AlarmRingForwarder(partitionService, restClientBuilder.build());
+        request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer token");
+    }
+
+    @Test
+    void testRequestIsForwardedToTheOwner() {
+        server
+            .expect(requestTo(OWNER_ADDRESS + "/api/alarms/alarm-1/snooze"))
+            .andExpect(method(HttpMethod.POST))
+            .andExpect(header(HttpHeaders.AUTHORIZATION, "Bearer token"))
+            .andExpect(header(AlarmRingForwarder.FORWARDED_BY_HEADER, "node-2"))
+            .andRespond(
+                withSuccess(
+                    "{\"alarmId\":\"alarm-1\",\"state\":\"SNOOZED\",\"snoozedUntil\":\"2026-10-18T07:05:00Z\",\"snoozeCount\":1}",
+                    MediaType.APPLICATION_JSON
+                )
+            );
+
+        AlarmRingService.RingStatus status = forwarder.snooze("alarm-1", request);
+
+        assertThat(status.state()).isEqualTo(RingState.SNOOZED);
+        assertThat(status.snoozeCount()).isEqualTo(1);
+        server.verify();
+    }
+
+    @Test
+    void testRejectedTransitionIsReported() {
+        server
+            .expect(requestTo(OWNER_ADDRESS + "/api/alarms/alarm-1/dismiss"))
+            .andRespond(withBadRequest().contentType(MediaType.APPLICATION_PROBLEM_JSON).body("{\"title\":\"Alarm is not ringing\",\"status\":400}"));
+
+        assertThatThrownBy(() -> forwarder.dismiss("alarm-1", request))
+            .isInstanceOf(InvalidRingTransitionException.class)
+            .hasMessage("Alarm is not ringing");
+    }
+
+    @Test
+    void testUnreachableOwnerIsUnavailable() {
+        server.expect(requestTo(OWNER_ADDRESS + "/api/alarms/alarm-1/dismiss")).andRespond(withServiceUnavailable());
+
+        assertThatThrownBy(() -> forwarder.dismiss("alarm-1", request)).isInstanceOf(AlarmOwnerUnavailableException.class);
+    }
+
+    @Test
+    void testRequestIsForwardedAtMostOnce() {
+        request.addHeader(AlarmRingForwarder.FORWARDED_BY_HEADER, "node-3");
+
+        assertThatThrownBy(() -> forwarder.snooze("alarm-1", request)).isInstanceOf(AlarmOwnerUnavailableException.class);
+        assertThatThrownBy(() -> forwarder.snooze("alarm-2", new MockHttpServletRequest())).isInstanceOf(
+            AlarmOwnerUnavailableException.class
+        );
+        server.verify();
+    }
+}
@@ -1,5 +1,6 @@
 package smartwake.web.rest;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.emptyString;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
@@ -10,17 +11,23 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.transaction.annotation.Transactional;
 import smartwake.IntegrationTest;
+import smartwake.domain.RefreshToken;
 import smartwake.domain.User;
+import smartwake.repository.RefreshTokenRepository;
 import smartwake.repository.UserRepository;
 import smartwake.web.rest.vm.LoginVM;
+import smartwake.web.rest.vm.RefreshTokenVM;
 
 /**
  * Integration tests for the {@link AuthenticateController} REST controller.
@@ -38,9 +45,14 @@ class AuthenticateControllerIT {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
     @Autowired
     private MockMvc mockMvc;
 
+    private long refreshTokenCount;
+
     @Test
     @Transactional
     void testAuthorize() throws Exception {
@@ -88,6 +100,113 @@ class AuthenticateControllerIT {
             .andExpect(header().string("Authorization", not(is(emptyString()))));
     }
 
+    @Test
+    @Transactional
+    void testAuthorizeUpgradesWeakPasswordEncoding() throws Exception {
+        User user = new User();
+        user.setLogin("user-jwt-controller-weak-password");
+        user.setEmail("user-jwt-controller-weak-password@example.com");
+        user.setActivated(true);
+        user.setPassword(new BCryptPasswordEncoder(4).encode("test"));
+
+        userRepository.saveAndFlush(user);
+
+        LoginVM login = new LoginVM();
+        login.setUsername("user-jwt-controller-weak-password");
+        login.setPassword("test");
+        mockMvc
+            .perform(post("/api/authenticate").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(login)))
+            .andExpect(status().isOk());
+
+        String upgradedPassword = userRepository.findOneByLogin("user-jwt-controller-weak-password").orElseThrow().getPassword();
+        assertThat(upgradedPassword).startsWith("$2a$10$");
+        assertThat(passwordEncoder.matches("test", upgradedPassword)).isTrue();
+    }
+
+    @Test
+    @Transactional
+    void testRefreshRotatesTheRefreshToken() throws Exception {
+        String refreshToken = authorizeForRefreshToken("user-jwt-controller-refresh");
+
+        refresh(refreshToken)
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id_token").isNotEmpty())
+            .andExpect(jsonPath("$.refresh_token").isNotEmpty())
+            .andExpect(jsonPath("$.refresh_token").value(not(refreshToken)))
+            .andExpect(header().string("Authorization", not(nullValue())));
+    }
+
+    @Test
+    @Transactional
+    void testReusedRefreshTokenRevokesItsFamily() throws Exception {
+        String refreshToken = authorizeForRefreshToken("user-jwt-controller-reused");
+        String rotatedToken = om
+            .readTree(refresh(refreshToken).andExpect(status().isOk()).andReturn().getResponse().getContentAsString())
+            .get("refresh_token")
+            .asText();
+
+        refresh(refreshToken).andExpect(status().isUnauthorized()).andExpect(jsonPath("$.id_token").doesNotExist());
+        refresh(rotatedToken).andExpect(status().isUnauthorized());
+        assertThat(refreshTokenRepository.count()).isEqualTo(refreshTokenCount);
+    }
+
+    @Test
+    @Transactional
+    void testRefreshDoesNotExtendTheLogin() throws Exception {
+        long before = System.currentTimeMillis();
+        String refreshToken = authorizeForRefreshToken("user-jwt-controller-session");
+        long after = System.currentTimeMillis();
+        refresh(refreshToken).andExpect(status().isOk());
+
+        List<RefreshToken> family = refreshTokenRepository
+            .findAll()
+            .stream()
+            .filter(token -> token.getUser().getLogin().equals("user-jwt-controller-session"))
+            .toList();
+        assertThat(family).hasSize(2);
+        // without remember-me, the session ends with the access token validity of the login, 86400 seconds in tests
+        assertThat(family).allSatisfy(token -> {
+            assertThat(token.getFamilyExpiresAt()).isBetween(before + 86_400_000, after + 86_400_000);
+            assertThat(token.getFamilyExpiresAt()).isEqualTo(family.get(0).getFamilyExpiresAt());
+            assertThat(token.getExpiresAt()).isLessThanOrEqualTo(token.getFamilyExpiresAt());
+        });
+    }
+
+    @Test
+    void testRefreshWithUnknownTokenFails() throws Exception {
+        refresh("unknown-refresh-token").andExpect(status().isUnauthorized()).andExpect(header().doesNotExist("Authorization"));
+    }
+
+    private String authorizeForRefreshToken(String login) throws Exception {
+        refreshTokenCount = refreshTokenRepository.count();
+        User user = new User();
+        user.setLogin(login);
+        user.setEmail(login + "@example.com");
+        user.setActivated(true);
+        user.setPassword(passwordEncoder.encode("test"));
+        userRepository.saveAndFlush(user);
+
+        LoginVM loginVM = new LoginVM();
+        loginVM.setUsername(login);
+        loginVM.setPassword("test");
+        String response = mockMvc
+            .perform(post("/api/authenticate").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(loginVM)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.refresh_token").isNotEmpty())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+        return om.readTree(response).get("refresh_token").asText();
+    }
+
+    private ResultActions refresh(String refreshToken) throws Exception {
+        RefreshTokenVM refreshTokenVM = new RefreshTokenVM();
+        refreshTokenVM.setRefreshToken(refreshToken);
+        return mockMvc.perform(
+            post("/api/authenticate/refresh").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(refreshTokenVM))
+        );
+    }
+
     @Test
     void testAuthorizeFails() throws Exception {
         LoginVM login = new LoginVM();
@@ -99,4 +218,33 @@ class AuthenticateControllerIT {
             .andExpect(jsonPath("$.id_token").doesNotExist())
             .andExpect(header().doesNotExist("Authorization"));
     }
+
+    @Test
+    @Transactional
+    void testAuthorizeIsThrottledAfterRepeatedFailures() throws Exception {
+        User user = new User();
+        user.setLogin("user-jwt-controller-throttled");
+        user.setEmail("user-jwt-controller-throttled@example.com");
+        user.setActivated(true);
+        user.setPassword(passwordEncoder.encode("test"));
+
+        userRepository.saveAndFlush(user);
+
+        LoginVM wrong = new LoginVM();
+        wrong.setUsername("user-jwt-controller-throttled");
+        wrong.setPassword("wrong password");
+        for (int i = 0; i < 5; i++) {
+            mockMvc
+                .perform(post("/api/authenticate").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(wrong)))
+                .andExpect(status().isUnauthorized());
+        }
+
+        LoginVM right = new LoginVM();
+        right.setUsername("User-JWT-Controller-Throttled");
+        right.setPassword("test");
+        mockMvc
+            .perform(post("/api/authenticate").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(right)))
+            .andExpect(status().isTooManyRequests())
+            .andExpect(jsonPath("$.id_token").doesNotExist());
+    }
 }